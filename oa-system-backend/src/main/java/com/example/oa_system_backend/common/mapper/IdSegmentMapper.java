@@ -0,0 +1,37 @@
+package com.example.oa_system_backend.common.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * 业务编号号段Mapper接口
+ */
+@Mapper
+public interface IdSegmentMapper {
+
+    /**
+     * 预留一个号段：max_id 原子地增加 step，行锁持有到事务提交
+     *
+     * @return 影响行数，序列键不存在时为 0
+     */
+    int incrementMaxId(@Param("bizKey") String bizKey, @Param("step") int step);
+
+    /**
+     * 查询序列键当前已预留的最大序号
+     */
+    Long selectMaxId(@Param("bizKey") String bizKey);
+
+    /**
+     * 初始化序列键，已存在时忽略
+     */
+    int insertIgnore(@Param("bizKey") String bizKey, @Param("maxId") long maxId);
+
+    /**
+     * 查询业务表中指定前缀编号的最大序号（编号末尾 width 位），用于初始化序列键
+     *
+     * @param table 业务表名，只接受代码中的常量
+     */
+    Long selectMaxSequence(@Param("table") String table,
+                           @Param("prefix") String prefix,
+                           @Param("width") int width);
+}
@@ -1,39 +1,98 @@
 package com.example.oa_system_backend.common.utils;
 
 import com.example.oa_system_backend.module.auth.vo.CaptchaResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.wf.captcha.SpecCaptcha;
 import com.wf.captcha.base.Captcha;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
-
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 验证码生成与校验
+ * 待校验的验证码存放在有界缓存中，超过 {@link #CAPTCHA_EXPIRE_MINUTES} 分钟或超过 {@link #MAX_PENDING_CAPTCHAS} 个时自动淘汰，校验后立即删除。
+ * 图片由后台线程预先渲染到池中，请求时直接取出；池空时当场渲染。
+ * 预渲染失败时按指数退避重试，连续失败 {@link #MAX_CONSECUTIVE_FAILURES} 次后停止预渲染，全部改为请求时渲染。
+ */
+@Slf4j
 @Component
 public class CaptchaUtils {
 
-    // 验证码内存缓存
-    private final ConcurrentHashMap<String, CaptchaData> captchaCache = new ConcurrentHashMap<>();
-
     private static final long CAPTCHA_EXPIRE_MINUTES = 5;
 
-    // 验证码数据内部类
-    private static class CaptchaData {
+    private static final int MAX_PENDING_CAPTCHAS = 100_000;
+
+    private static final int POOL_CAPACITY = 200;
+
+    private static final int MAX_CONSECUTIVE_FAILURES = 10;
+
+    private static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 100;
+
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    // 验证码缓存: key -> 验证码文本
+    private final Cache<String, String> captchaCache = Caffeine.newBuilder()
+            .maximumSize(MAX_PENDING_CAPTCHAS)
+            .expireAfterWrite(Duration.ofMinutes(CAPTCHA_EXPIRE_MINUTES))
+            .recordStats()
+            .build();
+
+    // 预渲染的验证码池
+    private final BlockingQueue<RenderedCaptcha> pool = new ArrayBlockingQueue<>(POOL_CAPACITY);
+
+    private final AtomicLong renderCount = new AtomicLong();
+    private final AtomicLong renderNanos = new AtomicLong();
+    private final AtomicLong poolHitCount = new AtomicLong();
+    private final AtomicLong poolMissCount = new AtomicLong();
+
+    // 预渲染失败后的首次等待时间，之后每次失败翻倍
+    private final long initialBackoffMillis;
+
+    private volatile boolean running;
+    private Thread renderer;
+
+    // 预渲染的验证码
+    static final class RenderedCaptcha {
         private final String code;
-        private final LocalDateTime expireTime;
+        private final String image;
 
-        public CaptchaData(String code, LocalDateTime expireTime) {
+        RenderedCaptcha(String code, String image) {
             this.code = code;
-            this.expireTime = expireTime;
+            this.image = image;
         }
+    }
 
-        public String getCode() {
-            return code;
-        }
+    public CaptchaUtils() {
+        this(DEFAULT_INITIAL_BACKOFF_MILLIS);
+    }
 
-        public LocalDateTime getExpireTime() {
-            return expireTime;
-        }
+    CaptchaUtils(long initialBackoffMillis) {
+        this.initialBackoffMillis = initialBackoffMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        renderer = new Thread(this::fillPool, "captcha-renderer");
+        renderer.setDaemon(true);
+        renderer.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        renderer.interrupt();
     }
 
     public String generateCaptchaKey() {
@@ -41,19 +100,18 @@ public class CaptchaUtils {
     }
 
     public CaptchaResponse generateCaptcha() {
-        // Create captcha: 130x48, 4 characters
-        SpecCaptcha captcha = new SpecCaptcha(130, 48, 4);
-        captcha.setCharType(Captcha.TYPE_DEFAULT);
+        RenderedCaptcha rendered = pool.poll();
+        if (rendered != null) {
+            poolHitCount.incrementAndGet();
+        } else {
+            poolMissCount.incrementAndGet();
+            rendered = render();
+        }
 
         String captchaKey = generateCaptchaKey();
-        String captchaCode = captcha.text().toLowerCase();
-        String captchaImage = captcha.toBase64();
+        captchaCache.put(captchaKey, rendered.code);
 
-        // Store in memory cache for 5 minutes
-        LocalDateTime expireTime = LocalDateTime.now().plusMinutes(CAPTCHA_EXPIRE_MINUTES);
-        captchaCache.put(captchaKey, new CaptchaData(captchaCode, expireTime));
-
-        return new CaptchaResponse(captchaKey, captchaImage);
+        return new CaptchaResponse(captchaKey, rendered.image);
     }
 
     public boolean validateCaptcha(String captchaKey, String userInput) {
@@ -61,22 +119,65 @@ public class CaptchaUtils {
             return false;
         }
 
-        CaptchaData captchaData = captchaCache.get(captchaKey);
-        if (captchaData == null) {
-            return false;
-        }
-
-        // Check if expired
-        if (LocalDateTime.now().isAfter(captchaData.getExpireTime())) {
-            captchaCache.remove(captchaKey);
-            return false;
-        }
+        // 一次性使用：取出即删除，过期条目不会被返回
+        String captchaCode = captchaCache.asMap().remove(captchaKey);
+        return captchaCode != null && captchaCode.equalsIgnoreCase(userInput);
+    }
 
-        boolean isValid = captchaData.getCode().equalsIgnoreCase(userInput);
+    /**
+     * 验证码池与缓存统计
+     */
+    public Map<String, Object> getStats() {
+        CacheStats cacheStats = captchaCache.stats();
+        long rendered = renderCount.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("prefillRunning", running);
+        stats.put("poolSize", pool.size());
+        stats.put("poolHitCount", poolHitCount.get());
+        stats.put("poolMissCount", poolMissCount.get());
+        stats.put("renderCount", rendered);
+        stats.put("avgRenderMillis", rendered == 0 ? 0.0 : renderNanos.get() / 1_000_000.0 / rendered);
+        stats.put("pendingCount", captchaCache.estimatedSize());
+        stats.put("evictionCount", cacheStats.evictionCount());
+        return stats;
+    }
 
-        // Delete captcha after validation (one-time use)
-        captchaCache.remove(captchaKey);
+    private void fillPool() {
+        int failures = 0;
+        while (running) {
+            try {
+                pool.put(render());
+                failures = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                failures++;
+                if (failures >= MAX_CONSECUTIVE_FAILURES) {
+                    log.error("预渲染验证码连续失败{}次, 停止预渲染, 改为请求时渲染", failures, e);
+                    running = false;
+                    return;
+                }
+                long backoff = Math.min(initialBackoffMillis << (failures - 1), MAX_BACKOFF_MILLIS);
+                log.warn("预渲染验证码失败, {}ms 后重试, 连续失败次数: {}", backoff, failures, e);
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
 
-        return isValid;
+    RenderedCaptcha render() {
+        long start = System.nanoTime();
+        // Create captcha: 130x48, 4 characters
+        SpecCaptcha captcha = new SpecCaptcha(130, 48, 4);
+        captcha.setCharType(Captcha.TYPE_DEFAULT);
+        RenderedCaptcha rendered = new RenderedCaptcha(captcha.text().toLowerCase(), captcha.toBase64());
+        renderNanos.addAndGet(System.nanoTime() - start);
+        renderCount.incrementAndGet();
+        return rendered;
     }
 }
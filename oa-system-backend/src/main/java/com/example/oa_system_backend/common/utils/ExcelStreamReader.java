@@ -0,0 +1,270 @@
+package com.example.oa_system_backend.common.utils;
+
+import com.example.oa_system_backend.common.exception.BusinessException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.UnsupportedFileFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 流式Excel导入
+ * 基于 SAX 事件模型逐行解析第一个工作表，不构建整本工作簿的 DOM；
+ * 解析出的行按块回调，每块最多 chunkSize 行，调用方可以边读边入库。
+ * 表头按下划线/空格等分隔符转驼峰后匹配对象字段，字段写入使用预先解析的 MethodHandle。
+ */
+@Slf4j
+public class ExcelStreamReader<T> {
+
+    private final Class<T> type;
+    private final MethodHandle constructor;
+    private final Map<String, FieldBinding> bindings = new HashMap<>();
+
+    public ExcelStreamReader(Class<T> type) {
+        this.type = type;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            this.constructor = lookup.findConstructor(type, MethodType.methodType(void.class));
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || bindings.containsKey(field.getName())) {
+                        continue;
+                    }
+                    MethodHandle setter = MethodHandles.privateLookupIn(c, MethodHandles.lookup()).unreflectSetter(field);
+                    bindings.put(field.getName(), new FieldBinding(field.getName(), field.getType(), setter));
+                }
+            }
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new BusinessException("无法创建对象实例: " + type.getName());
+        }
+    }
+
+    /**
+     * 读取第一个工作表，跳过空行，按块回调
+     *
+     * @param inputStream xlsx 文件流
+     * @param chunkSize   每块最大行数
+     * @param consumer    块回调，行号为 Excel 中的实际行号（从1开始）
+     * @throws BusinessException 文件格式或内容无法解析；块回调抛出的异常原样抛出
+     */
+    public void read(InputStream inputStream, int chunkSize, Consumer<List<ImportRow<T>>> consumer) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(inputStream)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                throw new BusinessException("Excel文件为空");
+            }
+
+            RowCollector collector = new RowCollector(chunkSize, consumer);
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(styles, null, strings, collector, new DataFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+            if (collector.headers == null) {
+                throw new BusinessException("Excel文件没有表头");
+            }
+            collector.flush();
+
+            log.info("Excel导入解析完成, 记录数: {}", collector.total);
+        } catch (IOException | SAXException | OpenXML4JException | ParserConfigurationException
+                 | UnsupportedFileFormatException e) {
+            log.error("Excel解析失败", e);
+            throw new BusinessException("Excel文件解析失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 读取全部数据行到内存，仅用于小文件
+     */
+    public List<T> readAll(InputStream inputStream) throws IOException {
+        List<T> result = new ArrayList<>();
+        read(inputStream, Integer.MAX_VALUE, rows -> rows.forEach(row -> result.add(row.getData())));
+        return result;
+    }
+
+    /**
+     * 带行号的数据行
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class ImportRow<T> {
+        private final int rowNum;
+        private final T data;
+    }
+
+    private class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final int chunkSize;
+        private final Consumer<List<ImportRow<T>>> consumer;
+
+        private FieldBinding[] headers;
+        private List<ImportRow<T>> chunk = new ArrayList<>();
+        private T current;
+        private boolean emptyRow;
+        private int currentColumn;
+        private int total;
+
+        RowCollector(int chunkSize, Consumer<List<ImportRow<T>>> consumer) {
+            this.chunkSize = chunkSize;
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            currentColumn = -1;
+            emptyRow = true;
+            current = headers == null ? null : newInstance();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (headers == null) {
+                headers = new FieldBinding[0];
+                return;
+            }
+            if (current == null || emptyRow) {
+                return;
+            }
+            chunk.add(new ImportRow<>(rowNum + 1, current));
+            total++;
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            currentColumn = cellReference != null ? new CellReference(cellReference).getCol() : currentColumn + 1;
+            String value = formattedValue == null ? "" : formattedValue.trim();
+
+            if (current == null) {
+                registerHeader(currentColumn, value);
+                return;
+            }
+            if (!value.isEmpty()) {
+                emptyRow = false;
+                if (currentColumn < headers.length && headers[currentColumn] != null) {
+                    headers[currentColumn].set(current, value);
+                }
+            }
+        }
+
+        private void registerHeader(int column, String header) {
+            if (headers == null) {
+                headers = new FieldBinding[0];
+            }
+            if (column >= headers.length) {
+                FieldBinding[] expanded = new FieldBinding[column + 1];
+                System.arraycopy(headers, 0, expanded, 0, headers.length);
+                headers = expanded;
+            }
+            headers[column] = bindings.get(convertToFieldName(header));
+        }
+
+        void flush() {
+            if (!chunk.isEmpty()) {
+                List<ImportRow<T>> ready = chunk;
+                chunk = new ArrayList<>();
+                consumer.accept(ready);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T newInstance() {
+        try {
+            return (T) constructor.invoke();
+        } catch (Throwable e) {
+            throw new BusinessException("无法创建对象实例: " + type.getName());
+        }
+    }
+
+    private static String convertToFieldName(String header) {
+        StringBuilder result = new StringBuilder();
+        boolean nextUpperCase = false;
+
+        for (char c : header.toCharArray()) {
+            if (c == '_' || c == '-' || c == ' ' || c == '(' || c == ')' || c == '/' || c == '\\') {
+                nextUpperCase = true;
+            } else if (nextUpperCase) {
+                result.append(Character.toUpperCase(c));
+                nextUpperCase = false;
+            } else {
+                result.append(Character.toLowerCase(c));
+            }
+        }
+
+        return result.toString();
+    }
+
+    private static final class FieldBinding {
+
+        private final String name;
+        private final Class<?> fieldType;
+        private final MethodHandle setter;
+
+        FieldBinding(String name, Class<?> fieldType, MethodHandle setter) {
+            this.name = name;
+            this.fieldType = fieldType;
+            this.setter = setter;
+        }
+
+        void set(Object target, String value) {
+            try {
+                setter.invoke(target, convert(value));
+            } catch (Throwable e) {
+                log.warn("设置字段值失败: {}.{}, 值: {}", target.getClass().getSimpleName(), name, value);
+            }
+        }
+
+        private Object convert(String value) {
+            if (fieldType == Integer.class || fieldType == int.class) {
+                return Integer.parseInt(value);
+            } else if (fieldType == Long.class || fieldType == long.class) {
+                return Long.parseLong(value);
+            } else if (fieldType == Double.class || fieldType == double.class) {
+                return Double.parseDouble(value);
+            } else if (fieldType == Boolean.class || fieldType == boolean.class) {
+                return Boolean.parseBoolean(value);
+            } else if (fieldType == Short.class || fieldType == short.class) {
+                return Short.parseShort(value);
+            } else if (fieldType == Float.class || fieldType == float.class) {
+                return Float.parseFloat(value);
+            } else if (fieldType == Byte.class || fieldType == byte.class) {
+                return Byte.parseByte(value);
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.example.oa_system_backend.common.utils;
+
+import com.example.oa_system_backend.common.exception.BusinessException;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 流式Excel导出
+ * 基于 SXSSF 只在内存中保留最近 {@link #ROW_ACCESS_WINDOW} 行，其余行写入临时文件；
+ * 字段取值使用按类预编译的 getter 访问器，逐行调用不再走反射。
+ *
+ * <pre>
+ * try (ExcelStreamWriter&lt;XxxVO&gt; writer = new ExcelStreamWriter&lt;&gt;(XxxVO.class, headers, fieldNames);
+ *      Cursor&lt;XxxVO&gt; cursor = mapper.selectExportCursor()) {
+ *     cursor.forEach(writer::write);
+ *     writer.finish(response, fileName);
+ * }
+ * </pre>
+ */
+@Slf4j
+public class ExcelStreamWriter<T> implements Closeable {
+
+    private static final int ROW_ACCESS_WINDOW = 500;
+
+    private static final int MIN_COLUMN_WIDTH = 10;
+
+    private static final int MAX_COLUMN_WIDTH = 50;
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * 类 -> (字段名 -> 访问器)，每个 VO 类的每个字段只编译一次
+     */
+    private static final Map<Class<?>, Map<String, Function<Object, Object>>> ACCESSORS = new ConcurrentHashMap<>();
+
+    private final SXSSFWorkbook workbook;
+    private final Sheet sheet;
+    private final CellStyle dataStyle;
+    private final Function<Object, Object>[] accessors;
+    private final int[] columnWidths;
+    private int rowIndex;
+
+    @SuppressWarnings("unchecked")
+    public ExcelStreamWriter(Class<T> type, List<String> headers, List<String> fieldNames) {
+        this.workbook = new SXSSFWorkbook(ROW_ACCESS_WINDOW);
+        this.workbook.setCompressTempFiles(true);
+        this.sheet = workbook.createSheet("Sheet1");
+        this.dataStyle = createDataStyle(workbook);
+
+        this.accessors = new Function[fieldNames.size()];
+        for (int i = 0; i < fieldNames.size(); i++) {
+            accessors[i] = accessor(type, fieldNames.get(i));
+        }
+
+        this.columnWidths = new int[headers.size()];
+        CellStyle headerStyle = createHeaderStyle(workbook);
+        Row headerRow = sheet.createRow(rowIndex++);
+        for (int i = 0; i < headers.size(); i++) {
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(headers.get(i));
+            cell.setCellStyle(headerStyle);
+            columnWidths[i] = displayWidth(headers.get(i));
+        }
+    }
+
+    public void write(T data) {
+        Row row = sheet.createRow(rowIndex++);
+        for (int i = 0; i < accessors.length; i++) {
+            Cell cell = row.createCell(i);
+            cell.setCellStyle(dataStyle);
+            String text = setCellValue(cell, accessors[i].apply(data));
+            if (text != null && i < columnWidths.length) {
+                columnWidths[i] = Math.max(columnWidths[i], displayWidth(text));
+            }
+        }
+    }
+
+    /**
+     * 已写入的数据行数（不含表头）
+     */
+    public int getRowCount() {
+        return rowIndex - 1;
+    }
+
+    /**
+     * 设置响应头并将工作簿直接写入响应输出流
+     */
+    public void finish(HttpServletResponse response, String fileName) throws IOException {
+        if (getRowCount() == 0) {
+            throw new BusinessException("没有数据可导出");
+        }
+
+        for (int i = 0; i < columnWidths.length; i++) {
+            int width = Math.min(Math.max(columnWidths[i] + 2, MIN_COLUMN_WIDTH), MAX_COLUMN_WIDTH);
+            sheet.setColumnWidth(i, width * 256);
+        }
+
+        String encodedFileName = URLEncoder.encode(fileName, StandardCharsets.UTF_8.toString())
+                .replaceAll("\\+", "%20");
+        response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+        response.setHeader("Content-Disposition",
+                "attachment; filename*=utf-8''" + encodedFileName + ".xlsx");
+
+        OutputStream outputStream = response.getOutputStream();
+        workbook.write(outputStream);
+        outputStream.flush();
+
+        log.info("Excel导出成功, 文件名: {}, 记录数: {}", fileName, getRowCount());
+    }
+
+    /**
+     * 释放工作簿并删除 SXSSF 临时文件
+     */
+    @Override
+    public void close() throws IOException {
+        workbook.dispose();
+        workbook.close();
+    }
+
+    private static Function<Object, Object> accessor(Class<?> type, String fieldName) {
+        return ACCESSORS.computeIfAbsent(type, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(fieldName, name -> compileAccessor(type, name));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> compileAccessor(Class<?> type, String fieldName) {
+        Method getter = findGetter(type, fieldName);
+        if (getter == null) {
+            log.warn("获取字段值失败: {}.{}", type.getSimpleName(), fieldName);
+            return data -> "";
+        }
+
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.publicLookup().unreflect(getter);
+        } catch (IllegalAccessException e) {
+            log.warn("获取字段值失败: {}.{}", type.getSimpleName(), fieldName);
+            return data -> "";
+        }
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            CallSite site = LambdaMetafactory.metafactory(
+                    lookup,
+                    "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    handle,
+                    handle.type().wrap());
+            return (Function<Object, Object>) site.getTarget().invoke();
+        } catch (Throwable e) {
+            // 类加载器不可见等情况下退化为直接调用 MethodHandle，仍然避免逐次反射查找
+            MethodHandle generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+            return data -> {
+                try {
+                    return generic.invokeExact(data);
+                } catch (Throwable t) {
+                    throw new IllegalStateException(t);
+                }
+            };
+        }
+    }
+
+    private static Method findGetter(Class<?> type, String fieldName) {
+        String suffix = fieldName.substring(0, 1).toUpperCase() + fieldName.substring(1);
+        for (String name : new String[]{"get" + suffix, "is" + suffix}) {
+            try {
+                return type.getMethod(name);
+            } catch (NoSuchMethodException ignored) {
+                // 尝试下一个命名
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 写入单元格并返回其显示文本，用于估算列宽
+     */
+    private static String setCellValue(Cell cell, Object value) {
+        if (value == null) {
+            cell.setCellValue("");
+            return null;
+        }
+        String text;
+        if (value instanceof Number) {
+            cell.setCellValue(((Number) value).doubleValue());
+            return value.toString();
+        } else if (value instanceof LocalDateTime) {
+            text = ((LocalDateTime) value).format(DATE_TIME_FORMATTER);
+        } else if (value instanceof LocalDate) {
+            text = ((LocalDate) value).format(DATE_FORMATTER);
+        } else if (value instanceof Date) {
+            text = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format((Date) value);
+        } else if (value instanceof Boolean) {
+            text = (Boolean) value ? "是" : "否";
+        } else if (value instanceof Collection) {
+            text = String.join(",", ((Collection<?>) value).stream().map(String::valueOf).toList());
+        } else {
+            text = value.toString();
+        }
+        cell.setCellValue(text);
+        return text;
+    }
+
+    /**
+     * 估算显示宽度，中文等宽字符按两个字符计
+     */
+    private static int displayWidth(String text) {
+        int width = 0;
+        for (int i = 0; i < text.length(); i++) {
+            width += text.charAt(i) < 0x80 ? 1 : 2;
+        }
+        return width;
+    }
+
+    private static CellStyle createHeaderStyle(Workbook workbook) {
+        CellStyle style = workbook.createCellStyle();
+        Font font = workbook.createFont();
+        font.setBold(true);
+        font.setFontHeightInPoints((short) 11);
+        style.setFont(font);
+
+        style.setAlignment(HorizontalAlignment.CENTER);
+        style.setVerticalAlignment(VerticalAlignment.CENTER);
+        style.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
+        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+        style.setBorderBottom(BorderStyle.THIN);
+        style.setBorderTop(BorderStyle.THIN);
+        style.setBorderLeft(BorderStyle.THIN);
+        style.setBorderRight(BorderStyle.THIN);
+
+        return style;
+    }
+
+    private static CellStyle createDataStyle(Workbook workbook) {
+        CellStyle style = workbook.createCellStyle();
+        Font font = workbook.createFont();
+        font.setFontHeightInPoints((short) 10);
+        style.setFont(font);
+
+        style.setAlignment(HorizontalAlignment.LEFT);
+        style.setVerticalAlignment(VerticalAlignment.CENTER);
+        style.setBorderBottom(BorderStyle.THIN);
+        style.setBorderTop(BorderStyle.THIN);
+        style.setBorderLeft(BorderStyle.THIN);
+        style.setBorderRight(BorderStyle.THIN);
+        style.setWrapText(true);
+
+        return style;
+    }
+}
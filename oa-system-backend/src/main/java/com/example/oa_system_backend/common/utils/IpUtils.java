@@ -0,0 +1,58 @@
+package com.example.oa_system_backend.common.utils;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Collection;
+
+public final class IpUtils {
+
+    private IpUtils() {
+    }
+
+    /**
+     * 客户端声明的IP，优先取各类转发头；转发头可由客户端任意填写，只用于登录日志等展示
+     */
+    public static String getClientIp(HttpServletRequest request) {
+        String ip = request.getHeader("X-Forwarded-For");
+        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
+            ip = request.getHeader("Proxy-Client-IP");
+        }
+        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
+            ip = request.getHeader("WL-Proxy-Client-IP");
+        }
+        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
+            ip = request.getHeader("HTTP_CLIENT_IP");
+        }
+        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
+            ip = request.getHeader("HTTP_X_FORWARDED_FOR");
+        }
+        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
+            ip = request.getRemoteAddr();
+        }
+        return ip;
+    }
+
+    /**
+     * 用于限流等安全判断的客户端IP
+     * 只有直连地址是可信代理时才读取 X-Forwarded-For，从右向左跳过可信代理，取第一个不可信的地址；
+     * 其他转发头一律忽略，未配置可信代理时直接使用连接地址
+     */
+    public static String resolveClientIp(HttpServletRequest request, Collection<String> trustedProxies) {
+        String remoteAddr = request.getRemoteAddr();
+        if (trustedProxies == null || !trustedProxies.contains(remoteAddr)) {
+            return remoteAddr;
+        }
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (forwardedFor == null || forwardedFor.isBlank()) {
+            return remoteAddr;
+        }
+        String[] hops = forwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (!hop.isEmpty() && !trustedProxies.contains(hop)) {
+                return hop;
+            }
+        }
+        return remoteAddr;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.oa_system_backend.common.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 已验签的访问令牌主体，由 JwtUtils 解析一次后在过滤器中复用
+ */
+@Getter
+@AllArgsConstructor
+public class JwtPrincipal {
+    /**
+     * 令牌ID（jti），用于吊销校验
+     */
+    private final String tokenId;
+    private final String userId;
+    private final String username;
+    /**
+     * 令牌过期时间（毫秒时间戳）
+     */
+    private final long expiresAt;
+}
@@ -1,7 +1,11 @@
 package com.example.oa_system_backend.common.utils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -9,9 +13,14 @@ import com.example.oa_system_backend.common.exception.TokenInvalidException;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtils {
@@ -25,8 +34,48 @@ public class JwtUtils {
     @Value("${jwt.refresh-expiration}")
     private Long refreshExpiration;
 
+    /**
+     * 已验签令牌缓存的最大条目数
+     */
+    private static final int VERIFIED_TOKEN_CACHE_SIZE = 10_000;
+
+    private SecretKey signingKey;
+
+    private JwtParser parser;
+
+    /**
+     * 令牌摘要 -> 已验签主体，条目在令牌 exp 时过期，热点客户端无需重复验签
+     */
+    private Cache<String, JwtPrincipal> verifiedTokens;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(signingKey).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(VERIFIED_TOKEN_CACHE_SIZE)
+                .expireAfter(new Expiry<String, JwtPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String key, JwtPrincipal value, long currentTime) {
+                        long remainingMillis = value.getExpiresAt() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, JwtPrincipal value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, JwtPrincipal value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        return signingKey;
     }
 
     public String generateToken(String userId, String username) {
@@ -49,6 +98,7 @@ public class JwtUtils {
 
         return Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(getSigningKey())
@@ -57,11 +107,7 @@ public class JwtUtils {
 
     public Claims parseToken(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            return parser.parseSignedClaims(token).getPayload();
         } catch (ExpiredJwtException e) {
             throw new com.example.oa_system_backend.common.exception.TokenInvalidException("Token已过期", e);
         } catch (JwtException e) {
@@ -69,6 +115,27 @@ public class JwtUtils {
         }
     }
 
+    /**
+     * 解析并验证访问令牌，只验签一次；近期验证过的令牌直接命中缓存
+     */
+    public JwtPrincipal authenticate(String token) {
+        String digest = digest(token);
+        JwtPrincipal cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && cached.getExpiresAt() > System.currentTimeMillis()) {
+            return cached;
+        }
+
+        Claims claims = parseToken(token);
+        JwtPrincipal principal = new JwtPrincipal(
+                claims.getId(),
+                claims.get("userId", String.class),
+                claims.get("username", String.class),
+                claims.getExpiration().getTime()
+        );
+        verifiedTokens.put(digest, principal);
+        return principal;
+    }
+
     public String getUserIdFromToken(String token) {
         Claims claims = parseToken(token);
         return claims.get("userId", String.class);
@@ -90,13 +157,23 @@ public class JwtUtils {
 
     public boolean validateToken(String token) {
         try {
+            // 过期令牌在解析时即抛出 ExpiredJwtException，无需再次解析判断
             parseToken(token);
-            return !isTokenExpired(token);
+            return true;
         } catch (Exception e) {
             return false;
         }
     }
 
+    private String digest(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(md.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     public Long getExpiration() {
         return expiration / 1000; // Convert to seconds
     }
@@ -0,0 +1,174 @@
+package com.example.oa_system_backend.common.utils;
+
+import com.example.oa_system_backend.common.exception.BusinessException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 密码哈希（BCrypt）
+ * 哈希计算放在独立的有界线程池中执行，线程数等于CPU核数，队列满时直接拒绝，登录高峰不会占满 Tomcat 线程和全部CPU。
+ * 启动时按目标耗时校准 BCrypt 强度；库中强度低于当前强度的哈希和历史明文密码在登录成功后重新哈希。
+ */
+@Slf4j
+@Component
+public class PasswordHasher {
+
+    private static final int MIN_STRENGTH = 10;
+
+    private static final int MAX_STRENGTH = 14;
+
+    private static final String CALIBRATION_PASSWORD = "Calibrate#2026";
+
+    @Value("${password.hash.target-millis:100}")
+    private long targetMillis;
+
+    @Value("${password.hash.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${password.hash.timeout-millis:5000}")
+    private long timeoutMillis;
+
+    private volatile BCryptPasswordEncoder encoder;
+
+    private volatile int strength;
+
+    private ThreadPoolExecutor executor;
+
+    private final AtomicLong hashCount = new AtomicLong();
+    private final AtomicLong hashNanos = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        int threads = Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadIndex = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        calibrate();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * 按目标耗时选择 BCrypt 强度：在最低强度下实测一次，强度每加1耗时翻倍，取不超过目标耗时的最高强度
+     */
+    public synchronized void calibrate() {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(MIN_STRENGTH);
+        // 预热一次，避免 JIT 未编译时测得的耗时偏高
+        probe.encode(CALIBRATION_PASSWORD);
+        long start = System.nanoTime();
+        probe.encode(CALIBRATION_PASSWORD);
+        double millis = (System.nanoTime() - start) / 1_000_000.0;
+
+        int selected = MIN_STRENGTH;
+        while (selected < MAX_STRENGTH && millis * 2 <= targetMillis) {
+            selected++;
+            millis *= 2;
+        }
+        strength = selected;
+        encoder = new BCryptPasswordEncoder(selected);
+        log.info("密码哈希强度: {}, 预计单次耗时 {}ms, 约 {} 次/秒/核",
+                selected, String.format("%.1f", millis), String.format("%.1f", 1000 / millis));
+    }
+
+    public String encode(String rawPassword) {
+        BCryptPasswordEncoder current = encoder;
+        return execute(() -> current.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return false;
+        }
+        if (!isBCrypt(encodedPassword)) {
+            // 历史明文密码，登录成功后由 needsRehash 触发迁移
+            return MessageDigest.isEqual(rawPassword.getBytes(StandardCharsets.UTF_8),
+                    encodedPassword.getBytes(StandardCharsets.UTF_8));
+        }
+        BCryptPasswordEncoder current = encoder;
+        return execute(() -> current.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * 存储的密码是否需要按当前强度重新哈希（明文或强度偏低）
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return encodedPassword == null || !isBCrypt(encodedPassword) || encoder.upgradeEncoding(encodedPassword);
+    }
+
+    public Map<String, Object> getStats() {
+        long count = hashCount.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("strength", strength);
+        stats.put("poolSize", executor.getPoolSize());
+        stats.put("activeCount", executor.getActiveCount());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("hashCount", count);
+        stats.put("rejectedCount", rejectedCount.get());
+        stats.put("avgHashMillis", count == 0 ? 0.0 : hashNanos.get() / 1_000_000.0 / count);
+        return stats;
+    }
+
+    private <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return task.call();
+                } finally {
+                    hashNanos.addAndGet(System.nanoTime() - start);
+                    hashCount.incrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCount.incrementAndGet();
+            throw new BusinessException("系统繁忙，请稍后再试");
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new BusinessException("系统繁忙，请稍后再试");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("系统繁忙，请稍后再试");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("密码哈希计算失败", e.getCause());
+        }
+    }
+
+    private static boolean isBCrypt(String encodedPassword) {
+        return encodedPassword.startsWith("$2a$") || encodedPassword.startsWith("$2b$")
+                || encodedPassword.startsWith("$2y$");
+    }
+}
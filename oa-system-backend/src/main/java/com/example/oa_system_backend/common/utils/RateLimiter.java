@@ -0,0 +1,102 @@
+package com.example.oa_system_backend.common.utils;
+
+import com.example.oa_system_backend.config.RateLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 本地令牌桶限流
+ * 每个 (场景, 键) 一个固定大小的令牌桶，空闲超时或超过数量上限后淘汰，内存占用与活跃键数量成正比。
+ * 只在本实例内计数，多实例部署时每个实例各自限流。
+ */
+@Component
+public class RateLimiter {
+
+    private final RateLimitProperties properties;
+
+    private final Cache<String, TokenBucket> buckets;
+
+    /**
+     * 场景 -> [放行数, 拒绝数]
+     */
+    private final Map<String, AtomicLong[]> counters = new ConcurrentHashMap<>();
+
+    public RateLimiter(RateLimitProperties properties) {
+        this.properties = properties;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+    }
+
+    /**
+     * 按IP限流，路径未配置限额时直接放行
+     */
+    public boolean tryAcquireByIp(String path, String ip) {
+        return tryAcquire("ip:" + path, ip, properties.getIp().get(path));
+    }
+
+    /**
+     * 按账号限流，场景未配置限额时直接放行
+     */
+    public boolean tryAcquireByAccount(String scene, String account) {
+        return tryAcquire("account:" + scene, account, properties.getAccount().get(scene));
+    }
+
+    public boolean tryAcquire(String scope, String key, RateLimitProperties.Limit limit) {
+        if (!properties.isEnabled() || limit == null || key == null) {
+            return true;
+        }
+        TokenBucket bucket = buckets.get(scope + "|" + key, k -> new TokenBucket(limit));
+        boolean allowed = bucket.tryConsume(System.nanoTime());
+        AtomicLong[] counter = counters.computeIfAbsent(scope, k -> new AtomicLong[]{new AtomicLong(), new AtomicLong()});
+        counter[allowed ? 0 : 1].incrementAndGet();
+        return allowed;
+    }
+
+    /**
+     * 各场景放行/拒绝次数及当前跟踪的键数量
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("trackedKeys", buckets.estimatedSize());
+        counters.forEach((scope, counter) -> {
+            Map<String, Long> scopeStats = new LinkedHashMap<>();
+            scopeStats.put("allowed", counter[0].get());
+            scopeStats.put("rejected", counter[1].get());
+            stats.put(scope, scopeStats);
+        });
+        return stats;
+    }
+
+    private static final class TokenBucket {
+
+        private final double capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long lastRefillNanos;
+
+        TokenBucket(RateLimitProperties.Limit limit) {
+            this.capacity = limit.getCapacity();
+            this.tokensPerNano = capacity / limit.getPeriod().toNanos();
+            this.tokens = capacity;
+            this.lastRefillNanos = System.nanoTime();
+        }
+
+        synchronized boolean tryConsume(long now) {
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * tokensPerNano);
+            lastRefillNanos = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens -= 1;
+            return true;
+        }
+    }
+}
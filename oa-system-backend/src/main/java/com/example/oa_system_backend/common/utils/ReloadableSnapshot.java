@@ -0,0 +1,43 @@
+package com.example.oa_system_backend.common.utils;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * 内存快照的加载与定时重载
+ * 启动时加载一次，失败时只记录日志，不影响启动；之后按 snapshot.reload-interval（毫秒，默认5分钟）定时全量重载，
+ * 同步其他实例的变更，启动加载失败时也由定时重载重试。子类在 {@link #reload()} 中构建完整快照并整体替换。
+ */
+@Slf4j
+public abstract class ReloadableSnapshot {
+
+    @PostConstruct
+    public void init() {
+        reloadQuietly();
+    }
+
+    @Scheduled(fixedDelayString = "${snapshot.reload-interval:300000}",
+            initialDelayString = "${snapshot.reload-interval:300000}")
+    public void scheduledReload() {
+        reloadQuietly();
+    }
+
+    /**
+     * 全量重载
+     */
+    public abstract void reload();
+
+    /**
+     * 日志中使用的快照名称
+     */
+    protected abstract String name();
+
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("{}加载失败，将在定时重载时重试", name(), e);
+        }
+    }
+}
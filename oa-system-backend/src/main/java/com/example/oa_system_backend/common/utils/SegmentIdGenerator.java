@@ -0,0 +1,144 @@
+package com.example.oa_system_backend.common.utils;
+
+import com.example.oa_system_backend.common.exception.BusinessException;
+import com.example.oa_system_backend.common.mapper.IdSegmentMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 号段式业务编号生成器
+ * 每个序列键在 sys_id_segment 中记录已预留的最大序号，实例每次在独立事务中原子地预留 step 个序号，
+ * 号段内的序号通过 CAS 无锁发放，只有号段用完时才访问数据库。不同实例预留的号段互不重叠，多实例部署下编号唯一；
+ * 实例重启时未用完的号段直接丢弃，编号可能不连续。
+ * 序列键首次使用时按业务表中已有的最大序号初始化，与历史数据不冲突。
+ */
+@Slf4j
+@Component
+public class SegmentIdGenerator {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final IdSegmentMapper idSegmentMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 序列键 -> 当前号段
+     */
+    private final Map<String, SegmentHolder> holders = new ConcurrentHashMap<>();
+
+    public SegmentIdGenerator(IdSegmentMapper idSegmentMapper, PlatformTransactionManager transactionManager) {
+        this.idSegmentMapper = idSegmentMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // 号段预留不跟随业务事务，立即提交并释放行锁
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 生成 前缀 + 定宽序号 的编号，如 ASSET000001
+     *
+     * @param table  编号所属业务表
+     * @param prefix 编号前缀，同时作为序列键
+     * @param width  序号位数
+     * @param step   每次预留的号段长度
+     */
+    public String nextId(String table, String prefix, int width, int step) {
+        return prefix + pad(nextSequence(table, prefix, width, step), width);
+    }
+
+    /**
+     * 生成 前缀 + yyyyMMdd + 定宽序号 的编号，每个日期单独计数，如 EXP202610170001
+     *
+     * @param date 编号中的日期
+     */
+    public String nextDailyId(String table, String prefix, LocalDate date, int width, int step) {
+        String datePrefix = prefix + date.format(DATE_FORMATTER);
+        long sequence = nextSequence(table, datePrefix, width, step);
+        if (String.valueOf(sequence).length() > width) {
+            throw new BusinessException("当日编号已用完: " + prefix);
+        }
+        return datePrefix + pad(sequence, width);
+    }
+
+    /**
+     * 获取序列键的下一个序号，从1开始
+     *
+     * @param table 序列键首次使用时，按该表中以序列键开头的编号末尾 width 位初始化
+     */
+    public long nextSequence(String table, String key, int width, int step) {
+        SegmentHolder holder = holders.computeIfAbsent(key, k -> new SegmentHolder());
+        while (true) {
+            Segment segment = holder.current;
+            if (segment != null) {
+                long sequence = segment.next();
+                if (sequence > 0) {
+                    return sequence;
+                }
+            }
+            synchronized (holder) {
+                // 其他线程可能已经换上新号段
+                if (holder.current == segment) {
+                    holder.current = allocate(table, key, width, step);
+                }
+            }
+        }
+    }
+
+    /**
+     * 从号段表预留 (max_id - step, max_id] 区间
+     */
+    private Segment allocate(String table, String key, int width, int step) {
+        Long maxId = transactionTemplate.execute(status -> {
+            if (idSegmentMapper.incrementMaxId(key, step) == 0) {
+                Long existing = idSegmentMapper.selectMaxSequence(table, key, width);
+                idSegmentMapper.insertIgnore(key, existing != null ? existing : 0L);
+                idSegmentMapper.incrementMaxId(key, step);
+            }
+            return idSegmentMapper.selectMaxId(key);
+        });
+        if (maxId == null) {
+            throw new BusinessException("业务编号号段分配失败: " + key);
+        }
+        log.debug("业务编号号段分配: {}, 区间: ({}, {}]", key, maxId - step, maxId);
+        return new Segment(maxId - step + 1, maxId);
+    }
+
+    private static String pad(long sequence, int width) {
+        return String.format("%0" + width + "d", sequence);
+    }
+
+    private static final class SegmentHolder {
+
+        private volatile Segment current;
+    }
+
+    /**
+     * 已预留的号段 [start, max]，发放游标单调递增
+     */
+    private static final class Segment {
+
+        private final AtomicLong cursor;
+        private final long max;
+
+        Segment(long start, long max) {
+            this.cursor = new AtomicLong(start);
+            this.max = max;
+        }
+
+        /**
+         * @return 下一个序号，号段已用完时返回 -1
+         */
+        long next() {
+            long sequence = cursor.getAndIncrement();
+            return sequence <= max ? sequence : -1;
+        }
+    }
+}
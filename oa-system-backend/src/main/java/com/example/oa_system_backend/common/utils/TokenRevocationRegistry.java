@@ -0,0 +1,155 @@
+package com.example.oa_system_backend.common.utils;
+
+import com.example.oa_system_backend.common.exception.TokenInvalidException;
+import com.example.oa_system_backend.module.auth.entity.AuthUserSession;
+import com.example.oa_system_backend.module.auth.mapper.AuthUserSessionMapper;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 已吊销令牌登记表
+ * 吊销的 jti 同时记录在布隆过滤器和精确集合中，条目保留到令牌自身过期为止。
+ * 绝大多数请求的令牌未被吊销，布隆过滤器一次位运算即可放行，不访问数据库。
+ * 本实例的吊销立即生效；其他实例的注销、会话吊销和令牌轮换通过定时重载已注销会话同步。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationRegistry extends ReloadableSnapshot {
+
+    /**
+     * 布隆过滤器位数与哈希次数，约 10 万条吊销记录时误判率 ~1%
+     */
+    private static final int BLOOM_BITS = 1 << 20;
+    private static final int BLOOM_HASHES = 7;
+
+    private final JwtUtils jwtUtils;
+    private final AuthUserSessionMapper authUserSessionMapper;
+
+    /**
+     * jti -> 令牌过期时间（毫秒时间戳）
+     */
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter bloomFilter = new BloomFilter(BLOOM_BITS, BLOOM_HASHES);
+
+    /**
+     * 合并数据库中已注销且未过期的会话令牌，本实例已登记的吊销保留到过期清理
+     */
+    @Override
+    public void reload() {
+        List<AuthUserSession> sessions = authUserSessionMapper.selectRevokedUnexpired();
+        for (AuthUserSession session : sessions) {
+            revokeToken(session.getAccessToken());
+        }
+        log.info("已加载吊销令牌, 已注销会话: {}, 吊销令牌: {}", sessions.size(), revoked.size());
+    }
+
+    @Override
+    protected String name() {
+        return "吊销令牌";
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !bloomFilter.mightContain(tokenId)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(tokenId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    /**
+     * 吊销访问令牌；已过期或无法解析的令牌本身已不可用，直接忽略
+     */
+    public void revokeToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return;
+        }
+        Claims claims;
+        try {
+            claims = jwtUtils.parseToken(token);
+        } catch (TokenInvalidException e) {
+            return;
+        }
+        if (claims.getId() != null && claims.getExpiration() != null) {
+            revoke(claims.getId(), claims.getExpiration().getTime());
+        }
+    }
+
+    public synchronized void revoke(String tokenId, long expiresAt) {
+        revoked.put(tokenId, expiresAt);
+        bloomFilter.put(tokenId);
+    }
+
+    /**
+     * 清理已过期的吊销记录并重建布隆过滤器
+     */
+    public synchronized void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+
+        BloomFilter rebuilt = new BloomFilter(BLOOM_BITS, BLOOM_HASHES);
+        revoked.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+        log.info("吊销令牌清理完成, 剩余 {} 个", revoked.size());
+    }
+
+    private static final class BloomFilter {
+
+        private final AtomicLongArray bits;
+        private final int bitCount;
+        private final int hashCount;
+
+        BloomFilter(int bitCount, int hashCount) {
+            this.bits = new AtomicLongArray(bitCount >>> 6);
+            this.bitCount = bitCount;
+            this.hashCount = hashCount;
+        }
+
+        void put(String key) {
+            int h1 = key.hashCode();
+            int h2 = mix(h1);
+            for (int i = 0; i < hashCount; i++) {
+                int bit = index(h1 + i * h2);
+                int word = bit >>> 6;
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = bits.get(word);
+                } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(String key) {
+            int h1 = key.hashCode();
+            int h2 = mix(h1);
+            for (int i = 0; i < hashCount; i++) {
+                int bit = index(h1 + i * h2);
+                if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int index(int hash) {
+            return (hash & Integer.MAX_VALUE) % bitCount;
+        }
+
+        private static int mix(int h) {
+            h ^= h >>> 16;
+            h *= 0x85ebca6b;
+            h ^= h >>> 13;
+            h *= 0xc2b2ae35;
+            h ^= h >>> 16;
+            return h | 1;
+        }
+    }
+}
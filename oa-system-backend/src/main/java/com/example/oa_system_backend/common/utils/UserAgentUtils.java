@@ -1,18 +1,55 @@
 package com.example.oa_system_backend.common.utils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import eu.bitwalker.useragentutils.Browser;
 import eu.bitwalker.useragentutils.OperatingSystem;
 import eu.bitwalker.useragentutils.UserAgent;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * User-Agent 解析
+ * 同一批客户端的 UA 高度重复，解析结果按 UA 缓存，最多保留 {@link #MAX_CACHED_AGENTS} 个，超出后淘汰不常用的条目。
+ * 缓存键是 UA 的 64 位哈希而不是原始字符串，超长 UA 不会占用额外内存。返回的 DeviceInfo 为共享实例，调用方不要修改。
+ */
 @Component
 public class UserAgentUtils {
 
+    private static final int MAX_CACHED_AGENTS = 4096;
+
+    private static final DeviceInfo UNKNOWN = new DeviceInfo("Unknown", "Unknown", "Unknown");
+
+    private final Cache<Long, DeviceInfo> cache = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_AGENTS)
+            .recordStats()
+            .build();
+
     public DeviceInfo parseUserAgent(String userAgentString) {
         if (userAgentString == null || userAgentString.isEmpty()) {
-            return new DeviceInfo("Unknown", "Unknown", "Unknown");
+            return UNKNOWN;
         }
+        return cache.get(hash(userAgentString), key -> parse(userAgentString));
+    }
 
+    /**
+     * 缓存命中统计
+     */
+    public Map<String, Object> getStats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictionCount", stats.evictionCount());
+        return result;
+    }
+
+    private static DeviceInfo parse(String userAgentString) {
         UserAgent userAgent = UserAgent.parseUserAgentString(userAgentString);
         Browser browser = userAgent.getBrowser();
         OperatingSystem os = userAgent.getOperatingSystem();
@@ -23,4 +60,16 @@ public class UserAgentUtils {
 
         return new DeviceInfo(browserName, osName, deviceType);
     }
+
+    /**
+     * 64 位 FNV-1a 哈希（按 char 计算）
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
 }
@@ -1,6 +1,10 @@
 package com.example.oa_system_backend.config;
 
+import com.example.oa_system_backend.common.exception.TokenInvalidException;
+import com.example.oa_system_backend.common.utils.JwtPrincipal;
 import com.example.oa_system_backend.common.utils.JwtUtils;
+import com.example.oa_system_backend.common.utils.TokenRevocationRegistry;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,6 +25,7 @@ import java.util.Collections;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -32,21 +37,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String token = authHeader.substring(7);
 
             try {
-                if (jwtUtils.validateToken(token)) {
-                    String userId = jwtUtils.getUserIdFromToken(token);
-                    String username = jwtUtils.getUsernameFromToken(token);
+                JwtPrincipal principal = jwtUtils.authenticate(token);
 
+                if (tokenRevocationRegistry.isRevoked(principal.getTokenId())) {
+                    logger.debug("JWT token has been revoked: " + principal.getTokenId());
+                } else {
                     UsernamePasswordAuthenticationToken authentication =
                             new UsernamePasswordAuthenticationToken(
-                                    userId,
+                                    principal.getUserId(),
                                     null,
                                     Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
                             );
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authentication);
                 }
+            } catch (TokenInvalidException | JwtException e) {
+                // 过期或无效令牌是正常的客户端行为，按匿名请求继续，由后续鉴权返回401
+                logger.debug("JWT authentication failed: " + e.getMessage());
             } catch (Exception e) {
-                logger.error("JWT authentication failed: " + e.getMessage());
+                logger.error("JWT authentication error", e);
             }
         }
 
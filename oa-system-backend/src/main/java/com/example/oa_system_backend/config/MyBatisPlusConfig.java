@@ -9,7 +9,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
-@MapperScan("com.example.oa_system_backend.module.*.mapper")
+@MapperScan({"com.example.oa_system_backend.module.*.mapper", "com.example.oa_system_backend.common.mapper"})
 public class MyBatisPlusConfig {
 
     /**
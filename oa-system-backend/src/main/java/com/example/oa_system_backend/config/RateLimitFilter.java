@@ -0,0 +1,55 @@
+package com.example.oa_system_backend.config;
+
+import com.example.oa_system_backend.common.utils.IpUtils;
+import com.example.oa_system_backend.common.utils.RateLimiter;
+import com.example.oa_system_backend.common.vo.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 认证接口按客户端IP限流，位于 JwtAuthenticationFilter 之前，超限请求直接返回 429，不进入业务逻辑和数据库
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitProperties properties;
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || !properties.getIp().containsKey(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String path = request.getRequestURI();
+        if (rateLimiter.tryAcquireByIp(path, IpUtils.resolveClientIp(request, properties.getTrustedProxies()))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfterSeconds = Math.max(1, properties.getIp().get(path).getPeriod().toSeconds()
+                / Math.max(1, properties.getIp().get(path).getCapacity()));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getWriter(),
+                ApiResponse.error(HttpStatus.TOO_MANY_REQUESTS.value(), "请求过于频繁，请稍后再试"));
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.oa_system_backend.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 限流配置
+ * ip 按请求路径配置单个客户端IP的限额，account 按业务场景配置单个账号的限额。
+ * 配置路径作为键时需要加方括号，例如 rate-limit.ip.[/api/auth/login].capacity=20
+ * 客户端IP取连接地址，只有连接来自 trusted-proxies 中的反向代理时才按 X-Forwarded-For 解析。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * 最多同时跟踪的限流键数量
+     */
+    private int maxKeys = 100_000;
+
+    /**
+     * 限流键空闲多久后淘汰
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * 可信反向代理的IP，按 X-Forwarded-For 解析客户端IP时跳过这些地址
+     */
+    private List<String> trustedProxies = new ArrayList<>();
+
+    /**
+     * 请求路径 -> 单个IP的限额
+     */
+    private Map<String, Limit> ip = new LinkedHashMap<>(Map.of(
+            "/api/auth/login", new Limit(20, Duration.ofMinutes(1)),
+            "/api/auth/captcha", new Limit(30, Duration.ofMinutes(1)),
+            "/api/auth/send-code", new Limit(5, Duration.ofMinutes(1)),
+            "/api/auth/reset-password", new Limit(10, Duration.ofMinutes(1))));
+
+    /**
+     * 业务场景 -> 单个账号的限额
+     */
+    private Map<String, Limit> account = new LinkedHashMap<>(Map.of(
+            "login", new Limit(10, Duration.ofMinutes(1)),
+            "send-code", new Limit(1, Duration.ofMinutes(1))));
+
+    /**
+     * 令牌桶限额：最多 capacity 次突发，每 period 补满
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private int capacity;
+        private Duration period;
+    }
+}
@@ -11,10 +11,12 @@ import com.example.oa_system_backend.module.asset.vo.AssetBorrowRecordVO;
 import com.example.oa_system_backend.module.asset.vo.AssetVO;
 import com.example.oa_system_backend.module.asset.vo.DepreciationTrendVO;
 import com.example.oa_system_backend.module.asset.vo.BorrowTrendVO;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -38,6 +40,15 @@ public class AssetController {
         return ApiResponse.success(result);
     }
 
+    /**
+     * 按查询条件导出资产列表
+     * GET /api/assets/export
+     */
+    @GetMapping("/export")
+    public void exportAssets(AssetQueryRequest request, HttpServletResponse response) throws IOException {
+        assetService.exportAssets(request, response);
+    }
+
     /**
      * 根据ID查询资产详情
      * GET /api/assets/{id}
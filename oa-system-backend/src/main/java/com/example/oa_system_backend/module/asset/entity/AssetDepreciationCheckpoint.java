@@ -0,0 +1,63 @@
+package com.example.oa_system_backend.module.asset.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 资产折旧批处理检查点
+ * 对应表: biz_asset_depreciation_checkpoint
+ */
+@Data
+@TableName("biz_asset_depreciation_checkpoint")
+public class AssetDepreciationCheckpoint {
+
+    /**
+     * 折旧期间 (格式: yyyy-MM)
+     */
+    @TableId(value = "period", type = IdType.INPUT)
+    private String period;
+
+    /**
+     * 已完成的最后一个资产ID，续跑时从其之后开始
+     */
+    private String lastAssetId;
+
+    /**
+     * 已处理资产数
+     */
+    private Integer processedCount;
+
+    /**
+     * 当前价值发生变化并已写回的资产数
+     */
+    private Integer updatedCount;
+
+    /**
+     * 状态: running(执行中), completed(已完成)
+     */
+    private String status;
+
+    /**
+     * 执行实例标识
+     */
+    private String owner;
+
+    /**
+     * 开始时间
+     */
+    private LocalDateTime startedAt;
+
+    /**
+     * 最后更新时间
+     */
+    private LocalDateTime updatedAt;
+
+    /**
+     * 完成时间
+     */
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,28 @@
+package com.example.oa_system_backend.module.asset.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.example.oa_system_backend.module.asset.entity.AssetDepreciationCheckpoint;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+
+/**
+ * 资产折旧批处理检查点Mapper接口
+ */
+@Mapper
+public interface AssetDepreciationCheckpointMapper extends BaseMapper<AssetDepreciationCheckpoint> {
+
+    /**
+     * 接管执行中、且在 staleBefore 之后没有推进过的检查点，多个实例同时接管时只有一个成功
+     *
+     * @return 接管成功返回1
+     */
+    @Update("UPDATE biz_asset_depreciation_checkpoint SET owner = #{owner}, updated_at = #{now} " +
+            "WHERE period = #{period} AND status = 'running' AND updated_at < #{staleBefore}")
+    int claimStalled(@Param("period") String period,
+                     @Param("owner") String owner,
+                     @Param("now") LocalDateTime now,
+                     @Param("staleBefore") LocalDateTime staleBefore);
+}
@@ -4,11 +4,14 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.example.oa_system_backend.module.asset.entity.Asset;
+import com.example.oa_system_backend.module.asset.vo.AssetStatisticsGroupVO;
 import com.example.oa_system_backend.module.asset.vo.AssetVO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 /**
  * 资产Mapper接口
@@ -45,4 +48,42 @@ public interface AssetMapper extends BaseMapper<Asset> {
             @Param("location") String location,
             @Param("sortOrder") String sortOrder
     );
+
+    /**
+     * 流式查询导出资产，条件同分页查询
+     * 需在事务内消费游标
+     */
+    Cursor<AssetVO> selectExportCursor(
+            @Param("keyword") String keyword,
+            @Param("category") String category,
+            @Param("status") String status,
+            @Param("userId") String userId,
+            @Param("purchaseDateStart") String purchaseDateStart,
+            @Param("purchaseDateEnd") String purchaseDateEnd,
+            @Param("purchasePriceMin") BigDecimal purchasePriceMin,
+            @Param("purchasePriceMax") BigDecimal purchasePriceMax,
+            @Param("location") String location,
+            @Param("sortOrder") String sortOrder
+    );
+
+    /**
+     * 按ID键集分页读取参与折旧计算的资产(未报废)，只查询计算所需字段
+     *
+     * @param afterId 上一块最后一个资产ID，为空时从头开始
+     * @param limit   每块行数
+     */
+    List<Asset> selectDepreciationChunk(@Param("afterId") String afterId, @Param("limit") int limit);
+
+    /**
+     * 批量写回当前价值
+     * 只更新 current_value，不递增 version；以读取时的 version 为条件，读取后被用户修改过的资产会被跳过
+     *
+     * @return 实际更新行数
+     */
+    int batchUpdateCurrentValue(@Param("items") List<Asset> items);
+
+    /**
+     * 按类别和状态分组汇总资产数量、购置金额和当前价值
+     */
+    List<AssetStatisticsGroupVO> selectStatisticsGroups();
 }
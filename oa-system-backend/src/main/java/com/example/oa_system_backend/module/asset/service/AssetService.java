@@ -20,6 +20,11 @@ public interface AssetService {
      */
     IPage<AssetVO> getAssetList(AssetQueryRequest request);
 
+    /**
+     * 按查询条件导出资产列表
+     */
+    void exportAssets(AssetQueryRequest request, jakarta.servlet.http.HttpServletResponse response) throws java.io.IOException;
+
     /**
      * 根据ID查询资产详情
      */
@@ -5,6 +5,8 @@ import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.example.oa_system_backend.common.exception.BusinessException;
+import com.example.oa_system_backend.common.utils.ExcelStreamWriter;
+import com.example.oa_system_backend.common.utils.SegmentIdGenerator;
 import com.example.oa_system_backend.module.asset.dto.request.*;
 import com.example.oa_system_backend.module.asset.dto.response.AssetResponse;
 import com.example.oa_system_backend.module.asset.dto.response.AssetStatisticsResponse;
@@ -14,7 +16,9 @@ import com.example.oa_system_backend.module.asset.enums.*;
 import com.example.oa_system_backend.module.asset.mapper.AssetBorrowRecordMapper;
 import com.example.oa_system_backend.module.asset.mapper.AssetMapper;
 import com.example.oa_system_backend.module.asset.service.AssetService;
+import com.example.oa_system_backend.module.asset.task.AssetDepreciationJob;
 import com.example.oa_system_backend.module.asset.util.AssetDepreciationUtil;
+import com.example.oa_system_backend.module.asset.util.AssetStatisticsIndex;
 import com.example.oa_system_backend.module.asset.vo.AssetBorrowRecordVO;
 import com.example.oa_system_backend.module.asset.vo.AssetVO;
 import com.example.oa_system_backend.module.asset.vo.DepreciationTrendVO;
@@ -23,12 +27,15 @@ import com.example.oa_system_backend.module.employee.entity.Employee;
 import com.example.oa_system_backend.module.employee.mapper.EmployeeMapper;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
@@ -52,6 +59,9 @@ public class AssetServiceImpl implements AssetService {
     private final AssetBorrowRecordMapper assetBorrowRecordMapper;
     private final EmployeeMapper employeeMapper;
     private final ObjectMapper objectMapper;
+    private final AssetDepreciationJob assetDepreciationJob;
+    private final AssetStatisticsIndex assetStatisticsIndex;
+    private final SegmentIdGenerator segmentIdGenerator;
 
     @Override
     public IPage<AssetVO> getAssetList(AssetQueryRequest request) {
@@ -74,6 +84,40 @@ public class AssetServiceImpl implements AssetService {
         );
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAssets(AssetQueryRequest request, HttpServletResponse response) throws IOException {
+        log.info("导出资产数据");
+
+        List<String> headers = List.of(
+                "资产编号", "资产名称", "资产类别", "品牌型号", "购置日期", "购置金额", "当前价值",
+                "状态", "使用人", "存放位置", "借用日期", "预计归还日期", "是否逾期", "创建时间"
+        );
+
+        List<String> fieldNames = List.of(
+                "id", "name", "categoryName", "brandModel", "purchaseDate", "purchasePrice", "currentValue",
+                "statusName", "userName", "location", "borrowDate", "expectedReturnDate", "isOverdue", "createdAt"
+        );
+
+        String fileName = "资产数据_" + LocalDateTime.now().format(java.time.format.DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+
+        try (ExcelStreamWriter<AssetVO> writer = new ExcelStreamWriter<>(AssetVO.class, headers, fieldNames);
+             Cursor<AssetVO> cursor = assetMapper.selectExportCursor(
+                     request.getKeyword(),
+                     request.getCategory(),
+                     request.getStatus(),
+                     request.getUserId(),
+                     request.getPurchaseDateStart() != null ? request.getPurchaseDateStart().toString() : null,
+                     request.getPurchaseDateEnd() != null ? request.getPurchaseDateEnd().toString() : null,
+                     request.getPurchasePriceMin(),
+                     request.getPurchasePriceMax(),
+                     request.getLocation(),
+                     request.getSortOrder())) {
+            cursor.forEach(writer::write);
+            writer.finish(response, fileName);
+        }
+    }
+
     @Override
     public AssetResponse getAssetById(String id) {
         Asset asset = assetMapper.selectById(id);
@@ -121,6 +165,7 @@ public class AssetServiceImpl implements AssetService {
 
         // 插入数据库
         assetMapper.insert(asset);
+        assetStatisticsIndex.applyAfterCommit(null, asset);
 
         log.info("创建资产成功, assetId: {}", asset.getId());
 
@@ -187,9 +232,12 @@ public class AssetServiceImpl implements AssetService {
             throw new BusinessException("更新资产失败");
         }
 
+        Asset updatedAsset = assetMapper.selectById(id);
+        assetStatisticsIndex.applyAfterCommit(existingAsset, updatedAsset);
+
         log.info("更新资产成功, assetId: {}", id);
 
-        return getAssetById(id);
+        return convertToResponse(updatedAsset);
     }
 
     @Override
@@ -208,76 +256,14 @@ public class AssetServiceImpl implements AssetService {
 
         // 逻辑删除
         assetMapper.deleteById(id);
+        assetStatisticsIndex.applyAfterCommit(asset, null);
 
         log.info("删除资产成功, assetId: {}", id);
     }
 
     @Override
     public AssetStatisticsResponse getStatistics() {
-        // 查询所有资产
-        LambdaQueryWrapper<Asset> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(Asset::getIsDeleted, 0);
-        List<Asset> assets = assetMapper.selectList(wrapper);
-
-        AssetStatisticsResponse response = new AssetStatisticsResponse();
-
-        // 总数
-        response.setTotalCount((long) assets.size());
-
-        // 总购置金额和当前价值
-        BigDecimal totalPurchaseValue = assets.stream()
-                .map(Asset::getPurchasePrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        response.setTotalPurchaseValue(totalPurchaseValue);
-
-        BigDecimal totalCurrentValue = assets.stream()
-                .map(Asset::getCurrentValue)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        response.setTotalCurrentValue(totalCurrentValue);
-
-        BigDecimal totalDepreciationAmount = totalPurchaseValue.subtract(totalCurrentValue);
-        response.setTotalDepreciationAmount(totalDepreciationAmount);
-
-        // 按类别统计
-        List<AssetStatisticsResponse.CategoryStatistics> categoryStatistics = assets.stream()
-                .collect(Collectors.groupingBy(Asset::getCategory))
-                .entrySet().stream()
-                .map(entry -> {
-                    AssetStatisticsResponse.CategoryStatistics cs = new AssetStatisticsResponse.CategoryStatistics();
-                    cs.setCategory(entry.getKey());
-                    cs.setCategoryName(AssetCategoryEnum.getDescriptionByCode(entry.getKey()));
-                    List<Asset> categoryAssets = entry.getValue();
-                    cs.setCount((long) categoryAssets.size());
-                    cs.setPurchaseValue(categoryAssets.stream()
-                            .map(Asset::getPurchasePrice)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add));
-                    cs.setCurrentValue(categoryAssets.stream()
-                            .map(Asset::getCurrentValue)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add));
-                    return cs;
-                })
-                .collect(Collectors.toList());
-        response.setCategoryStatistics(categoryStatistics);
-
-        // 按状态统计
-        List<AssetStatisticsResponse.StatusStatistics> statusStatistics = assets.stream()
-                .collect(Collectors.groupingBy(Asset::getStatus))
-                .entrySet().stream()
-                .map(entry -> {
-                    AssetStatisticsResponse.StatusStatistics ss = new AssetStatisticsResponse.StatusStatistics();
-                    ss.setStatus(entry.getKey());
-                    ss.setStatusName(AssetStatusEnum.getDescriptionByCode(entry.getKey()));
-                    List<Asset> statusAssets = entry.getValue();
-                    ss.setCount((long) statusAssets.size());
-                    ss.setValue(statusAssets.stream()
-                            .map(Asset::getCurrentValue)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add));
-                    return ss;
-                })
-                .collect(Collectors.toList());
-        response.setStatusStatistics(statusStatistics);
-
-        return response;
+        return assetStatisticsIndex.getStatistics();
     }
 
     @Override
@@ -352,9 +338,12 @@ public class AssetServiceImpl implements AssetService {
         record.setUpdatedAt(LocalDateTime.now()); // 手动设置更新时间
         assetBorrowRecordMapper.insert(record);
 
+        Asset borrowedAsset = assetMapper.selectById(id);
+        assetStatisticsIndex.applyAfterCommit(asset, borrowedAsset);
+
         log.info("资产借出成功, assetId: {}, borrowerId: {}", id, request.getBorrowerId());
 
-        return getAssetById(id);
+        return convertToResponse(borrowedAsset);
     }
 
     @Override
@@ -403,9 +392,12 @@ public class AssetServiceImpl implements AssetService {
             throw new BusinessException("更新资产状态失败");
         }
 
+        Asset returnedAsset = assetMapper.selectById(id);
+        assetStatisticsIndex.applyAfterCommit(asset, returnedAsset);
+
         log.info("资产归还成功, assetId: {}", id);
 
-        return getAssetById(id);
+        return convertToResponse(returnedAsset);
     }
 
     @Override
@@ -439,44 +431,22 @@ public class AssetServiceImpl implements AssetService {
     public void calculateAssetCurrentValue(String assetId) {
         Asset asset = assetMapper.selectById(assetId);
         if (asset != null) {
+            BigDecimal previousValue = asset.getCurrentValue() != null ? asset.getCurrentValue() : BigDecimal.ZERO;
             calculateAssetCurrentValue(asset);
             assetMapper.updateById(asset);
+            assetStatisticsIndex.applyCurrentValueDelta(asset.getCategory(), asset.getStatus(),
+                    asset.getCurrentValue().subtract(previousValue));
         }
     }
 
     @Override
     public void batchCalculateAllAssetCurrentValue() {
-        LambdaQueryWrapper<Asset> wrapper = new LambdaQueryWrapper<>();
-        wrapper.ne(Asset::getStatus, AssetStatusEnum.SCRAPPED.getCode());
-
-        List<Asset> assets = assetMapper.selectList(wrapper);
-        for (Asset asset : assets) {
-            calculateAssetCurrentValue(asset);
-            assetMapper.updateById(asset);
-        }
-
-        log.info("批量计算资产折旧完成, 共{}个资产", assets.size());
+        assetDepreciationJob.run();
     }
 
     @Override
     public String generateAssetId() {
-        // 查询当前最大ID
-        LambdaQueryWrapper<Asset> wrapper = new LambdaQueryWrapper<>();
-        wrapper.orderByDesc(Asset::getId).last("LIMIT 1");
-        Asset lastAsset = assetMapper.selectOne(wrapper);
-
-        int sequence = 1;
-        if (lastAsset != null && lastAsset.getId() != null && lastAsset.getId().startsWith("ASSET")) {
-            String lastSequence = lastAsset.getId().substring(5);
-            try {
-                sequence = Integer.parseInt(lastSequence) + 1;
-            } catch (NumberFormatException e) {
-                log.warn("解析最后资产ID失败: {}", lastAsset.getId());
-                sequence = 1;
-            }
-        }
-
-        return String.format("ASSET%06d", sequence);
+        return segmentIdGenerator.nextId("biz_asset", "ASSET", 6, 20);
     }
 
     /**
@@ -0,0 +1,235 @@
+package com.example.oa_system_backend.module.asset.task;
+
+import com.example.oa_system_backend.module.asset.entity.Asset;
+import com.example.oa_system_backend.module.asset.entity.AssetDepreciationCheckpoint;
+import com.example.oa_system_backend.module.asset.mapper.AssetDepreciationCheckpointMapper;
+import com.example.oa_system_backend.module.asset.mapper.AssetMapper;
+import com.example.oa_system_backend.module.asset.util.AssetDepreciationUtil;
+import com.example.oa_system_backend.module.asset.util.AssetStatisticsIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 资产折旧批处理
+ * 按资产ID键集分页读取，各块并行计算折旧并以一条语句批量写回 current_value；
+ * 按读取顺序确认完成的块并推进检查点，任务中断后从检查点续跑，而不是从头开始。
+ * 多实例部署时，检查点主键保证每个期间只有一个实例开始执行；检查点长时间未推进时，由一个实例原子接管后续跑。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AssetDepreciationJob {
+
+    public static final String STATUS_RUNNING = "running";
+    public static final String STATUS_COMPLETED = "completed";
+
+    /**
+     * 每块资产数
+     */
+    private static final int CHUNK_SIZE = 500;
+
+    /**
+     * 并行处理的块数
+     */
+    private static final int PARALLELISM = 4;
+
+    /**
+     * 检查点超过该时长未推进，视为执行实例已中断
+     */
+    private static final Duration STALL_TIMEOUT = Duration.ofMinutes(10);
+
+    /**
+     * 当前实例标识
+     */
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final AssetMapper assetMapper;
+    private final AssetDepreciationCheckpointMapper checkpointMapper;
+    private final AssetStatisticsIndex assetStatisticsIndex;
+
+    /**
+     * 执行当期折旧；当期已完成或正由其他实例执行时直接返回，检查点已中断时接管并从检查点续跑
+     */
+    public synchronized void run() {
+        String period = YearMonth.now().toString();
+        AssetDepreciationCheckpoint checkpoint = checkpointMapper.selectById(period);
+
+        if (checkpoint != null && STATUS_COMPLETED.equals(checkpoint.getStatus())) {
+            log.info("资产折旧 {} 已完成, 跳过", period);
+            return;
+        }
+        if (checkpoint == null) {
+            checkpoint = new AssetDepreciationCheckpoint();
+            checkpoint.setPeriod(period);
+            checkpoint.setProcessedCount(0);
+            checkpoint.setUpdatedCount(0);
+            checkpoint.setStatus(STATUS_RUNNING);
+            checkpoint.setOwner(instanceId);
+            checkpoint.setStartedAt(LocalDateTime.now());
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            try {
+                checkpointMapper.insert(checkpoint);
+            } catch (DuplicateKeyException e) {
+                log.info("资产折旧 {} 已由其他实例开始执行, 跳过", period);
+                return;
+            }
+        } else {
+            LocalDateTime now = LocalDateTime.now();
+            if (checkpointMapper.claimStalled(period, instanceId, now, now.minus(STALL_TIMEOUT)) == 0) {
+                log.info("资产折旧 {} 正由其他实例执行, 跳过", period);
+                return;
+            }
+            // 接管后重新读取，拿到中断前最后推进的位置
+            checkpoint = checkpointMapper.selectById(period);
+            log.info("资产折旧 {} 从检查点续跑, 最后资产ID: {}, 已处理: {}",
+                    period, checkpoint.getLastAssetId(), checkpoint.getProcessedCount());
+        }
+
+        execute(checkpoint);
+    }
+
+    /**
+     * 存在执行中、且超过 STALL_TIMEOUT 没有推进的检查点，说明执行实例已中断
+     */
+    public boolean hasStalledRun() {
+        AssetDepreciationCheckpoint checkpoint = checkpointMapper.selectById(YearMonth.now().toString());
+        return checkpoint != null && STATUS_RUNNING.equals(checkpoint.getStatus())
+                && checkpoint.getUpdatedAt().isBefore(LocalDateTime.now().minus(STALL_TIMEOUT));
+    }
+
+    private void execute(AssetDepreciationCheckpoint checkpoint) {
+        long startTime = System.currentTimeMillis();
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(PARALLELISM, runnable -> {
+            Thread thread = new Thread(runnable, "asset-depreciation-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Deque<ChunkTask> inFlight = new ArrayDeque<>();
+        try {
+            String cursor = checkpoint.getLastAssetId();
+            while (true) {
+                List<Asset> chunk = assetMapper.selectDepreciationChunk(cursor, CHUNK_SIZE);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                cursor = chunk.get(chunk.size() - 1).getId();
+                inFlight.addLast(new ChunkTask(cursor, chunk.size(),
+                        CompletableFuture.supplyAsync(() -> processChunk(chunk), executor)));
+
+                if (inFlight.size() >= PARALLELISM) {
+                    confirm(inFlight.pollFirst(), checkpoint, startTime);
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                confirm(inFlight.pollFirst(), checkpoint, startTime);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        checkpoint.setStatus(STATUS_COMPLETED);
+        checkpoint.setFinishedAt(LocalDateTime.now());
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointMapper.updateById(checkpoint);
+        assetStatisticsIndex.reload();
+
+        log.info("批量计算资产折旧完成, 期间: {}, 共{}个资产, 写回{}个, 耗时{}ms",
+                checkpoint.getPeriod(), checkpoint.getProcessedCount(), checkpoint.getUpdatedCount(),
+                System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * 计算一块资产的当前价值，只写回发生变化的资产
+     *
+     * @return 实际写回的行数
+     */
+    private int processChunk(List<Asset> chunk) {
+        List<Asset> changed = new ArrayList<>();
+        Map<String, BigDecimal> deltas = new HashMap<>();
+        for (Asset asset : chunk) {
+            BigDecimal currentValue = AssetDepreciationUtil.calculateDepreciation(
+                    asset.getCategory(),
+                    asset.getPurchaseDate(),
+                    asset.getPurchasePrice()
+            );
+            BigDecimal previousValue = asset.getCurrentValue();
+            if (previousValue == null || previousValue.compareTo(currentValue) != 0) {
+                deltas.merge(asset.getCategory() + ":" + asset.getStatus(),
+                        currentValue.subtract(previousValue != null ? previousValue : BigDecimal.ZERO), BigDecimal::add);
+                asset.setCurrentValue(currentValue);
+                changed.add(asset);
+            }
+        }
+        if (changed.isEmpty()) {
+            return 0;
+        }
+
+        int updated = assetMapper.batchUpdateCurrentValue(changed);
+        // 有行因版本变化被跳过时差量不准确，留给任务结束时的全量校准
+        if (updated == changed.size()) {
+            deltas.forEach((key, delta) -> {
+                int split = key.indexOf(':');
+                assetStatisticsIndex.applyCurrentValueDelta(key.substring(0, split), key.substring(split + 1), delta);
+            });
+        }
+        return updated;
+    }
+
+    /**
+     * 等待队首块完成并推进检查点；按读取顺序确认，检查点之前的块一定都已写回
+     */
+    private void confirm(ChunkTask task, AssetDepreciationCheckpoint checkpoint, long startTime) {
+        int updated;
+        try {
+            updated = task.future.join();
+        } catch (CompletionException e) {
+            log.error("资产折旧计算中断, 期间: {}, 检查点: {}", checkpoint.getPeriod(), checkpoint.getLastAssetId());
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+
+        checkpoint.setLastAssetId(task.lastAssetId);
+        checkpoint.setProcessedCount(checkpoint.getProcessedCount() + task.size);
+        checkpoint.setUpdatedCount(checkpoint.getUpdatedCount() + updated);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointMapper.updateById(checkpoint);
+
+        long elapsed = Math.max(System.currentTimeMillis() - startTime, 1);
+        log.info("资产折旧进度: 已处理{}个, 写回{}个, 检查点: {}, 速率: {}个/秒",
+                checkpoint.getProcessedCount(), checkpoint.getUpdatedCount(), task.lastAssetId,
+                checkpoint.getProcessedCount() * 1000L / elapsed);
+    }
+
+    private static final class ChunkTask {
+
+        private final String lastAssetId;
+        private final int size;
+        private final CompletableFuture<Integer> future;
+
+        ChunkTask(String lastAssetId, int size, CompletableFuture<Integer> future) {
+            this.lastAssetId = lastAssetId;
+            this.size = size;
+            this.future = future;
+        }
+    }
+}
@@ -23,6 +23,7 @@ public class AssetScheduledTask {
 
     private final AssetService assetService;
     private final AssetBorrowRecordMapper assetBorrowRecordMapper;
+    private final AssetDepreciationJob assetDepreciationJob;
 
     /**
      * 自动计算折旧
@@ -39,6 +40,22 @@ public class AssetScheduledTask {
         }
     }
 
+    /**
+     * 检查当期折旧是否中断，检查点长时间未推进时续跑
+     * 每10分钟执行，多个实例同时发现时由检查点接管保证只有一个实例续跑
+     */
+    @Scheduled(fixedDelay = 600_000, initialDelay = 60_000)
+    public void resumeDepreciation() {
+        try {
+            if (assetDepreciationJob.hasStalledRun()) {
+                log.info("检测到中断的资产折旧任务, 开始续跑");
+                assetDepreciationJob.run();
+            }
+        } catch (Exception e) {
+            log.error("资产折旧续跑失败", e);
+        }
+    }
+
     /**
      * 超期借用检查
      * 每天早上9点执行
@@ -0,0 +1,200 @@
+package com.example.oa_system_backend.module.asset.util;
+
+import com.example.oa_system_backend.common.utils.TransactionUtils;
+import com.example.oa_system_backend.module.asset.dto.response.AssetStatisticsResponse;
+import com.example.oa_system_backend.module.asset.entity.Asset;
+import com.example.oa_system_backend.module.asset.enums.AssetCategoryEnum;
+import com.example.oa_system_backend.module.asset.enums.AssetStatusEnum;
+import com.example.oa_system_backend.module.asset.mapper.AssetMapper;
+import com.example.oa_system_backend.module.asset.vo.AssetStatisticsGroupVO;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 资产统计汇总
+ * 按 类别×状态 维护数量、购置金额合计、当前价值合计，资产增删改、借还和折旧在事务提交后按差量更新；
+ * 看板统计只遍历汇总单元，与资产总数无关。每10分钟用 SQL GROUP BY 全量校准一次，纠正可能的漂移。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AssetStatisticsIndex {
+
+    private final AssetMapper assetMapper;
+
+    /**
+     * 不可变快照：类别 -> 状态 -> 汇总，变更时整体替换
+     */
+    private volatile Map<String, Map<String, Totals>> snapshot;
+
+    @PostConstruct
+    public void init() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("资产统计汇总加载失败，将在首次查询时重试", e);
+        }
+    }
+
+    /**
+     * 全量校准 - 每10分钟执行
+     */
+    @Scheduled(fixedDelay = 600_000, initialDelay = 600_000)
+    public synchronized void reload() {
+        List<AssetStatisticsGroupVO> groups = assetMapper.selectStatisticsGroups();
+        Map<String, Map<String, Totals>> rebuilt = new LinkedHashMap<>();
+        for (AssetStatisticsGroupVO group : groups) {
+            rebuilt.computeIfAbsent(group.getCategory(), k -> new LinkedHashMap<>())
+                    .put(group.getStatus(), new Totals(group.getCount(), group.getPurchaseValue(), group.getCurrentValue()));
+        }
+        snapshot = rebuilt;
+        log.debug("资产统计汇总校准完成, 分组数: {}", groups.size());
+    }
+
+    /**
+     * 资产变更后在事务提交时更新汇总
+     *
+     * @param before 变更前的资产，新建时为 null
+     * @param after  变更后的资产，删除时为 null
+     */
+    public void applyAfterCommit(Asset before, Asset after) {
+        Asset removed = before == null ? null : copyOf(before);
+        Asset added = after == null ? null : copyOf(after);
+        TransactionUtils.afterCommit(() -> apply(removed, added));
+    }
+
+    /**
+     * 折旧批处理写回后按类别和状态累加当前价值差量
+     */
+    public void applyCurrentValueDelta(String category, String status, BigDecimal delta) {
+        TransactionUtils.afterCommit(() -> update(category, status, new Totals(0L, BigDecimal.ZERO, delta)));
+    }
+
+    public AssetStatisticsResponse getStatistics() {
+        Map<String, Map<String, Totals>> current = snapshot;
+        if (current == null) {
+            reload();
+            current = snapshot;
+        }
+
+        Totals total = Totals.ZERO;
+        Map<String, Totals> byStatus = new LinkedHashMap<>();
+        List<AssetStatisticsResponse.CategoryStatistics> categoryStatistics = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Totals>> categoryEntry : current.entrySet()) {
+            Totals categoryTotal = Totals.ZERO;
+            for (Map.Entry<String, Totals> statusEntry : categoryEntry.getValue().entrySet()) {
+                categoryTotal = categoryTotal.plus(statusEntry.getValue());
+                byStatus.merge(statusEntry.getKey(), statusEntry.getValue(), Totals::plus);
+            }
+            total = total.plus(categoryTotal);
+
+            AssetStatisticsResponse.CategoryStatistics cs = new AssetStatisticsResponse.CategoryStatistics();
+            cs.setCategory(categoryEntry.getKey());
+            cs.setCategoryName(AssetCategoryEnum.getDescriptionByCode(categoryEntry.getKey()));
+            cs.setCount(categoryTotal.count);
+            cs.setPurchaseValue(categoryTotal.purchaseValue);
+            cs.setCurrentValue(categoryTotal.currentValue);
+            categoryStatistics.add(cs);
+        }
+
+        List<AssetStatisticsResponse.StatusStatistics> statusStatistics = new ArrayList<>();
+        byStatus.forEach((status, totals) -> {
+            AssetStatisticsResponse.StatusStatistics ss = new AssetStatisticsResponse.StatusStatistics();
+            ss.setStatus(status);
+            ss.setStatusName(AssetStatusEnum.getDescriptionByCode(status));
+            ss.setCount(totals.count);
+            ss.setValue(totals.currentValue);
+            statusStatistics.add(ss);
+        });
+
+        AssetStatisticsResponse response = new AssetStatisticsResponse();
+        response.setTotalCount(total.count);
+        response.setTotalPurchaseValue(total.purchaseValue);
+        response.setTotalCurrentValue(total.currentValue);
+        response.setTotalDepreciationAmount(total.purchaseValue.subtract(total.currentValue));
+        response.setCategoryStatistics(categoryStatistics);
+        response.setStatusStatistics(statusStatistics);
+        return response;
+    }
+
+    private void apply(Asset removed, Asset added) {
+        if (removed != null) {
+            update(removed.getCategory(), removed.getStatus(), Totals.of(removed).negate());
+        }
+        if (added != null) {
+            update(added.getCategory(), added.getStatus(), Totals.of(added));
+        }
+    }
+
+    private synchronized void update(String category, String status, Totals delta) {
+        Map<String, Map<String, Totals>> current = snapshot;
+        if (current == null || category == null || status == null) {
+            return;
+        }
+        Map<String, Map<String, Totals>> updated = new LinkedHashMap<>(current);
+        Map<String, Totals> statuses = new LinkedHashMap<>(updated.getOrDefault(category, Collections.emptyMap()));
+        Totals totals = statuses.getOrDefault(status, Totals.ZERO).plus(delta);
+        if (totals.count <= 0) {
+            statuses.remove(status);
+        } else {
+            statuses.put(status, totals);
+        }
+        if (statuses.isEmpty()) {
+            updated.remove(category);
+        } else {
+            updated.put(category, statuses);
+        }
+        snapshot = updated;
+    }
+
+    private static Asset copyOf(Asset asset) {
+        Asset copy = new Asset();
+        copy.setCategory(asset.getCategory());
+        copy.setStatus(asset.getStatus());
+        copy.setPurchasePrice(asset.getPurchasePrice());
+        copy.setCurrentValue(asset.getCurrentValue());
+        return copy;
+    }
+
+    /**
+     * 单个汇总单元，不可变
+     */
+    private static final class Totals {
+
+        static final Totals ZERO = new Totals(0L, BigDecimal.ZERO, BigDecimal.ZERO);
+
+        private final long count;
+        private final BigDecimal purchaseValue;
+        private final BigDecimal currentValue;
+
+        Totals(Long count, BigDecimal purchaseValue, BigDecimal currentValue) {
+            this.count = count != null ? count : 0L;
+            this.purchaseValue = purchaseValue != null ? purchaseValue : BigDecimal.ZERO;
+            this.currentValue = currentValue != null ? currentValue : BigDecimal.ZERO;
+        }
+
+        static Totals of(Asset asset) {
+            return new Totals(1L, asset.getPurchasePrice(), asset.getCurrentValue());
+        }
+
+        Totals plus(Totals other) {
+            return new Totals(count + other.count,
+                    purchaseValue.add(other.purchaseValue),
+                    currentValue.add(other.currentValue));
+        }
+
+        Totals negate() {
+            return new Totals(-count, purchaseValue.negate(), currentValue.negate());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.oa_system_backend.module.asset.vo;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * 按类别和状态分组的资产汇总
+ */
+@Data
+public class AssetStatisticsGroupVO {
+    private String category;
+    private String status;
+    private Long count;
+    private BigDecimal purchaseValue;
+    private BigDecimal currentValue;
+}
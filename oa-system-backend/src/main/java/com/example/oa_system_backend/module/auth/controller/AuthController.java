@@ -1,6 +1,7 @@
 package com.example.oa_system_backend.module.auth.controller;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.example.oa_system_backend.common.utils.IpUtils;
 import com.example.oa_system_backend.common.vo.ApiResponse;
 import com.example.oa_system_backend.module.auth.dto.*;
 import com.example.oa_system_backend.module.auth.service.AuthService;
@@ -20,7 +21,7 @@ public class AuthController {
     @PostMapping("/login")
     public ApiResponse<LoginResponse> login(@Valid @RequestBody LoginRequest request,
                                              HttpServletRequest httpRequest) {
-        String ip = getClientIp(httpRequest);
+        String ip = IpUtils.getClientIp(httpRequest);
         String userAgent = httpRequest.getHeader("User-Agent");
         LoginResponse response = authService.login(request, ip, userAgent);
         return ApiResponse.success(response);
@@ -90,24 +91,4 @@ public class AuthController {
         Page<LoginLogVO> logs = authService.getLoginLogs(page, size, startDate, endDate);
         return ApiResponse.success(logs);
     }
-
-    private String getClientIp(HttpServletRequest request) {
-        String ip = request.getHeader("X-Forwarded-For");
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("Proxy-Client-IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("WL-Proxy-Client-IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("HTTP_CLIENT_IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("HTTP_X_FORWARDED_FOR");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getRemoteAddr();
-        }
-        return ip;
-    }
 }
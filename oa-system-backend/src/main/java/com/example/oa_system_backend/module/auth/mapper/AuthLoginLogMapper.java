@@ -8,6 +8,7 @@ import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Mapper
 public interface AuthLoginLogMapper extends BaseMapper<AuthLoginLog> {
@@ -21,4 +22,9 @@ public interface AuthLoginLogMapper extends BaseMapper<AuthLoginLog> {
                                                          @Param("username") String username,
                                                          @Param("startDate") LocalDateTime startDate,
                                                          @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * 批量写入登录日志(多行 INSERT)
+     */
+    int insertBatch(@Param("logs") List<AuthLoginLog> logs);
 }
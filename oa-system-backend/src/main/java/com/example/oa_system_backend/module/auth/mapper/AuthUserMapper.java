@@ -5,6 +5,8 @@ import com.example.oa_system_backend.module.auth.entity.AuthUser;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.List;
+
 @Mapper
 public interface AuthUserMapper extends BaseMapper<AuthUser> {
 
@@ -18,4 +20,9 @@ public interface AuthUserMapper extends BaseMapper<AuthUser> {
                          @Param("loginAttempts") Integer loginAttempts,
                          @Param("status") String status,
                          @Param("lockedUntil") String lockedUntil);
+
+    /**
+     * 批量更新最近登录时间和IP
+     */
+    int batchUpdateLastLogin(@Param("users") List<AuthUser> users);
 }
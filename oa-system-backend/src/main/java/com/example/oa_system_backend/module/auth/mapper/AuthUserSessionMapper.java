@@ -7,10 +7,17 @@ import com.example.oa_system_backend.module.auth.entity.AuthUserSession;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.List;
+
 @Mapper
 public interface AuthUserSessionMapper extends BaseMapper<AuthUserSession> {
 
     AuthUserSession selectActiveSessionByRefreshToken(@Param("refreshToken") String refreshToken);
 
     IPage<AuthUserSession> selectActiveSessionsByUserId(Page<AuthUserSession> page, @Param("userId") String userId);
+
+    /**
+     * 查询已注销（逻辑删除）但令牌尚未过期的会话，用于加载和定时同步吊销列表
+     */
+    List<AuthUserSession> selectRevokedUnexpired();
 }
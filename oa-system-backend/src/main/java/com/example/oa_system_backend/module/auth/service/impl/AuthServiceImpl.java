@@ -1,6 +1,7 @@
 package com.example.oa_system_backend.module.auth.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.example.oa_system_backend.common.exception.*;
 import com.example.oa_system_backend.common.utils.*;
@@ -8,11 +9,14 @@ import com.example.oa_system_backend.module.auth.dto.*;
 import com.example.oa_system_backend.module.auth.entity.*;
 import com.example.oa_system_backend.module.auth.mapper.*;
 import com.example.oa_system_backend.module.auth.service.AuthService;
+import com.example.oa_system_backend.module.auth.task.LoginAuditWriter;
 import com.example.oa_system_backend.module.auth.vo.*;
 import com.example.oa_system_backend.module.department.entity.Department;
 import com.example.oa_system_backend.module.department.mapper.DepartmentMapper;
 import com.example.oa_system_backend.module.employee.entity.Employee;
 import com.example.oa_system_backend.module.employee.mapper.EmployeeMapper;
+import com.example.oa_system_backend.module.permission.service.UserRoleService;
+import com.example.oa_system_backend.module.permission.util.PermissionSnapshotCache;
 import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,13 +24,16 @@ import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Locale;
 import java.util.Random;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -41,11 +48,20 @@ public class AuthServiceImpl implements AuthService {
     private final JavaMailSender mailSender;
     private final CaptchaUtils captchaUtils;
     private final UserAgentUtils userAgentUtils;
+    private final RateLimiter rateLimiter;
+    private final PasswordHasher passwordHasher;
+    private final UserRoleService userRoleService;
+    private final PermissionSnapshotCache permissionSnapshotCache;
     private final EmployeeMapper employeeMapper;
     private final DepartmentMapper departmentMapper;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final LoginAuditWriter loginAuditWriter;
+    private final TransactionTemplate transactionTemplate;
 
+    /**
+     * 查询、校验和密码哈希不在事务内执行，不占用数据库连接；只有登录成功后的写入在短事务内完成
+     */
     @Override
-    @Transactional
     public LoginResponse login(LoginRequest request, String ip, String userAgent) {
         // 1. Parameter validation
         if (request.getUsername() == null || request.getUsername().trim().isEmpty()) {
@@ -57,6 +73,12 @@ public class AuthServiceImpl implements AuthService {
 
         // 2. User query
         AuthUser user = findUser(request.getUsername());
+
+        // Per-account rate limit, keyed on the user id so username, email and mobile share one bucket
+        String limitKey = user != null ? user.getId() : request.getUsername().trim().toLowerCase(Locale.ROOT);
+        if (!rateLimiter.tryAcquireByAccount("login", limitKey)) {
+            throw new BusinessException("登录尝试过于频繁，请稍后再试");
+        }
         if (user == null) {
             throw new AuthenticationException("用户名或密码错误");
         }
@@ -74,28 +96,37 @@ public class AuthServiceImpl implements AuthService {
             }
         }
 
+        // Parse user agent once, shared by session and login log
+        DeviceInfo deviceInfo = userAgentUtils.parseUserAgent(userAgent);
+
         // 5. Password validation
-        if (!PasswordUtils.matches(request.getPassword(), user.getPassword())) {
-            handleFailedLogin(user, ip, userAgent);
+        if (!passwordHasher.matches(request.getPassword(), user.getPassword())) {
+            handleFailedLogin(user, ip, deviceInfo);
             throw new AuthenticationException("用户名或密码错误");
         }
 
-        // 6. Success handling
-        handleSuccessfulLogin(user, ip);
+        // 6. Rehash before opening the write transaction
+        String rehashedPassword = passwordHasher.needsRehash(user.getPassword())
+                ? passwordHasher.encode(request.getPassword())
+                : null;
 
         // 7. Generate tokens
         String accessToken = jwtUtils.generateToken(user.getId(), user.getUsername());
         String refreshToken = jwtUtils.generateRefreshToken(user.getId());
 
-        // 8. Create session
-        AuthUserSession session = createSession(user, accessToken, refreshToken, ip, userAgent);
-        authUserSessionMapper.insert(session);
+        // 8. Success handling and session creation in one short transaction
+        AuthUserSession session = createSession(user, accessToken, refreshToken, ip, userAgent, deviceInfo);
+        transactionTemplate.executeWithoutResult(status -> {
+            handleSuccessfulLogin(user, ip);
+            updateRehashedPassword(user, rehashedPassword);
+            authUserSessionMapper.insert(session);
+        });
 
         // 9. Build user info
         UserInfoVO userInfo = buildUserInfo(user);
 
-        // 10. Log success
-        saveLoginLog(user, ip, userAgent, "success", null);
+        // 10. Log success (written in background)
+        loginAuditWriter.recordLogin(user, ip, deviceInfo, "success", null);
 
         return LoginResponse.builder()
                 .accessToken(accessToken)
@@ -122,6 +153,9 @@ public class AuthServiceImpl implements AuthService {
                 // Use logical delete (sets is_deleted to 1)
                 authUserSessionMapper.deleteById(session.getId());
             }
+
+            // Reject the access token immediately instead of waiting for it to expire
+            tokenRevocationRegistry.revokeToken(accessToken);
         }
     }
 
@@ -160,11 +194,16 @@ public class AuthServiceImpl implements AuthService {
         String newAccessToken = jwtUtils.generateToken(user.getId(), user.getUsername());
         String newRefreshToken = jwtUtils.generateRefreshToken(user.getId());
 
-        // Update session
+        // Rotate session: retire the old row so every instance picks up the old access token as revoked
+        String oldAccessToken = session.getAccessToken();
+        authUserSessionMapper.deleteById(session.getId());
+        session.setId(null);
+        session.setIsDeleted(null);
         session.setAccessToken(newAccessToken);
         session.setRefreshToken(newRefreshToken);
         session.setExpiresAt(LocalDateTime.now().plus(Duration.ofMillis(jwtUtils.getExpiration() * 1000)));
-        authUserSessionMapper.updateById(session);
+        authUserSessionMapper.insert(session);
+        TransactionUtils.afterCommit(() -> tokenRevocationRegistry.revokeToken(oldAccessToken));
 
         return new RefreshTokenResponse(newAccessToken, newRefreshToken, "Bearer", jwtUtils.getExpiration());
     }
@@ -188,7 +227,10 @@ public class AuthServiceImpl implements AuthService {
             throw new BusinessException("账号格式不正确");
         }
 
-        // Check frequency limit
+        // Check frequency limit: local limiter first, database as the cross-instance check
+        if (!rateLimiter.tryAcquireByAccount("send-code", account)) {
+            throw new BusinessException("发送过于频繁，请稍后再试");
+        }
         int recentCount = authVerificationCodeMapper.countRecentCodesByAccount(account, 1);
         if (recentCount > 0) {
             throw new BusinessException("发送过于频繁，请稍后再试");
@@ -257,7 +299,7 @@ public class AuthServiceImpl implements AuthService {
         // TODO: Check password history (auth_password_history table)
 
         // Update password
-        user.setPassword(PasswordUtils.encode(request.getNewPassword()));
+        user.setPassword(passwordHasher.encode(request.getNewPassword()));
         user.setPasswordChangedAt(LocalDateTime.now());
         user.setLoginAttempts(0);
         user.setStatus("active");
@@ -274,8 +316,10 @@ public class AuthServiceImpl implements AuthService {
         log.info("Password reset successfully for user: {}", user.getUsername());
     }
 
+    /**
+     * 密码校验和哈希不在事务内执行；新密码按旧哈希条件更新，单条语句即可保证原子性
+     */
     @Override
-    @Transactional
     public void changePassword(ChangePasswordRequest request) {
         if (!request.getNewPassword().equals(request.getConfirmPassword())) {
             throw new BusinessException("两次密码输入不一致");
@@ -295,7 +339,7 @@ public class AuthServiceImpl implements AuthService {
             throw new BusinessException("用户不存在");
         }
 
-        if (!PasswordUtils.matches(request.getOldPassword(), user.getPassword())) {
+        if (!passwordHasher.matches(request.getOldPassword(), user.getPassword())) {
             throw new BusinessException("旧密码错误");
         }
 
@@ -303,12 +347,18 @@ public class AuthServiceImpl implements AuthService {
             throw new BusinessException("密码强度不足，必须包含大小写字母和数字，且长度不少于8位");
         }
 
-        user.setPassword(PasswordUtils.encode(request.getNewPassword()));
-        user.setPasswordChangedAt(LocalDateTime.now());
-        user.setLoginAttempts(0);
-        user.setStatus("active");
-        user.setLockedUntil(null);
-        authUserMapper.updateById(user);
+        String newPassword = passwordHasher.encode(request.getNewPassword());
+        int updated = authUserMapper.update(null, new LambdaUpdateWrapper<AuthUser>()
+                .eq(AuthUser::getId, user.getId())
+                .eq(AuthUser::getPassword, user.getPassword())
+                .set(AuthUser::getPassword, newPassword)
+                .set(AuthUser::getPasswordChangedAt, LocalDateTime.now())
+                .set(AuthUser::getLoginAttempts, 0)
+                .set(AuthUser::getStatus, "active")
+                .set(AuthUser::getLockedUntil, null));
+        if (updated == 0) {
+            throw new BusinessException("密码已被修改，请重新操作");
+        }
 
         log.info("Password changed successfully for user: {}", user.getUsername());
     }
@@ -327,6 +377,7 @@ public class AuthServiceImpl implements AuthService {
         if (session != null) {
             // Since we don't have is_active and logout_time fields, we'll delete the session
             authUserSessionMapper.deleteById(sessionId);
+            tokenRevocationRegistry.revokeToken(session.getAccessToken());
         }
     }
 
@@ -372,7 +423,7 @@ public class AuthServiceImpl implements AuthService {
         }
     }
 
-    private void handleFailedLogin(AuthUser user, String ip, String userAgent) {
+    private void handleFailedLogin(AuthUser user, String ip, DeviceInfo deviceInfo) {
         int attempts = user.getLoginAttempts() == null ? 1 : user.getLoginAttempts() + 1;
         user.setLoginAttempts(attempts);
 
@@ -382,18 +433,41 @@ public class AuthServiceImpl implements AuthService {
         }
 
         authUserMapper.updateById(user);
-        saveLoginLog(user, ip, userAgent, "failed", "密码错误");
+        loginAuditWriter.recordLogin(user, ip, deviceInfo, "failed", "密码错误");
+    }
+
+    /**
+     * 存储的密码为明文或强度低于当前强度时，写入用本次登录的明文重新计算的哈希；密码已被修改时不覆盖
+     */
+    private void updateRehashedPassword(AuthUser user, String rehashedPassword) {
+        if (rehashedPassword == null) {
+            return;
+        }
+        authUserMapper.update(null, new LambdaUpdateWrapper<AuthUser>()
+                .eq(AuthUser::getId, user.getId())
+                .eq(AuthUser::getPassword, user.getPassword())
+                .set(AuthUser::getPassword, rehashedPassword));
     }
 
     private void handleSuccessfulLogin(AuthUser user, String ip) {
+        // Reset failure state synchronously only when there is something to reset
+        if ((user.getLoginAttempts() != null && user.getLoginAttempts() > 0) || user.getLockedUntil() != null) {
+            authUserMapper.update(null, new LambdaUpdateWrapper<AuthUser>()
+                    .eq(AuthUser::getId, user.getId())
+                    .set(AuthUser::getLoginAttempts, 0)
+                    .set(AuthUser::getLockedUntil, null));
+        }
         user.setLoginAttempts(0);
         user.setLockedUntil(null);
         user.setLastLoginTime(LocalDateTime.now());
         user.setLastLoginIp(ip);
-        authUserMapper.updateById(user);
+
+        // Last login time/IP are coalesced per user and written in background
+        loginAuditWriter.recordLastLogin(user.getId(), user.getLastLoginTime(), ip);
     }
 
-    private AuthUserSession createSession(AuthUser user, String accessToken, String refreshToken, String ip, String userAgent) {
+    private AuthUserSession createSession(AuthUser user, String accessToken, String refreshToken, String ip,
+                                          String userAgent, DeviceInfo deviceInfo) {
         AuthUserSession session = new AuthUserSession();
         session.setUserId(user.getId());
         session.setAccessToken(accessToken);
@@ -402,8 +476,6 @@ public class AuthServiceImpl implements AuthService {
         session.setIpAddress(ip);
         session.setCreatedAt(LocalDateTime.now());
 
-        // Parse user agent
-        DeviceInfo deviceInfo = userAgentUtils.parseUserAgent(userAgent);
         session.setDeviceType(deviceInfo.getDeviceType());
         session.setDeviceName(deviceInfo.getDeviceType() + " " + deviceInfo.getOs());
         session.setUserAgent(userAgent);
@@ -449,29 +521,17 @@ public class AuthServiceImpl implements AuthService {
             userInfo.setPosition("");
         }
         
-        // TODO: 获取角色和权限信息
-        userInfo.setRoles(java.util.List.of());
-        userInfo.setPermissions(java.util.List.of());
+        userInfo.setRoles(userRoleService.getUserRoles(user.getId()).stream().map(role -> {
+            RoleVO roleVO = new RoleVO();
+            roleVO.setId(role.getId());
+            roleVO.setName(role.getName());
+            roleVO.setCode(role.getCode());
+            return roleVO;
+        }).collect(Collectors.toList()));
+        userInfo.setPermissions(permissionSnapshotCache.getPermissionCodes(user.getId()));
         return userInfo;
     }
 
-    private void saveLoginLog(AuthUser user, String ip, String userAgent, String status, String failureReason) {
-        AuthLoginLog log = new AuthLoginLog();
-        log.setUserId(user.getId());
-        log.setUsername(user.getUsername());
-        log.setLoginIp(ip);
-        log.setLocation("Unknown"); // TODO: Implement IP location lookup
-        log.setCreatedAt(LocalDateTime.now());
-
-        // Parse user agent for device info
-        DeviceInfo deviceInfo = userAgentUtils.parseUserAgent(userAgent);
-        log.setDeviceInfo(deviceInfo.getDeviceType());
-
-        log.setStatus(status);
-        log.setFailureReason(failureReason);
-        authLoginLogMapper.insert(log);
-    }
-
     private LoginLogVO convertToLoginLogVO(AuthLoginLog log) {
         LoginLogVO vo = new LoginLogVO();
         vo.setId(log.getId());
@@ -0,0 +1,242 @@
+package com.example.oa_system_backend.module.auth.task;
+
+import com.example.oa_system_backend.common.utils.DeviceInfo;
+import com.example.oa_system_backend.module.auth.entity.AuthLoginLog;
+import com.example.oa_system_backend.module.auth.entity.AuthUser;
+import com.example.oa_system_backend.module.auth.mapper.AuthLoginLogMapper;
+import com.example.oa_system_backend.module.auth.mapper.AuthUserMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 登录审计后台写入
+ * 登录日志进入有界队列，由后台线程批量写入 auth_login_log；最近登录时间和IP按用户合并，每轮只写最新一次。
+ * 队列满时直接丢弃并计数，登录请求不会因审计写入而阻塞。应用关闭时写完队列中剩余的记录。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoginAuditWriter {
+
+    private static final int QUEUE_CAPACITY = 10_000;
+
+    /**
+     * 每条 INSERT 最多写入的日志数
+     */
+    private static final int BATCH_SIZE = 500;
+
+    private static final long POLL_TIMEOUT_MS = 1_000;
+
+    private static final long SHUTDOWN_TIMEOUT_MS = 5_000;
+
+    private final AuthLoginLogMapper authLoginLogMapper;
+    private final AuthUserMapper authUserMapper;
+
+    private final BlockingQueue<LoginEvent> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    /**
+     * 用户ID -> 待写入的最近登录信息，同一用户只保留最新一次
+     */
+    private final Map<String, AuthUser> pendingLastLogins = new ConcurrentHashMap<>();
+
+    private final AtomicLong enqueuedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private long lastReportedDropped;
+    private long lastReportedFailed;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::runLoop, "login-audit-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * 停止后台线程并写完剩余记录
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        try {
+            worker.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<LoginEvent> remaining = new ArrayList<>();
+        while (queue.drainTo(remaining, BATCH_SIZE) > 0) {
+            writeLogs(remaining);
+            remaining.clear();
+        }
+        writeLastLogins();
+        log.info("登录审计写入已停止, {}", getStats());
+    }
+
+    /**
+     * 记录一次登录尝试，队列满时丢弃
+     */
+    public void recordLogin(AuthUser user, String ip, DeviceInfo deviceInfo, String status, String failureReason) {
+        LoginEvent event = new LoginEvent(user.getId(), user.getUsername(), ip, deviceInfo.getDeviceType(),
+                status, failureReason, LocalDateTime.now());
+        if (queue.offer(event)) {
+            enqueuedCount.incrementAndGet();
+        } else if (droppedCount.incrementAndGet() % 1000 == 1) {
+            log.warn("登录审计队列已满, 累计丢弃 {} 条", droppedCount.get());
+        }
+    }
+
+    /**
+     * 记录最近登录时间和IP，与同一用户尚未写入的记录合并
+     */
+    public void recordLastLogin(String userId, LocalDateTime loginTime, String ip) {
+        AuthUser update = new AuthUser();
+        update.setId(userId);
+        update.setLastLoginTime(loginTime);
+        update.setLastLoginIp(ip);
+        pendingLastLogins.merge(userId, update,
+                (existing, latest) -> latest.getLastLoginTime().isBefore(existing.getLastLoginTime()) ? existing : latest);
+    }
+
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("queued", (long) queue.size());
+        stats.put("enqueued", enqueuedCount.get());
+        stats.put("dropped", droppedCount.get());
+        stats.put("written", writtenCount.get());
+        stats.put("failed", failedCount.get());
+        stats.put("pendingLastLogins", (long) pendingLastLogins.size());
+        return stats;
+    }
+
+    /**
+     * 每分钟检查一次，有丢弃或写入失败时输出告警
+     */
+    @Scheduled(fixedDelay = 60_000, initialDelay = 60_000)
+    public void reportStats() {
+        long dropped = droppedCount.get();
+        long failed = failedCount.get();
+        if (dropped > lastReportedDropped || failed > lastReportedFailed) {
+            log.warn("登录审计存在丢弃或写入失败: {}", getStats());
+        } else {
+            log.debug("登录审计写入统计: {}", getStats());
+        }
+        lastReportedDropped = dropped;
+        lastReportedFailed = failed;
+    }
+
+    private void runLoop() {
+        List<LoginEvent> batch = new ArrayList<>(BATCH_SIZE);
+        while (running) {
+            try {
+                LoginEvent first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, BATCH_SIZE - 1);
+                    writeLogs(batch);
+                    batch.clear();
+                }
+                writeLastLogins();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("登录审计写入异常", e);
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeLogs(List<LoginEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<AuthLoginLog> logs = new ArrayList<>(events.size());
+        for (LoginEvent event : events) {
+            logs.add(event.toLoginLog());
+        }
+        try {
+            authLoginLogMapper.insertBatch(logs);
+            writtenCount.addAndGet(logs.size());
+        } catch (Exception e) {
+            failedCount.addAndGet(logs.size());
+            log.error("批量写入登录日志失败, 条数: {}", logs.size(), e);
+        }
+    }
+
+    private void writeLastLogins() {
+        if (pendingLastLogins.isEmpty()) {
+            return;
+        }
+        List<AuthUser> updates = new ArrayList<>();
+        for (String userId : pendingLastLogins.keySet()) {
+            AuthUser update = pendingLastLogins.remove(userId);
+            if (update != null) {
+                updates.add(update);
+            }
+        }
+        for (int from = 0; from < updates.size(); from += BATCH_SIZE) {
+            List<AuthUser> chunk = updates.subList(from, Math.min(from + BATCH_SIZE, updates.size()));
+            try {
+                authUserMapper.batchUpdateLastLogin(chunk);
+            } catch (Exception e) {
+                log.error("批量更新最近登录信息失败, 用户数: {}", chunk.size(), e);
+            }
+        }
+    }
+
+    private static final class LoginEvent {
+
+        private final String userId;
+        private final String username;
+        private final String ip;
+        private final String deviceType;
+        private final String status;
+        private final String failureReason;
+        private final LocalDateTime loginTime;
+
+        LoginEvent(String userId, String username, String ip, String deviceType,
+                   String status, String failureReason, LocalDateTime loginTime) {
+            this.userId = userId;
+            this.username = username;
+            this.ip = ip;
+            this.deviceType = deviceType;
+            this.status = status;
+            this.failureReason = failureReason;
+            this.loginTime = loginTime;
+        }
+
+        AuthLoginLog toLoginLog() {
+            AuthLoginLog log = new AuthLoginLog();
+            log.setUserId(userId);
+            log.setUsername(username);
+            log.setLoginIp(ip);
+            log.setLocation("Unknown"); // TODO: Implement IP location lookup
+            log.setCreatedAt(loginTime);
+            log.setDeviceInfo(deviceType);
+
+            log.setStatus(status);
+            log.setFailureReason(failureReason);
+            return log;
+        }
+    }
+}
@@ -71,6 +71,36 @@ public class DepartmentController {
         return ApiResponse.success(children);
     }
 
+    /**
+     * 获取部门子树
+     * GET /api/departments/{id}/subtree
+     */
+    @GetMapping("/{id}/subtree")
+    public ApiResponse<DepartmentVO> getDepartmentSubtree(@PathVariable String id) {
+        DepartmentVO subtree = departmentService.getDepartmentSubtree(id);
+        return ApiResponse.success(subtree);
+    }
+
+    /**
+     * 获取从根部门到该部门的路径
+     * GET /api/departments/{id}/path
+     */
+    @GetMapping("/{id}/path")
+    public ApiResponse<List<DepartmentVO>> getDepartmentPath(@PathVariable String id) {
+        List<DepartmentVO> path = departmentService.getDepartmentPath(id);
+        return ApiResponse.success(path);
+    }
+
+    /**
+     * 获取全部子孙部门ID
+     * GET /api/departments/{id}/descendant-ids
+     */
+    @GetMapping("/{id}/descendant-ids")
+    public ApiResponse<List<String>> getDescendantIds(@PathVariable String id) {
+        List<String> descendantIds = departmentService.getDescendantIds(id);
+        return ApiResponse.success(descendantIds);
+    }
+
     /**
      * 获取部门详情
      * GET /api/departments/{id}
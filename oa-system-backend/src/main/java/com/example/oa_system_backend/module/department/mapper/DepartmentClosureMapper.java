@@ -0,0 +1,39 @@
+package com.example.oa_system_backend.module.department.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * 部门闭包表Mapper接口
+ * 表: sys_department_closure，每对 祖先 -> 子孙 一行（含自身，深度为0）
+ */
+@Mapper
+public interface DepartmentClosureMapper {
+
+    /**
+     * 新部门：继承父部门的全部祖先链接并加入自身链接，parentId 为空时只有自身链接
+     */
+    int insertNode(@Param("id") String id, @Param("parentId") String parentId);
+
+    /**
+     * 移动前：断开子树（含自身）与原祖先之间的链接，子树内部链接保持不变
+     */
+    int detachSubtree(@Param("id") String id);
+
+    /**
+     * 移动后：把子树（含自身）挂到新父部门的全部祖先下
+     */
+    int attachSubtree(@Param("id") String id, @Param("parentId") String parentId);
+
+    /**
+     * 删除部门（叶子节点）的全部链接
+     */
+    int deleteNode(@Param("id") String id);
+
+    /**
+     * 按闭包深度更新子树（含自身）的部门层级
+     *
+     * @param level 子树根部门的新层级
+     */
+    int updateSubtreeLevel(@Param("id") String id, @Param("level") int level);
+}
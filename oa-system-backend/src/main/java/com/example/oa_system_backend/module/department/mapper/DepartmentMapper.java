@@ -11,6 +11,7 @@ import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -116,19 +117,27 @@ public interface DepartmentMapper extends BaseMapper<Department> {
     Department selectDepartmentDetail(@Param("id") String id);
 
     /**
-     * 查询所有子孙部门ID
+     * 按ID查询部门树节点(字段与部门树一致)，用于增量刷新部门树快照
      */
-    @Select("WITH RECURSIVE dept_tree AS (" +
-            "  SELECT id, parent_id " +
-            "  FROM sys_department " +
-            "  WHERE id = #{id} AND is_deleted = 0 " +
-            "  UNION ALL " +
-            "  SELECT d.id, d.parent_id " +
-            "  FROM sys_department d " +
-            "  INNER JOIN dept_tree dt ON d.parent_id = dt.id " +
-            "  WHERE d.is_deleted = 0 " +
-            ") " +
-            "SELECT id FROM dept_tree WHERE id != #{id}")
+    @Select("<script>" +
+            "SELECT " +
+            "  d.*, " +
+            "  (SELECT name FROM sys_employee WHERE id = d.leader_id) AS leader_name, " +
+            "  (SELECT COUNT(*) FROM sys_employee WHERE department_id = d.id AND is_deleted = 0) AS employee_count " +
+            "FROM sys_department d " +
+            "WHERE d.is_deleted = 0 " +
+            "AND d.id IN " +
+            "<foreach collection='ids' item='id' open='(' separator=',' close=')'>#{id}</foreach>" +
+            "</script>")
+    List<DepartmentVO> selectDepartmentNodes(@Param("ids") Collection<String> ids);
+
+    /**
+     * 查询所有子孙部门ID(闭包表)
+     */
+    @Select("SELECT c.descendant_id " +
+            "FROM sys_department_closure c " +
+            "INNER JOIN sys_department d ON d.id = c.descendant_id AND d.is_deleted = 0 " +
+            "WHERE c.ancestor_id = #{id} AND c.depth > 0")
     List<String> selectDescendantIds(@Param("id") String id);
 
     /**
@@ -45,6 +45,30 @@ public interface DepartmentService {
      */
     List<DepartmentVO> getChildDepartments(String parentId);
 
+    /**
+     * 获取以指定部门为根的子树
+     *
+     * @param id 部门ID
+     * @return 部门子树
+     */
+    DepartmentVO getDepartmentSubtree(String id);
+
+    /**
+     * 获取从根部门到指定部门的路径
+     *
+     * @param id 部门ID
+     * @return 部门路径（含自身）
+     */
+    List<DepartmentVO> getDepartmentPath(String id);
+
+    /**
+     * 获取全部子孙部门ID
+     *
+     * @param id 部门ID
+     * @return 子孙部门ID列表（不含自身）
+     */
+    List<String> getDescendantIds(String id);
+
     /**
      * 获取部门详情
      *
@@ -6,14 +6,18 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.example.oa_system_backend.common.exception.BusinessException;
 import com.example.oa_system_backend.module.department.dto.*;
 import com.example.oa_system_backend.module.department.entity.Department;
+import com.example.oa_system_backend.module.department.mapper.DepartmentClosureMapper;
 import com.example.oa_system_backend.module.department.mapper.DepartmentMapper;
 import com.example.oa_system_backend.module.department.service.DepartmentService;
+import com.example.oa_system_backend.module.department.util.DepartmentTreeSnapshot;
+import com.example.oa_system_backend.module.employee.util.OrgRoutingIndex;
 import com.example.oa_system_backend.module.department.vo.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -35,6 +39,9 @@ import java.util.stream.Collectors;
 public class DepartmentServiceImpl implements DepartmentService {
 
     private final DepartmentMapper departmentMapper;
+    private final DepartmentClosureMapper departmentClosureMapper;
+    private final DepartmentTreeSnapshot departmentTreeSnapshot;
+    private final OrgRoutingIndex orgRoutingIndex;
 
     @Override
     public IPage<DepartmentVO> getDepartmentList(DepartmentQueryRequest request) {
@@ -48,27 +55,41 @@ public class DepartmentServiceImpl implements DepartmentService {
     }
 
     @Override
-    @Cacheable(value = "department:list", key = "'tree'")
     public List<DepartmentVO> getDepartmentTree() {
-        log.info("获取部门树形结构");
-        List<DepartmentVO> allDepartments = departmentMapper.selectDepartmentTree(null);
-
-        // 构建树形结构
-        return buildTree(allDepartments, null);
+        return departmentTreeSnapshot.getTree();
     }
 
     @Override
-    @Cacheable(value = "department:list", key = "'roots'")
     public List<DepartmentVO> getRootDepartments() {
-        log.info("获取根部门列表");
-        return departmentMapper.selectRootDepartments(null);
+        return departmentTreeSnapshot.getRoots();
     }
 
     @Override
-    @Cacheable(value = "department:children", key = "#parentId")
     public List<DepartmentVO> getChildDepartments(String parentId) {
-        log.info("获取子部门列表, parentId={}", parentId);
-        return departmentMapper.selectChildDepartments(parentId, null);
+        return departmentTreeSnapshot.getChildren(parentId);
+    }
+
+    @Override
+    public DepartmentVO getDepartmentSubtree(String id) {
+        DepartmentVO subtree = departmentTreeSnapshot.getSubtree(id);
+        if (subtree == null) {
+            throw new BusinessException("部门不存在");
+        }
+        return subtree;
+    }
+
+    @Override
+    public List<DepartmentVO> getDepartmentPath(String id) {
+        List<DepartmentVO> path = departmentTreeSnapshot.getAncestorPath(id);
+        if (path.isEmpty()) {
+            throw new BusinessException("部门不存在");
+        }
+        return path;
+    }
+
+    @Override
+    public List<String> getDescendantIds(String id) {
+        return departmentTreeSnapshot.getDescendantIds(id);
     }
 
     @Override
@@ -88,7 +109,10 @@ public class DepartmentServiceImpl implements DepartmentService {
 
     @Override
     @Transactional
-    @CacheEvict(value = {"department:list", "department:detail", "department:children", "department:statistics"}, allEntries = true)
+    @Caching(evict = {
+            @CacheEvict(value = "department:detail", key = "#request.parentId", condition = "#request.parentId != null"),
+            @CacheEvict(value = "department:statistics", allEntries = true)
+    })
     public Department createDepartment(DepartmentCreateRequest request) {
         log.info("创建部门, name={}", request.getName());
 
@@ -128,13 +152,16 @@ public class DepartmentServiceImpl implements DepartmentService {
         department.setCreatedAt(LocalDateTime.now());
         department.setUpdatedAt(LocalDateTime.now());
 
-        // 7. 保存到数据库
+        // 7. 保存到数据库，并写入闭包表
         departmentMapper.insert(department);
+        departmentClosureMapper.insertNode(departmentId, department.getParentId());
 
         // 8. 更新父部门的子部门数量
         if (department.getParentId() != null) {
             updateChildCount(department.getParentId());
         }
+        departmentTreeSnapshot.refreshAfterCommit(List.of(departmentId));
+        orgRoutingIndex.refreshDepartmentsAfterCommit();
 
         log.info("部门创建成功, id={}, name={}", department.getId(), department.getName());
         return department;
@@ -142,7 +169,12 @@ public class DepartmentServiceImpl implements DepartmentService {
 
     @Override
     @Transactional
-    @CacheEvict(value = {"department:list", "department:detail", "department:children", "department:statistics"}, allEntries = true)
+    @Caching(evict = {
+            @CacheEvict(value = "department:detail", key = "#id"),
+            // 名称变更会影响子部门详情中的上级部门名称
+            @CacheEvict(value = "department:detail", allEntries = true, condition = "#request.name != null"),
+            @CacheEvict(value = "department:statistics", allEntries = true)
+    })
     public Department updateDepartment(String id, DepartmentUpdateRequest request) {
         log.info("更新部门信息, id={}", id);
 
@@ -192,6 +224,8 @@ public class DepartmentServiceImpl implements DepartmentService {
         if (rows == 0) {
             throw new BusinessException("部门信息已被其他用户修改，请刷新后重试");
         }
+        departmentTreeSnapshot.refreshAfterCommit(List.of(id));
+        orgRoutingIndex.refreshDepartmentsAfterCommit();
 
         log.info("部门信息更新成功, id={}", id);
         return department;
@@ -199,7 +233,7 @@ public class DepartmentServiceImpl implements DepartmentService {
 
     @Override
     @Transactional
-    @CacheEvict(value = {"department:list", "department:detail", "department:children", "department:statistics"}, allEntries = true)
+    @CacheEvict(value = {"department:detail", "department:statistics"}, allEntries = true)
     public void moveDepartment(String id, DepartmentMoveRequest request) {
         log.info("移动部门, id={}, newParentId={}", id, request.getNewParentId());
 
@@ -209,9 +243,9 @@ public class DepartmentServiceImpl implements DepartmentService {
             throw new BusinessException("部门不存在");
         }
 
-        // 2. 不能移动到自己的子孙节点下
+        // 2. 不能移动到自己或自己的子孙节点下
         List<String> descendantIds = departmentMapper.selectDescendantIds(id);
-        if (descendantIds.contains(request.getNewParentId())) {
+        if (id.equals(request.getNewParentId()) || descendantIds.contains(request.getNewParentId())) {
             throw new BusinessException("不能将部门移动到其子部门下");
         }
 
@@ -239,41 +273,53 @@ public class DepartmentServiceImpl implements DepartmentService {
             throw new BusinessException("部门信息已被其他用户修改，请刷新后重试");
         }
 
-        // 7. 更新旧父部门的子部门数量
+        // 7. 闭包表中把子树整体挂到新父部门下，并同步子孙部门的层级
+        departmentClosureMapper.detachSubtree(id);
+        departmentClosureMapper.attachSubtree(id, request.getNewParentId());
+        departmentClosureMapper.updateSubtreeLevel(id, department.getLevel());
+
+        // 8. 更新旧父部门的子部门数量
         if (oldParentId != null) {
             updateChildCount(oldParentId);
         }
 
-        // 8. 更新新父部门的子部门数量
+        // 9. 更新新父部门的子部门数量
         updateChildCount(request.getNewParentId());
 
+        List<String> subtreeIds = new ArrayList<>(descendantIds);
+        subtreeIds.add(id);
+        departmentTreeSnapshot.refreshAfterCommit(subtreeIds);
+
         log.info("部门移动成功, id={}", id);
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = {"department:list", "department:detail", "department:children", "department:statistics"}, allEntries = true)
+    @CacheEvict(value = {"department:detail", "department:statistics"}, allEntries = true)
     public void deleteDepartment(String id) {
         log.info("删除部门, id={}", id);
 
         // 1. 验证是否可以删除
         validateDelete(id);
 
-        // 2. 逻辑删除
+        // 2. 逻辑删除（删除前取出父部门ID），并移除闭包表链接
+        Department department = departmentMapper.selectById(id);
         departmentMapper.deleteById(id);
+        departmentClosureMapper.deleteNode(id);
 
         // 3. 更新父部门的子部门数量
-        Department department = departmentMapper.selectById(id);
         if (department != null && department.getParentId() != null) {
             updateChildCount(department.getParentId());
         }
+        departmentTreeSnapshot.refreshAfterCommit(List.of(id));
+        orgRoutingIndex.refreshDepartmentsAfterCommit();
 
         log.info("部门删除成功, id={}", id);
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = {"department:list", "department:detail", "department:children", "department:statistics"}, allEntries = true)
+    @CacheEvict(value = {"department:detail", "department:statistics"}, allEntries = true)
     public BatchResultVO batchDeleteDepartments(List<String> ids) {
         log.info("批量删除部门, ids={}", ids);
 
@@ -379,28 +425,6 @@ public class DepartmentServiceImpl implements DepartmentService {
         }
     }
 
-    /**
-     * 构建部门树
-     *
-     * @param departments 所有部门列表
-     * @param parentId 父部门ID
-     * @return 树形结构
-     */
-    private List<DepartmentVO> buildTree(List<DepartmentVO> departments, String parentId) {
-        return departments.stream()
-                .filter(dept -> {
-                    if (parentId == null) {
-                        return dept.getParentId() == null || dept.getParentId().isEmpty();
-                    }
-                    return parentId.equals(dept.getParentId());
-                })
-                .peek(dept -> {
-                    List<DepartmentVO> children = buildTree(departments, dept.getId());
-                    dept.setChildren(children);
-                })
-                .collect(Collectors.toList());
-    }
-
     @Override
     public void exportDepartments(jakarta.servlet.http.HttpServletResponse response) throws IOException {
         log.info("导出部门列表");
@@ -0,0 +1,299 @@
+package com.example.oa_system_backend.module.department.util;
+
+import com.example.oa_system_backend.common.utils.ReloadableSnapshot;
+import com.example.oa_system_backend.common.utils.TransactionUtils;
+import com.example.oa_system_backend.module.department.mapper.DepartmentMapper;
+import com.example.oa_system_backend.module.department.vo.DepartmentVO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 部门树快照
+ * 一次查询加载全部部门，按 父部门 -> 子部门 建立索引后 O(n) 组装部门树；子树、祖先路径、子孙ID查询只读快照，不访问数据库。
+ * 部门变更在事务提交后只重新查询变更的部门，写时复制生成新快照：只重建变更部门及其祖先路径上的节点，其余子树与旧快照共用。
+ * 员工数量随定时重载更新。快照中的节点构建后不再修改，调用方不要修改返回的树节点。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DepartmentTreeSnapshot extends ReloadableSnapshot {
+
+    /**
+     * 根部门在子部门索引中的父部门键
+     */
+    private static final String ROOT = "";
+
+    private final DepartmentMapper departmentMapper;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    @Override
+    public synchronized void reload() {
+        List<DepartmentVO> departments = departmentMapper.selectDepartmentTree(null);
+        Map<String, DepartmentVO> rows = new HashMap<>(departments.size() * 2);
+        Map<String, List<String>> childIds = new HashMap<>();
+        for (DepartmentVO department : departments) {
+            department.setChildren(null);
+            rows.put(department.getId(), department);
+            childIds.computeIfAbsent(parentKey(department), k -> new ArrayList<>()).add(department.getId());
+        }
+        Comparator<String> siblingOrder = siblingOrder(rows);
+        childIds.values().forEach(ids -> ids.sort(siblingOrder));
+
+        Map<String, DepartmentVO> nodes = new HashMap<>(rows.size() * 2);
+        TreeBuilder builder = new TreeBuilder(rows, childIds, nodes, new HashSet<>(rows.keySet()));
+        rows.keySet().forEach(builder::node);
+
+        snapshot = new Snapshot(snapshot.version + 1, rows, childIds, nodes);
+        log.info("部门树加载完成, 版本: {}, 部门数: {}", snapshot.version, rows.size());
+    }
+
+    @Override
+    protected String name() {
+        return "部门树";
+    }
+
+    /**
+     * 部门新增、修改、移动、删除：事务提交后只刷新这些部门，无事务时立即刷新
+     * 已删除的部门查询不到，从快照中移除
+     */
+    public void refreshAfterCommit(Collection<String> ids) {
+        List<String> changed = List.copyOf(ids);
+        TransactionUtils.afterCommit(() -> refresh(changed));
+    }
+
+    /**
+     * 完整部门树
+     */
+    public List<DepartmentVO> getTree() {
+        return snapshot.roots;
+    }
+
+    /**
+     * 以指定部门为根的子树，部门不存在时返回 null
+     */
+    public DepartmentVO getSubtree(String id) {
+        return snapshot.nodes.get(id);
+    }
+
+    /**
+     * 根部门列表（不含子部门）
+     */
+    public List<DepartmentVO> getRoots() {
+        return getChildren(ROOT);
+    }
+
+    /**
+     * 直接子部门列表（不含下级子部门）
+     */
+    public List<DepartmentVO> getChildren(String parentId) {
+        Snapshot current = snapshot;
+        List<DepartmentVO> children = new ArrayList<>();
+        for (String childId : current.childIds.getOrDefault(parentId, List.of())) {
+            children.add(copy(current.rows.get(childId)));
+        }
+        return children;
+    }
+
+    /**
+     * 全部子孙部门ID（不含自身），按层级由近到远
+     */
+    public List<String> getDescendantIds(String id) {
+        Snapshot current = snapshot;
+        List<String> descendants = new ArrayList<>();
+        Deque<String> pending = new ArrayDeque<>(current.childIds.getOrDefault(id, List.of()));
+        while (!pending.isEmpty() && descendants.size() < current.rows.size()) {
+            String descendantId = pending.poll();
+            descendants.add(descendantId);
+            pending.addAll(current.childIds.getOrDefault(descendantId, List.of()));
+        }
+        return descendants;
+    }
+
+    /**
+     * 从根部门到指定部门的路径（含自身，不含子部门），部门不存在时返回空列表
+     */
+    public List<DepartmentVO> getAncestorPath(String id) {
+        Snapshot current = snapshot;
+        List<DepartmentVO> path = new ArrayList<>();
+        DepartmentVO department = current.rows.get(id);
+        while (department != null && path.size() < current.rows.size()) {
+            path.add(copy(department));
+            department = department.getParentId() != null ? current.rows.get(department.getParentId()) : null;
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    public long getVersion() {
+        return snapshot.version;
+    }
+
+    private synchronized void refresh(List<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Snapshot current = snapshot;
+        Map<String, DepartmentVO> loaded = new HashMap<>();
+        for (DepartmentVO department : departmentMapper.selectDepartmentNodes(ids)) {
+            department.setChildren(null);
+            loaded.put(department.getId(), department);
+        }
+
+        Map<String, DepartmentVO> rows = new HashMap<>(current.rows);
+        Map<String, List<String>> childIds = new HashMap<>(current.childIds);
+        Set<String> copiedLists = new HashSet<>();
+        Set<String> changedParents = new HashSet<>();
+        // 先从原父部门摘下，再挂到新父部门，避免同一批中父子顺序影响结果
+        for (String id : ids) {
+            DepartmentVO old = rows.remove(id);
+            if (old != null) {
+                String parent = parentKey(old);
+                mutableChildIds(childIds, copiedLists, parent).remove(id);
+                changedParents.add(parent);
+            }
+        }
+        for (String id : ids) {
+            DepartmentVO department = loaded.get(id);
+            if (department != null) {
+                rows.put(id, department);
+                String parent = parentKey(department);
+                mutableChildIds(childIds, copiedLists, parent).add(id);
+                changedParents.add(parent);
+            }
+        }
+        Comparator<String> siblingOrder = siblingOrder(rows);
+        for (String parent : changedParents) {
+            List<String> siblings = childIds.get(parent);
+            if (siblings.isEmpty()) {
+                childIds.remove(parent);
+            } else {
+                siblings.sort(siblingOrder);
+            }
+        }
+
+        // 变更部门、子部门列表变化的父部门以及它们的全部祖先需要重建，其余节点直接复用
+        Set<String> stale = new LinkedHashSet<>();
+        List<String> seeds = new ArrayList<>(ids);
+        seeds.addAll(changedParents);
+        for (String seed : seeds) {
+            String id = seed;
+            while (rows.containsKey(id) && stale.add(id)) {
+                id = parentKey(rows.get(id));
+            }
+        }
+
+        Map<String, DepartmentVO> nodes = new HashMap<>(current.nodes);
+        nodes.keySet().removeIf(id -> !rows.containsKey(id));
+        TreeBuilder builder = new TreeBuilder(rows, childIds, nodes, new HashSet<>(stale));
+        stale.forEach(builder::node);
+
+        snapshot = new Snapshot(current.version + 1, rows, childIds, nodes);
+        log.info("部门树增量刷新: 部门数: {}, 重建节点数: {}, 版本: {}", ids.size(), stale.size(), snapshot.version);
+    }
+
+    private static List<String> mutableChildIds(Map<String, List<String>> childIds, Set<String> copiedLists,
+                                                String parent) {
+        if (copiedLists.add(parent)) {
+            childIds.put(parent, new ArrayList<>(childIds.getOrDefault(parent, List.of())));
+        }
+        return childIds.get(parent);
+    }
+
+    private static String parentKey(DepartmentVO department) {
+        String parentId = department.getParentId();
+        return parentId == null || parentId.isEmpty() ? ROOT : parentId;
+    }
+
+    private static Comparator<String> siblingOrder(Map<String, DepartmentVO> rows) {
+        return Comparator.<String, Integer>comparing(id -> rows.get(id).getSort(),
+                        Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(Comparator.naturalOrder());
+    }
+
+    private static DepartmentVO copy(DepartmentVO department) {
+        DepartmentVO copy = new DepartmentVO();
+        BeanUtils.copyProperties(department, copy, "children");
+        return copy;
+    }
+
+    /**
+     * 组装树节点：stale 中的节点按当前索引重建，其余节点复用 nodes 中已有的
+     */
+    private static final class TreeBuilder {
+
+        private final Map<String, DepartmentVO> rows;
+        private final Map<String, List<String>> childIds;
+        private final Map<String, DepartmentVO> nodes;
+        private final Set<String> stale;
+        private final Set<String> visiting = new HashSet<>();
+
+        TreeBuilder(Map<String, DepartmentVO> rows, Map<String, List<String>> childIds,
+                    Map<String, DepartmentVO> nodes, Set<String> stale) {
+            this.rows = rows;
+            this.childIds = childIds;
+            this.nodes = nodes;
+            this.stale = stale;
+        }
+
+        DepartmentVO node(String id) {
+            DepartmentVO node = nodes.get(id);
+            // 数据异常形成环时 visiting 防止无限递归
+            if (!stale.contains(id) || !visiting.add(id)) {
+                return node;
+            }
+            List<DepartmentVO> children = new ArrayList<>();
+            for (String childId : childIds.getOrDefault(id, List.of())) {
+                DepartmentVO child = node(childId);
+                if (child != null) {
+                    children.add(child);
+                }
+            }
+            node = copy(rows.get(id));
+            node.setChildren(Collections.unmodifiableList(children));
+            nodes.put(id, node);
+            stale.remove(id);
+            visiting.remove(id);
+            return node;
+        }
+    }
+
+    private static final class Snapshot {
+
+        private static final Snapshot EMPTY = new Snapshot(0L, Map.of(), Map.of(), Map.of());
+
+        private final long version;
+        private final Map<String, DepartmentVO> rows;
+        private final Map<String, List<String>> childIds;
+        private final Map<String, DepartmentVO> nodes;
+        private final List<DepartmentVO> roots;
+
+        Snapshot(long version, Map<String, DepartmentVO> rows, Map<String, List<String>> childIds,
+                 Map<String, DepartmentVO> nodes) {
+            this.version = version;
+            this.rows = rows;
+            this.childIds = childIds;
+            this.nodes = nodes;
+            this.roots = childIds.getOrDefault(ROOT, List.<String>of()).stream()
+                    .map(nodes::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+        }
+    }
+}
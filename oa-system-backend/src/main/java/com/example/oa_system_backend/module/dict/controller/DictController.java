@@ -11,6 +11,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -209,12 +210,30 @@ public class DictController {
         return ApiResponse.success(tree);
     }
 
+    /**
+     * 批量获取字典数据
+     * GET /api/dict/batch?codes=a,b,c
+     * 内容未变化时返回 304
+     */
+    @GetMapping("/batch")
+    public ApiResponse<Map<String, DictDataVO>> getDictDataBatch(@RequestParam List<String> codes, WebRequest webRequest) {
+        List<String> dictTypeCodes = codes.stream().map(String::trim).filter(code -> !code.isEmpty()).distinct().toList();
+        if (webRequest.checkNotModified(dictService.getDictETag(dictTypeCodes))) {
+            return null;
+        }
+        return ApiResponse.success(dictService.getDictDataBatch(dictTypeCodes));
+    }
+
     /**
      * 根据字典类型编码获取字典数据
      * GET /api/dict/{code}
+     * 内容未变化时返回 304
      */
     @GetMapping("/{code}")
-    public ApiResponse<DictDataVO> getDictData(@PathVariable String code) {
+    public ApiResponse<DictDataVO> getDictData(@PathVariable String code, WebRequest webRequest) {
+        if (webRequest.checkNotModified(dictService.getDictETag(List.of(code)))) {
+            return null;
+        }
         DictDataVO dictData = dictService.getDictData(code);
         return ApiResponse.success(dictData);
     }
@@ -245,10 +264,7 @@ public class DictController {
     @PostMapping("/import")
     public ApiResponse<Map<String, Object>> importDicts(
             @RequestParam("file") MultipartFile file) throws IOException {
-        List<DictImportVO> importData = com.example.oa_system_backend.common.utils.ExcelUtils.importExcel(
-                file.getInputStream(), DictImportVO.class
-        );
-        Map<String, Object> result = dictService.importDicts(importData);
+        Map<String, Object> result = dictService.importDicts(file.getInputStream());
         return ApiResponse.success("导入完成", result);
     }
 }
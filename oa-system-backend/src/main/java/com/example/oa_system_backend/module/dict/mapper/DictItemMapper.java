@@ -4,10 +4,13 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.example.oa_system_backend.module.dict.entity.DictItem;
+import com.example.oa_system_backend.module.dict.vo.DictExportVO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -55,6 +58,15 @@ public interface DictItemMapper extends BaseMapper<DictItem> {
             "ORDER BY sort, id")
     List<DictItem> selectEnabledByDictTypeCode(@Param("dictTypeCode") String dictTypeCode);
 
+    /**
+     * 查询全部启用的字典项，用于构建字典快照
+     */
+    @Select("SELECT * FROM sys_dict_item " +
+            "WHERE is_deleted = 0 " +
+            "AND status = 'enabled' " +
+            "ORDER BY dict_type_code, sort_order, id")
+    List<DictItem> selectAllEnabled();
+
     /**
      * 根据字典类型ID查询所有字典项
      */
@@ -64,6 +76,47 @@ public interface DictItemMapper extends BaseMapper<DictItem> {
             "ORDER BY sort, id")
     List<DictItem> selectByDictTypeId(@Param("dictTypeId") Long dictTypeId);
 
+    /**
+     * 根据字典类型ID查询已有字典项值
+     */
+    @Select("SELECT value FROM sys_dict_item " +
+            "WHERE dict_type_id = #{dictTypeId} " +
+            "AND is_deleted = 0")
+    List<String> selectValuesByDictTypeId(@Param("dictTypeId") Long dictTypeId);
+
+    /**
+     * 查询指定字典项所属的字典类型(每个类型一行，只含 dict_type_id 和 dict_type_code)
+     */
+    List<DictItem> selectDictTypesByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 按ID批量软删除字典项
+     */
+    int batchLogicDeleteByIds(@Param("ids") Collection<Long> ids, @Param("operator") String operator);
+
+    /**
+     * 按ID批量更新字典项状态
+     */
+    int batchUpdateStatusByIds(@Param("ids") Collection<Long> ids,
+                               @Param("status") String status,
+                               @Param("operator") String operator);
+
+    /**
+     * 软删除字典类型下的全部字典项
+     */
+    int logicDeleteByDictTypeId(@Param("dictTypeId") Long dictTypeId, @Param("operator") String operator);
+
+    /**
+     * 批量插入字典项(多行 INSERT)
+     */
+    int insertBatch(@Param("items") List<DictItem> items);
+
+    /**
+     * 流式查询导出数据：字典类型左连接字典项，无字典项的类型也输出一行
+     * 需在事务内消费游标
+     */
+    Cursor<DictExportVO> selectExportCursor();
+
     /**
      * 检查字典项值是否存在(在同一字典类型下)
      */
@@ -4,9 +4,11 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.example.oa_system_backend.module.dict.entity.DictType;
+import com.example.oa_system_backend.module.dict.vo.DictTreeVO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -28,5 +30,15 @@ public interface DictTypeMapper extends BaseMapper<DictType> {
 
     void updateItemCount(@Param("dictTypeId") Long dictTypeId);
 
+    /**
+     * 批量刷新字典类型的 item_count
+     */
+    void updateItemCounts(@Param("dictTypeIds") Collection<Long> dictTypeIds);
+
+    /**
+     * 字典类型左连接字典项，一次查询构建字典树
+     */
+    List<DictTreeVO> selectTree(@Param("category") String category, @Param("status") String status);
+
     List<DictType> selectAll();
 }
@@ -4,9 +4,12 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.example.oa_system_backend.module.dict.dto.*;
 import com.example.oa_system_backend.module.dict.entity.DictItem;
 import com.example.oa_system_backend.module.dict.entity.DictType;
+import com.example.oa_system_backend.module.dict.util.DictLabels;
 import com.example.oa_system_backend.module.dict.vo.*;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 数据字典服务接口
@@ -110,7 +113,27 @@ public interface DictService {
     DictDataVO getDictData(String dictTypeCode);
 
     /**
-     * 清除字典缓存
+     * 批量获取字典数据，按请求顺序返回
+     */
+    Map<String, DictDataVO> getDictDataBatch(Collection<String> dictTypeCodes);
+
+    /**
+     * 获取字典数据的 ETag，内容不变时保持不变
+     */
+    String getDictETag(Collection<String> dictTypeCodes);
+
+    /**
+     * 根据字典类型编码获取 值 -> 标签 映射(不可变，随字典数据一起缓存和失效)
+     */
+    Map<String, String> getDictLabelMap(String dictTypeCode);
+
+    /**
+     * 一次取出多个字典类型的标签映射，用于整页批量填充标签
+     */
+    DictLabels getDictLabels(Collection<String> dictTypeCodes);
+
+    /**
+     * 刷新字典缓存(事务提交后生效)
      */
     void clearDictCache(String dictTypeCode);
 
@@ -122,5 +145,5 @@ public interface DictService {
     /**
      * 导入字典数据
      */
-    java.util.Map<String, Object> importDicts(java.util.List<com.example.oa_system_backend.module.dict.vo.DictImportVO> importData);
+    java.util.Map<String, Object> importDicts(java.io.InputStream inputStream) throws java.io.IOException;
 }
@@ -3,23 +3,32 @@ package com.example.oa_system_backend.module.dict.service.impl;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.example.oa_system_backend.common.exception.BusinessException;
+import com.example.oa_system_backend.common.utils.ExcelStreamReader;
+import com.example.oa_system_backend.common.utils.ExcelStreamWriter;
+import com.example.oa_system_backend.common.utils.SecurityUtils;
 import com.example.oa_system_backend.module.dict.dto.*;
 import com.example.oa_system_backend.module.dict.entity.DictItem;
 import com.example.oa_system_backend.module.dict.entity.DictType;
 import com.example.oa_system_backend.module.dict.mapper.DictItemMapper;
 import com.example.oa_system_backend.module.dict.mapper.DictTypeMapper;
 import com.example.oa_system_backend.module.dict.service.DictService;
+import com.example.oa_system_backend.module.dict.util.DictLabels;
+import com.example.oa_system_backend.module.dict.util.DictSnapshotCache;
 import com.example.oa_system_backend.module.dict.vo.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -30,11 +39,20 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class DictServiceImpl implements DictService {
 
+    /**
+     * 导入时每块处理的行数
+     */
+    private static final int IMPORT_CHUNK_SIZE = 500;
+
+    /**
+     * 批量获取字典时单次最多的字典类型数
+     */
+    private static final int MAX_BATCH_DICT_CODES = 50;
+
     private final DictTypeMapper dictTypeMapper;
     private final DictItemMapper dictItemMapper;
 
-    // 使用内存缓存替代 Redis
-    private final Map<String, DictDataVO> dictCache = new ConcurrentHashMap<>();
+    private final DictSnapshotCache dictSnapshotCache;
 
     // ========== 字典类型操作 ==========
 
@@ -163,10 +181,7 @@ public class DictServiceImpl implements DictService {
         dictTypeMapper.deleteById(id);
 
         // 4. 软删除所有关联的字典项
-        List<DictItem> items = dictItemMapper.selectByDictTypeId(id);
-        for (DictItem item : items) {
-            dictItemMapper.deleteById(item.getId());
-        }
+        dictItemMapper.logicDeleteByDictTypeId(id, currentOperator());
 
         // 5. 清除缓存
         clearDictCache(dictType.getCode());
@@ -342,27 +357,18 @@ public class DictServiceImpl implements DictService {
             throw new BusinessException("ID列表不能为空");
         }
 
-        String dictTypeCode = null;
-        Long dictTypeId = null;
-
-        for (Long id : ids) {
-            DictItem dictItem = dictItemMapper.selectById(id);
-            if (dictItem != null) {
-                dictTypeCode = dictItem.getDictTypeCode();
-                dictTypeId = dictItem.getDictTypeId();
-                dictItemMapper.deleteById(id);
-            }
+        // 先取出受影响的字典类型，再一条语句软删除
+        List<DictItem> affectedTypes = dictItemMapper.selectDictTypesByIds(ids);
+        if (affectedTypes.isEmpty()) {
+            return;
         }
+        dictItemMapper.batchLogicDeleteByIds(ids, currentOperator());
 
         // 更新字典类型的item_count
-        if (dictTypeId != null) {
-            updateDictTypeItemCount(dictTypeId);
-        }
+        dictTypeMapper.updateItemCounts(affectedTypes.stream().map(DictItem::getDictTypeId).distinct().toList());
 
         // 清除缓存
-        if (dictTypeCode != null) {
-            clearDictCache(dictTypeCode);
-        }
+        affectedTypes.stream().map(DictItem::getDictTypeCode).distinct().forEach(this::clearDictCache);
     }
 
     @Override
@@ -372,24 +378,14 @@ public class DictServiceImpl implements DictService {
             throw new BusinessException("ID列表不能为空");
         }
 
-        String dictTypeCode = null;
-
-        for (Long id : ids) {
-            DictItem dictItem = dictItemMapper.selectById(id);
-            if (dictItem != null) {
-                dictItem.setStatus(status);
-                dictItem.setUpdatedAt(LocalDateTime.now());
-                dictItemMapper.updateById(dictItem);
-                if (dictTypeCode == null) {
-                    dictTypeCode = dictItem.getDictTypeCode();
-                }
-            }
+        List<DictItem> affectedTypes = dictItemMapper.selectDictTypesByIds(ids);
+        if (affectedTypes.isEmpty()) {
+            return;
         }
+        dictItemMapper.batchUpdateStatusByIds(ids, status, currentOperator());
 
         // 清除缓存
-        if (dictTypeCode != null) {
-            clearDictCache(dictTypeCode);
-        }
+        affectedTypes.stream().map(DictItem::getDictTypeCode).distinct().forEach(this::clearDictCache);
     }
 
     @Override
@@ -428,123 +424,65 @@ public class DictServiceImpl implements DictService {
 
     @Override
     public List<DictTreeVO> getDictTree(String category, String status) {
-        // 查询字典类型列表
-        Page<DictType> page = new Page<>(1, 1000);
-        IPage<DictType> dictTypePage = dictTypeMapper.selectPageByQuery(
-            page,
-            null,
-            category,
-            status
-        );
-
-        // 转换为树形结构
-        return dictTypePage.getRecords().stream()
-            .map(dictType -> {
-                DictTreeVO treeVO = new DictTreeVO();
-                BeanUtils.copyProperties(dictType, treeVO);
-
-                // 查询该字典类型下的所有字典项
-                List<DictItem> items = dictItemMapper.selectByDictTypeId(dictType.getId());
-                List<DictItemVO> itemVOs = items.stream()
-                    .map(item -> {
-                        DictItemVO itemVO = new DictItemVO();
-                        BeanUtils.copyProperties(item, itemVO);
-                        return itemVO;
-                    })
-                    .collect(Collectors.toList());
-
-                treeVO.setItems(itemVOs);
-                // 动态设置itemCount为实际的字典项数量
-                treeVO.setItemCount(items.size());
-                return treeVO;
-            })
-            .collect(Collectors.toList());
+        // 一次查询取出字典类型及其字典项
+        List<DictTreeVO> tree = dictTypeMapper.selectTree(category, status);
+        for (DictTreeVO treeVO : tree) {
+            if (treeVO.getItems() == null) {
+                treeVO.setItems(new ArrayList<>());
+            }
+            // 动态设置itemCount为实际的字典项数量
+            treeVO.setItemCount(treeVO.getItems().size());
+        }
+        return tree;
     }
 
     @Override
     public DictDataVO getDictData(String dictTypeCode) {
-        // 1. 尝试从内存缓存获取
-        DictDataVO cachedData = dictCache.get(dictTypeCode);
-        if (cachedData != null) {
-            log.debug("从内存缓存获取字典数据: dictTypeCode={}", dictTypeCode);
-            return cachedData;
-        }
-
-        // 2. 查询数据库
-        List<DictItem> items = dictItemMapper.selectEnabledByDictTypeCode(dictTypeCode);
+        return dictSnapshotCache.get(dictTypeCode).getData();
+    }
 
-        // 3. 转换为VO
-        List<DictItemVO> itemVOs = items.stream()
-            .map(item -> {
-                DictItemVO vo = new DictItemVO();
-                BeanUtils.copyProperties(item, vo);
-                return vo;
-            })
-            .collect(Collectors.toList());
+    @Override
+    public Map<String, DictDataVO> getDictDataBatch(Collection<String> dictTypeCodes) {
+        if (dictTypeCodes.size() > MAX_BATCH_DICT_CODES) {
+            throw new BusinessException("一次最多获取" + MAX_BATCH_DICT_CODES + "个字典");
+        }
+        Map<String, DictDataVO> result = new LinkedHashMap<>();
+        for (String dictTypeCode : dictTypeCodes) {
+            result.put(dictTypeCode, getDictData(dictTypeCode));
+        }
+        return result;
+    }
 
-        // 4. 构建返回数据
-        DictDataVO dictData = new DictDataVO();
-        dictData.setDictType(dictTypeCode);
-        dictData.setItems(itemVOs);
+    @Override
+    public String getDictETag(Collection<String> dictTypeCodes) {
+        return dictSnapshotCache.getETag(dictTypeCodes);
+    }
 
-        // 5. 设置内存缓存
-        dictCache.put(dictTypeCode, dictData);
-        log.debug("设置字典数据缓存: dictTypeCode={}, items={}", dictTypeCode, items.size());
+    @Override
+    public Map<String, String> getDictLabelMap(String dictTypeCode) {
+        return dictSnapshotCache.get(dictTypeCode).getLabels();
+    }
 
-        return dictData;
+    @Override
+    public DictLabels getDictLabels(Collection<String> dictTypeCodes) {
+        Map<String, Map<String, String>> labels = new HashMap<>();
+        for (String dictTypeCode : dictTypeCodes) {
+            labels.put(dictTypeCode, getDictLabelMap(dictTypeCode));
+        }
+        return new DictLabels(labels);
     }
 
     @Override
     public void clearDictCache(String dictTypeCode) {
-        dictCache.remove(dictTypeCode);
-        log.info("清除字典缓存: dictTypeCode={}", dictTypeCode);
+        // 事务回滚时快照保持不变
+        dictSnapshotCache.refreshAfterCommit(dictTypeCode);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public void exportDicts(jakarta.servlet.http.HttpServletResponse response) throws java.io.IOException {
         log.info("导出字典数据");
 
-        List<DictType> dictTypes = dictTypeMapper.selectAll();
-        List<DictExportVO> exportList = new java.util.ArrayList<>();
-
-        for (DictType dictType : dictTypes) {
-            List<DictItem> items = dictItemMapper.selectByDictTypeId(dictType.getId());
-
-            if (items.isEmpty()) {
-                DictExportVO vo = new DictExportVO();
-                vo.setDictTypeCode(dictType.getCode());
-                vo.setDictTypeName(dictType.getName());
-                vo.setDictTypeDescription(dictType.getDescription());
-                vo.setCategory(dictType.getCategory());
-                vo.setLabel("");
-                vo.setValue("");
-                vo.setColorType("");
-                vo.setColor("");
-                vo.setIcon("");
-                vo.setSortOrder(0);
-                vo.setStatus(dictType.getStatus());
-                vo.setRemark(dictType.getRemark());
-                exportList.add(vo);
-            } else {
-                for (DictItem item : items) {
-                    DictExportVO vo = new DictExportVO();
-                    vo.setDictTypeCode(dictType.getCode());
-                    vo.setDictTypeName(dictType.getName());
-                    vo.setDictTypeDescription(dictType.getDescription());
-                    vo.setCategory(dictType.getCategory());
-                    vo.setLabel(item.getLabel());
-                    vo.setValue(item.getValue());
-                    vo.setColorType(item.getColorType());
-                    vo.setColor(item.getColor());
-                    vo.setIcon(item.getIcon());
-                    vo.setSortOrder(item.getSortOrder());
-                    vo.setStatus(item.getStatus());
-                    vo.setRemark(item.getRemark());
-                    exportList.add(vo);
-                }
-            }
-        }
-
         List<String> headers = List.of(
                 "字典类型编码", "字典类型名称", "字典类型描述", "字典类别",
                 "字典项标签", "字典项值", "颜色类型", "自定义颜色", "图标",
@@ -560,115 +498,214 @@ public class DictServiceImpl implements DictService {
         String fileName = "字典数据_" + java.time.LocalDateTime.now()
                 .format(java.time.format.DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
 
-        com.example.oa_system_backend.common.utils.ExcelUtils.exportExcel(
-                response, exportList, headers, fieldNames, fileName
-        );
+        try (ExcelStreamWriter<DictExportVO> writer = new ExcelStreamWriter<>(DictExportVO.class, headers, fieldNames);
+             Cursor<DictExportVO> cursor = dictItemMapper.selectExportCursor()) {
+            cursor.forEach(writer::write);
+            writer.finish(response, fileName);
+        }
     }
 
     @Override
-    public java.util.Map<String, Object> importDicts(List<DictImportVO> importData) {
-        log.info("导入字典数据, 共 {} 条", importData.size());
+    public java.util.Map<String, Object> importDicts(java.io.InputStream inputStream) throws java.io.IOException {
+        DictImportContext context = new DictImportContext();
+        try {
+            new ExcelStreamReader<>(DictImportVO.class).read(inputStream, IMPORT_CHUNK_SIZE, context::importChunk);
+        } finally {
+            // 解析中途失败时，已写入的批次也要刷新条目数和缓存
+            context.finish();
+        }
 
-        int successCount = 0;
-        int failCount = 0;
-        int skipCount = 0;
-        List<String> errors = new java.util.ArrayList<>();
+        java.util.Map<String, Object> result = new java.util.HashMap<>();
+        result.put("successCount", context.successCount);
+        result.put("failCount", context.failCount);
+        result.put("skipCount", context.skipCount);
+        result.put("errors", context.errors);
+        result.put("totalCount", context.totalCount);
 
-        for (int i = 0; i < importData.size(); i++) {
-            DictImportVO item = importData.get(i);
-            int rowNum = i + 2;
+        log.info("字典数据导入完成: 总数={}, 成功={}, 失败={}, 跳过={}",
+                context.totalCount, context.successCount, context.failCount, context.skipCount);
 
-            try {
-                if (item.getDictTypeCode() == null || item.getDictTypeCode().trim().isEmpty()) {
-                    errors.add("第 " + rowNum + " 行: 字典类型编码不能为空");
-                    failCount++;
-                    continue;
-                }
+        return result;
+    }
 
-                if (item.getLabel() == null || item.getLabel().trim().isEmpty()) {
-                    errors.add("第 " + rowNum + " 行: 字典项标签不能为空");
-                    failCount++;
-                    continue;
-                }
+    // ========== 私有方法 ==========
 
-                if (item.getValue() == null || item.getValue().trim().isEmpty()) {
-                    errors.add("第 " + rowNum + " 行: 字典项值不能为空");
-                    failCount++;
-                    continue;
-                }
+    /**
+     * 当前操作人ID，无登录用户时为 system
+     */
+    private String currentOperator() {
+        String userId = SecurityUtils.getCurrentUserId();
+        return userId != null ? userId : "system";
+    }
 
-                DictType dictType = dictTypeMapper.selectByCode(item.getDictTypeCode().trim());
-                if (dictType == null) {
-                    dictType = new DictType();
-                    dictType.setCode(item.getDictTypeCode().trim());
-                    dictType.setName(item.getDictTypeName() != null ? item.getDictTypeName().trim() : item.getDictTypeCode().trim());
-                    dictType.setDescription(item.getDictTypeDescription());
-                    dictType.setCategory(item.getCategory() != null ? item.getCategory().trim() : "business");
-                    dictType.setStatus(item.getStatus() != null ? item.getStatus().trim() : "enabled");
-                    dictType.setSortOrder(0);
-                    dictType.setItemCount(0);
-                    dictType.setCreatedAt(LocalDateTime.now());
-                    dictType.setUpdatedAt(LocalDateTime.now());
-                    dictTypeMapper.insert(dictType);
-                    log.info("创建新字典类型: code={}", dictType.getCode());
-                }
+    /**
+     * 更新字典类型的item_count
+     */
+    private void updateDictTypeItemCount(Long dictTypeId) {
+        dictTypeMapper.updateItemCount(dictTypeId);
+    }
 
-                List<DictItem> existingItems = dictItemMapper.selectByDictTypeId(dictType.getId());
-                boolean itemExists = existingItems.stream()
-                        .anyMatch(existing -> existing.getValue().equals(item.getValue().trim()));
+    /**
+     * 单次导入的上下文
+     * 字典类型按编码只解析一次，已有字典项值按类型预加载为哈希集合，
+     * 每块合法行用一条多行 INSERT 写入，条目数和缓存在全部导入结束后按类型各刷新一次
+     */
+    private class DictImportContext {
+
+        private final Map<String, DictType> typesByCode = new java.util.HashMap<>();
+        private final Map<Long, java.util.Set<String>> valuesByTypeId = new java.util.HashMap<>();
+        private final Map<Long, String> touchedTypes = new java.util.LinkedHashMap<>();
+        private final List<String> errors = new java.util.ArrayList<>();
+        private final String operator;
+        private int successCount;
+        private int failCount;
+        private int skipCount;
+        private int totalCount;
+
+        DictImportContext() {
+            this.operator = currentOperator();
+            for (DictType dictType : dictTypeMapper.selectAll()) {
+                typesByCode.put(dictType.getCode(), dictType);
+            }
+        }
 
-                if (itemExists) {
-                    errors.add("第 " + rowNum + " 行: 字典项值已存在, 将跳过: " + item.getValue());
-                    skipCount++;
-                    continue;
+        void importChunk(List<ExcelStreamReader.ImportRow<DictImportVO>> rows) {
+            totalCount += rows.size();
+            log.info("导入字典数据, 本批 {} 条, 累计 {} 条", rows.size(), totalCount);
+
+            List<DictItem> batch = new java.util.ArrayList<>();
+            List<Integer> batchRowNums = new java.util.ArrayList<>();
+            for (ExcelStreamReader.ImportRow<DictImportVO> row : rows) {
+                int rowNum = row.getRowNum();
+                try {
+                    DictItem dictItem = prepareItem(row.getData(), rowNum);
+                    if (dictItem != null) {
+                        batch.add(dictItem);
+                        batchRowNums.add(rowNum);
+                    }
+                } catch (Exception e) {
+                    log.error("导入第 " + rowNum + " 行数据失败", e);
+                    errors.add("第 " + rowNum + " 行: " + e.getMessage());
+                    failCount++;
                 }
+            }
+            insertItems(batch, batchRowNums);
+        }
 
-                DictItem dictItem = new DictItem();
-                dictItem.setDictTypeId(dictType.getId());
-                dictItem.setDictTypeCode(dictType.getCode());
-                dictItem.setTypeCode(dictType.getCode());
-                dictItem.setLabel(item.getLabel().trim());
-                dictItem.setValue(item.getValue().trim());
-                dictItem.setColorType(item.getColorType());
-                dictItem.setColor(item.getColor());
-                dictItem.setIcon(item.getIcon());
-                dictItem.setSortOrder(item.getSortOrder() != null ? item.getSortOrder() : 0);
-                dictItem.setStatus(item.getStatus() != null ? item.getStatus().trim() : "enabled");
-                dictItem.setRemark(item.getRemark());
-                dictItem.setCreatedAt(LocalDateTime.now());
-                dictItem.setUpdatedAt(LocalDateTime.now());
-
-                dictItemMapper.insert(dictItem);
-                updateDictTypeItemCount(dictType.getId());
-                clearDictCache(dictType.getCode());
-
-                successCount++;
+        /**
+         * 校验一行并构建待插入的字典项，校验失败或需跳过时返回 null
+         */
+        private DictItem prepareItem(DictImportVO item, int rowNum) {
+            if (item.getDictTypeCode() == null || item.getDictTypeCode().trim().isEmpty()) {
+                errors.add("第 " + rowNum + " 行: 字典类型编码不能为空");
+                failCount++;
+                return null;
+            }
 
-            } catch (Exception e) {
-                log.error("导入第 " + rowNum + " 行数据失败", e);
-                errors.add("第 " + rowNum + " 行: " + e.getMessage());
+            if (item.getLabel() == null || item.getLabel().trim().isEmpty()) {
+                errors.add("第 " + rowNum + " 行: 字典项标签不能为空");
                 failCount++;
+                return null;
             }
-        }
 
-        java.util.Map<String, Object> result = new java.util.HashMap<>();
-        result.put("successCount", successCount);
-        result.put("failCount", failCount);
-        result.put("skipCount", skipCount);
-        result.put("errors", errors);
-        result.put("totalCount", importData.size());
+            if (item.getValue() == null || item.getValue().trim().isEmpty()) {
+                errors.add("第 " + rowNum + " 行: 字典项值不能为空");
+                failCount++;
+                return null;
+            }
 
-        log.info("字典数据导入完成: 成功={}, 失败={}, 跳过={}", successCount, failCount, skipCount);
+            DictType dictType = resolveType(item);
+            String value = item.getValue().trim();
+            java.util.Set<String> existingValues = valuesByTypeId.computeIfAbsent(dictType.getId(),
+                    typeId -> new java.util.HashSet<>(dictItemMapper.selectValuesByDictTypeId(typeId)));
+            if (!existingValues.add(value)) {
+                errors.add("第 " + rowNum + " 行: 字典项值已存在, 将跳过: " + item.getValue());
+                skipCount++;
+                return null;
+            }
 
-        return result;
-    }
+            LocalDateTime now = LocalDateTime.now();
+            DictItem dictItem = new DictItem();
+            dictItem.setDictTypeId(dictType.getId());
+            dictItem.setDictTypeCode(dictType.getCode());
+            dictItem.setTypeCode(dictType.getCode());
+            dictItem.setLabel(item.getLabel().trim());
+            dictItem.setValue(value);
+            dictItem.setColorType(item.getColorType());
+            dictItem.setColor(item.getColor());
+            dictItem.setIcon(item.getIcon());
+            dictItem.setSortOrder(item.getSortOrder() != null ? item.getSortOrder() : 0);
+            dictItem.setStatus(item.getStatus() != null ? item.getStatus().trim() : "enabled");
+            dictItem.setRemark(item.getRemark());
+            dictItem.setCreatedAt(now);
+            dictItem.setCreatedBy(operator);
+            dictItem.setUpdatedAt(now);
+            dictItem.setUpdatedBy(operator);
+            return dictItem;
+        }
+
+        private DictType resolveType(DictImportVO item) {
+            String code = item.getDictTypeCode().trim();
+            DictType dictType = typesByCode.get(code);
+            if (dictType == null) {
+                dictType = new DictType();
+                dictType.setCode(code);
+                dictType.setName(item.getDictTypeName() != null ? item.getDictTypeName().trim() : code);
+                dictType.setDescription(item.getDictTypeDescription());
+                dictType.setCategory(item.getCategory() != null ? item.getCategory().trim() : "business");
+                dictType.setStatus(item.getStatus() != null ? item.getStatus().trim() : "enabled");
+                dictType.setSortOrder(0);
+                dictType.setItemCount(0);
+                dictType.setCreatedAt(LocalDateTime.now());
+                dictType.setUpdatedAt(LocalDateTime.now());
+                dictTypeMapper.insert(dictType);
+                typesByCode.put(code, dictType);
+                valuesByTypeId.put(dictType.getId(), new java.util.HashSet<>());
+                log.info("创建新字典类型: code={}", dictType.getCode());
+            }
+            return dictType;
+        }
 
-    // ========== 私有方法 ==========
+        /**
+         * 整批插入；失败时逐行重试，保证错误能定位到具体行
+         */
+        private void insertItems(List<DictItem> batch, List<Integer> rowNums) {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                dictItemMapper.insertBatch(batch);
+                successCount += batch.size();
+                batch.forEach(this::touch);
+                return;
+            } catch (Exception e) {
+                log.warn("批量插入字典项失败, 改为逐行插入: {}", e.getMessage());
+            }
 
-    /**
-     * 更新字典类型的item_count
-     */
-    private void updateDictTypeItemCount(Long dictTypeId) {
-        dictTypeMapper.updateItemCount(dictTypeId);
+            for (int i = 0; i < batch.size(); i++) {
+                DictItem dictItem = batch.get(i);
+                try {
+                    dictItemMapper.insertBatch(List.of(dictItem));
+                    successCount++;
+                    touch(dictItem);
+                } catch (Exception e) {
+                    log.error("导入第 " + rowNums.get(i) + " 行数据失败", e);
+                    errors.add("第 " + rowNums.get(i) + " 行: " + e.getMessage());
+                    failCount++;
+                    valuesByTypeId.get(dictItem.getDictTypeId()).remove(dictItem.getValue());
+                }
+            }
+        }
+
+        private void touch(DictItem dictItem) {
+            touchedTypes.put(dictItem.getDictTypeId(), dictItem.getDictTypeCode());
+        }
+
+        void finish() {
+            touchedTypes.forEach((typeId, code) -> {
+                updateDictTypeItemCount(typeId);
+                clearDictCache(code);
+            });
+        }
     }
 }
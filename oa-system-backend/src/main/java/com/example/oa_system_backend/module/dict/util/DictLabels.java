@@ -0,0 +1,38 @@
+package com.example.oa_system_backend.module.dict.util;
+
+import java.util.Map;
+
+/**
+ * 一组字典类型的 值 -> 标签 映射快照
+ * 整页填充标签前一次性取出，之后逐行只做哈希查找，不再访问字典服务。
+ */
+public final class DictLabels {
+
+    private static final DictLabels EMPTY = new DictLabels(Map.of());
+
+    /**
+     * 字典类型编码 -> (字典值 -> 标签)，内外层均不可变
+     */
+    private final Map<String, Map<String, String>> labels;
+
+    /**
+     * @param labels 内层映射需不可变，外层在此复制为不可变映射
+     */
+    public DictLabels(Map<String, Map<String, String>> labels) {
+        this.labels = Map.copyOf(labels);
+    }
+
+    public static DictLabels empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 获取字典值对应的标签，找不到时返回原值
+     */
+    public String label(String dictTypeCode, String value) {
+        if (value == null) {
+            return null;
+        }
+        return labels.getOrDefault(dictTypeCode, Map.of()).getOrDefault(value, value);
+    }
+}
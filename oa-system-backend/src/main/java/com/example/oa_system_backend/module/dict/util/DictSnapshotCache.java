@@ -0,0 +1,172 @@
+package com.example.oa_system_backend.module.dict.util;
+
+import com.example.oa_system_backend.common.utils.ReloadableSnapshot;
+import com.example.oa_system_backend.common.utils.TransactionUtils;
+import com.example.oa_system_backend.module.dict.entity.DictItem;
+import com.example.oa_system_backend.module.dict.entity.DictType;
+import com.example.oa_system_backend.module.dict.mapper.DictItemMapper;
+import com.example.oa_system_backend.module.dict.mapper.DictTypeMapper;
+import com.example.oa_system_backend.module.dict.vo.DictDataVO;
+import com.example.oa_system_backend.module.dict.vo.DictItemVO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 字典快照
+ * 启动时一次性加载启用的字典类型和启用的字典项，构建不可变快照；字典变更在事务提交后重建对应类型并整体替换快照。
+ * 快照包含全部启用的字典类型，查不到的编码（包括停用的字典）直接返回空字典，不访问数据库，也不会被缓存。
+ * 每个字典按内容计算摘要作为 ETag，多实例之间内容相同则 ETag 相同。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DictSnapshotCache extends ReloadableSnapshot {
+
+    private static final String STATUS_ENABLED = "enabled";
+
+    private final DictTypeMapper dictTypeMapper;
+    private final DictItemMapper dictItemMapper;
+
+    private volatile Snapshot snapshot = new Snapshot(0L, Map.of());
+
+    @Override
+    public synchronized void reload() {
+        Map<String, List<DictItem>> itemsByCode = new LinkedHashMap<>();
+        for (DictType dictType : dictTypeMapper.selectAll()) {
+            if (isEnabled(dictType)) {
+                itemsByCode.put(dictType.getCode(), new ArrayList<>());
+            }
+        }
+        for (DictItem item : dictItemMapper.selectAllEnabled()) {
+            List<DictItem> items = itemsByCode.get(item.getDictTypeCode());
+            if (items != null) {
+                items.add(item);
+            }
+        }
+
+        Map<String, Entry> entries = new HashMap<>();
+        itemsByCode.forEach((code, items) -> entries.put(code, Entry.of(code, items)));
+        snapshot = new Snapshot(snapshot.version + 1, Collections.unmodifiableMap(entries));
+        log.info("字典快照加载完成, 版本: {}, 字典类型数: {}", snapshot.version, entries.size());
+    }
+
+    @Override
+    protected String name() {
+        return "字典快照";
+    }
+
+    /**
+     * 事务提交后重建指定字典类型，无事务时立即重建
+     */
+    public void refreshAfterCommit(String dictTypeCode) {
+        TransactionUtils.afterCommit(() -> refresh(dictTypeCode));
+    }
+
+    /**
+     * 获取字典快照条目，未知编码返回空条目
+     */
+    public Entry get(String dictTypeCode) {
+        Entry entry = snapshot.entries.get(dictTypeCode);
+        return entry != null ? entry : Entry.of(dictTypeCode, List.of());
+    }
+
+    /**
+     * 多个字典的组合 ETag，随任一字典内容变化
+     */
+    public String getETag(Collection<String> dictTypeCodes) {
+        long digest = 17L;
+        for (String code : dictTypeCodes) {
+            digest = 31 * digest + Objects.hashCode(code);
+            digest = 31 * digest + get(code).digest;
+        }
+        return "\"dict-" + Long.toHexString(digest) + "\"";
+    }
+
+    public long getVersion() {
+        return snapshot.version;
+    }
+
+    private synchronized void refresh(String dictTypeCode) {
+        Map<String, Entry> entries = new HashMap<>(snapshot.entries);
+        if (!isEnabled(dictTypeMapper.selectByCode(dictTypeCode))) {
+            entries.remove(dictTypeCode);
+        } else {
+            entries.put(dictTypeCode, Entry.of(dictTypeCode, dictItemMapper.selectEnabledByDictTypeCode(dictTypeCode)));
+        }
+        snapshot = new Snapshot(snapshot.version + 1, Collections.unmodifiableMap(entries));
+        log.info("刷新字典快照: dictTypeCode={}, 版本: {}", dictTypeCode, snapshot.version);
+    }
+
+    private static boolean isEnabled(DictType dictType) {
+        return dictType != null && STATUS_ENABLED.equals(dictType.getStatus());
+    }
+
+    private static final class Snapshot {
+
+        private final long version;
+        private final Map<String, Entry> entries;
+
+        Snapshot(long version, Map<String, Entry> entries) {
+            this.version = version;
+            this.entries = entries;
+        }
+    }
+
+    /**
+     * 单个字典类型的快照条目：字典数据、值 -> 标签 映射和内容摘要，构建后不再修改
+     */
+    public static final class Entry {
+
+        private final DictDataVO data;
+        private final Map<String, String> labels;
+        private final long digest;
+
+        private Entry(DictDataVO data, Map<String, String> labels, long digest) {
+            this.data = data;
+            this.labels = labels;
+            this.digest = digest;
+        }
+
+        static Entry of(String dictTypeCode, List<DictItem> items) {
+            Map<String, String> labels = new HashMap<>();
+            List<DictItemVO> itemVOs = new ArrayList<>(items.size());
+            long digest = 17L;
+            for (DictItem item : items) {
+                DictItemVO vo = new DictItemVO();
+                BeanUtils.copyProperties(item, vo);
+                itemVOs.add(vo);
+                // 同值取排序靠前的一项
+                if (item.getValue() != null && item.getLabel() != null) {
+                    labels.putIfAbsent(item.getValue(), item.getLabel());
+                }
+                digest = 31 * digest + Objects.hash(item.getId(), item.getValue(), item.getLabel(),
+                        item.getColorType(), item.getColor(), item.getIcon(), item.getSortOrder(),
+                        item.getExtProps(), item.getRemark(), item.getUpdatedAt());
+            }
+
+            DictDataVO dictData = new DictDataVO();
+            dictData.setDictType(dictTypeCode);
+            dictData.setItems(Collections.unmodifiableList(itemVOs));
+            return new Entry(dictData, Map.copyOf(labels), digest);
+        }
+
+        public DictDataVO getData() {
+            return data;
+        }
+
+        public Map<String, String> getLabels() {
+            return labels;
+        }
+    }
+}
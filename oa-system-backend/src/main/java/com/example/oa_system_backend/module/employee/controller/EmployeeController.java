@@ -8,10 +8,12 @@ import com.example.oa_system_backend.module.employee.dto.*;
 import com.example.oa_system_backend.module.employee.entity.Employee;
 import com.example.oa_system_backend.module.employee.service.EmployeeService;
 import com.example.oa_system_backend.module.employee.vo.*;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -36,6 +38,15 @@ public class EmployeeController {
         return ApiResponse.success(result);
     }
 
+    /**
+     * 按查询条件导出员工列表
+     * GET /api/employees/export
+     */
+    @GetMapping("/export")
+    public void exportEmployees(EmployeeQueryRequest request, HttpServletResponse response) throws IOException {
+        employeeService.exportEmployees(request, response);
+    }
+
     /**
      * 获取员工详情
      * GET /api/employees/{id}
@@ -7,7 +7,9 @@ import com.example.oa_system_backend.module.employee.entity.Employee;
 import com.example.oa_system_backend.module.employee.vo.EmployeeVO;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -30,6 +32,20 @@ public interface EmployeeMapper extends BaseMapper<Employee> {
             @Param("joinDateEnd") String joinDateEnd
     );
 
+    /**
+     * 流式查询导出员工列表，条件同分页查询
+     * 需在事务内消费游标
+     */
+    Cursor<EmployeeVO> selectExportCursor(
+            @Param("keyword") String keyword,
+            @Param("status") String status,
+            @Param("departmentIds") String departmentIds,
+            @Param("position") String position,
+            @Param("gender") String gender,
+            @Param("joinDateStart") String joinDateStart,
+            @Param("joinDateEnd") String joinDateEnd
+    );
+
     /**
      * 根据入职日期范围查询员工数量
      * 用于生成员工编号
@@ -77,4 +93,11 @@ public interface EmployeeMapper extends BaseMapper<Employee> {
      * 统计各部门员工数量
      */
     List<Employee> countByDepartment();
+
+    /**
+     * 查询审批路由所需的员工信息(上级、部门、岗位、职级)
+     *
+     * @param ids 员工ID列表，为空时查询全部
+     */
+    List<Employee> selectRoutingInfo(@Param("ids") Collection<String> ids);
 }
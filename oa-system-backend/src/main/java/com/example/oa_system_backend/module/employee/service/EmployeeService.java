@@ -17,6 +17,11 @@ public interface EmployeeService {
      */
     IPage<EmployeeVO> getEmployeeList(EmployeeQueryRequest request);
 
+    /**
+     * 按查询条件导出员工列表
+     */
+    void exportEmployees(EmployeeQueryRequest request, jakarta.servlet.http.HttpServletResponse response) throws java.io.IOException;
+
     /**
      * 根据ID获取员工详情
      */
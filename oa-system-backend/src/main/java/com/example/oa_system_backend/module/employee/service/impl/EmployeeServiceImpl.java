@@ -1,9 +1,12 @@
 package com.example.oa_system_backend.module.employee.service.impl;
 
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.example.oa_system_backend.common.exception.BusinessException;
+import com.example.oa_system_backend.common.utils.ExcelStreamWriter;
+import com.example.oa_system_backend.common.utils.SegmentIdGenerator;
 import com.example.oa_system_backend.module.employee.dto.*;
 import com.example.oa_system_backend.module.employee.entity.Employee;
 import com.example.oa_system_backend.module.employee.entity.EmployeeOperationLog;
@@ -11,17 +14,28 @@ import com.example.oa_system_backend.module.employee.mapper.EmployeeMapper;
 import com.example.oa_system_backend.module.employee.mapper.EmployeeOperationLogMapper;
 import com.example.oa_system_backend.module.employee.service.EmployeeService;
 import com.example.oa_system_backend.module.employee.util.DictLabelUtil;
+import com.example.oa_system_backend.module.employee.util.OrgRoutingIndex;
 import com.example.oa_system_backend.module.employee.vo.*;
+import com.example.oa_system_backend.module.permission.entity.Role;
+import com.example.oa_system_backend.module.permission.entity.UserRole;
+import com.example.oa_system_backend.module.permission.mapper.RoleMapper;
+import com.example.oa_system_backend.module.permission.mapper.UserRoleMapper;
+import com.example.oa_system_backend.module.permission.util.PermissionSnapshotCache;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -32,9 +46,19 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class EmployeeServiceImpl implements EmployeeService {
 
+    /**
+     * 新员工默认授予的角色编码(普通员工)
+     */
+    private static final String DEFAULT_ROLE_CODE = "employee";
+
     private final EmployeeMapper employeeMapper;
     private final EmployeeOperationLogMapper operationLogMapper;
     private final DictLabelUtil dictLabelUtil;
+    private final SegmentIdGenerator segmentIdGenerator;
+    private final OrgRoutingIndex orgRoutingIndex;
+    private final RoleMapper roleMapper;
+    private final UserRoleMapper userRoleMapper;
+    private final PermissionSnapshotCache permissionSnapshotCache;
 
     @Override
     public IPage<EmployeeVO> getEmployeeList(EmployeeQueryRequest request) {
@@ -57,6 +81,46 @@ public class EmployeeServiceImpl implements EmployeeService {
         return result;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void exportEmployees(EmployeeQueryRequest request, HttpServletResponse response) throws IOException {
+        log.info("导出员工数据");
+
+        List<String> headers = List.of(
+                "员工编号", "姓名", "英文名", "性别", "出生日期", "手机号", "邮箱",
+                "部门", "职位", "职级", "直属上级", "入职日期", "试用期状态", "试用期结束日期",
+                "工龄", "状态", "办公地点", "紧急联系人", "紧急联系电话"
+        );
+
+        List<String> fieldNames = List.of(
+                "id", "name", "englishName", "genderLabel", "birthDate", "phone", "email",
+                "departmentName", "positionLabel", "levelLabel", "managerName", "joinDate",
+                "probationStatusLabel", "probationEndDate",
+                "workYears", "statusLabel", "officeLocation", "emergencyContact", "emergencyPhone"
+        );
+
+        String fileName = "员工数据_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+
+        // 字典须在打开游标前加载
+        Consumer<EmployeeVO> labelFiller = dictLabelUtil.preloadedFiller();
+
+        try (ExcelStreamWriter<EmployeeVO> writer = new ExcelStreamWriter<>(EmployeeVO.class, headers, fieldNames);
+             Cursor<EmployeeVO> cursor = employeeMapper.selectExportCursor(
+                     request.getKeyword(),
+                     request.getStatus(),
+                     request.getDepartmentIds(),
+                     request.getPosition(),
+                     request.getGender(),
+                     request.getJoinDateStart(),
+                     request.getJoinDateEnd())) {
+            for (EmployeeVO vo : cursor) {
+                labelFiller.accept(vo);
+                writer.write(vo);
+            }
+            writer.finish(response, fileName);
+        }
+    }
+
     @Override
     public EmployeeDetailVO getEmployeeById(String id) {
         Employee employee = employeeMapper.selectById(id);
@@ -149,8 +213,12 @@ public class EmployeeServiceImpl implements EmployeeService {
         // 9. 保存到数据库
         employeeMapper.insert(employee);
 
-        // 10. 记录操作日志
+        // 10. 授予默认角色
+        assignDefaultRole(employeeId);
+
+        // 11. 记录操作日志
         saveOperationLog(employeeId, "CREATE", "创建员工: " + employee.getName());
+        orgRoutingIndex.refreshEmployeeAfterCommit(employeeId);
 
         return employee;
     }
@@ -250,6 +318,7 @@ public class EmployeeServiceImpl implements EmployeeService {
 
         // 8. 记录操作日志
         saveOperationLog(id, "UPDATE", "更新员工信息: " + employee.getName());
+        orgRoutingIndex.refreshEmployeeAfterCommit(id);
 
         return employee;
     }
@@ -276,6 +345,7 @@ public class EmployeeServiceImpl implements EmployeeService {
             details += ", 原因: " + request.getReason();
         }
         saveOperationLog(id, "STATUS_UPDATE", details);
+        orgRoutingIndex.refreshEmployeeAfterCommit(id);
 
         return employee;
     }
@@ -294,6 +364,7 @@ public class EmployeeServiceImpl implements EmployeeService {
 
         // 3. 记录操作日志
         saveOperationLog(id, "DELETE", "删除员工: " + employee.getName());
+        orgRoutingIndex.refreshEmployeeAfterCommit(id);
     }
 
     @Override
@@ -375,19 +446,9 @@ public class EmployeeServiceImpl implements EmployeeService {
     }
 
     @Override
-    @Transactional
     public String generateEmployeeId(LocalDate joinDate) {
-        // 格式化日期为 YYYYMMDD
-        String dateStr = joinDate.format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-
-        // 查询当天入职人数
-        Integer count = employeeMapper.countByJoinDate(dateStr);
-
-        // 生成3位序号
-        String sequence = String.format("%03d", count + 1);
-
-        // 返回员工编号: EMP + YYYYMMDD + 序号
-        return "EMP" + dateStr + sequence;
+        // 员工编号: EMP + 入职日期YYYYMMDD + 3位序号，同一入职日期的员工很少，逐个预留
+        return segmentIdGenerator.nextDailyId("sys_employee", "EMP", joinDate, 3, 1);
     }
 
     @Override
@@ -442,6 +503,26 @@ public class EmployeeServiceImpl implements EmployeeService {
         }
     }
 
+    /**
+     * 授予普通员工角色，角色未初始化时跳过
+     */
+    private void assignDefaultRole(String employeeId) {
+        Role role = roleMapper.selectOne(new LambdaQueryWrapper<Role>()
+                .eq(Role::getCode, DEFAULT_ROLE_CODE)
+                .last("LIMIT 1"));
+        if (role == null) {
+            log.warn("默认角色不存在, 新员工未授予角色: employeeId={}, roleCode={}", employeeId, DEFAULT_ROLE_CODE);
+            return;
+        }
+        UserRole userRole = new UserRole();
+        userRole.setId(UUID.randomUUID().toString().replace("-", ""));
+        userRole.setUserId(employeeId);
+        userRole.setRoleId(role.getId());
+        userRole.setCreatedAt(LocalDateTime.now());
+        userRoleMapper.insert(userRole);
+        permissionSnapshotCache.refreshUserAfterCommit(employeeId);
+    }
+
     /**
      * 记录操作日志
      */
@@ -1,7 +1,7 @@
 package com.example.oa_system_backend.module.employee.util;
 
 import com.example.oa_system_backend.module.dict.service.DictService;
-import com.example.oa_system_backend.module.dict.vo.DictDataVO;
+import com.example.oa_system_backend.module.dict.util.DictLabels;
 import com.example.oa_system_backend.module.employee.vo.EmployeeDetailVO;
 import com.example.oa_system_backend.module.employee.vo.EmployeeVO;
 import lombok.RequiredArgsConstructor;
@@ -10,6 +10,7 @@ import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * 字典标签工具类
@@ -22,10 +23,30 @@ public class DictLabelUtil {
 
     private final DictService dictService;
 
+    /**
+     * 员工相关的字典类型
+     */
+    private static final List<String> EMPLOYEE_DICT_TYPES = List.of(
+            "gender", "position_type", "employee_level", "probation_status", "employee_status");
+
     /**
      * 为EmployeeVO填充字典标签
      */
     public void fillDictLabels(EmployeeVO vo) {
+        fillDictLabels(vo, loadLabels(), LocalDate.now());
+    }
+
+    /**
+     * 预先加载员工相关字典，返回只做内存查找的标签填充器
+     * 流式导出时游标独占数据库连接，逐行填充标签不能再触发查询
+     */
+    public Consumer<EmployeeVO> preloadedFiller() {
+        DictLabels labels = loadLabels();
+        LocalDate today = LocalDate.now();
+        return vo -> fillDictLabels(vo, labels, today);
+    }
+
+    private void fillDictLabels(EmployeeVO vo, DictLabels labels, LocalDate today) {
         if (vo == null) {
             return;
         }
@@ -33,27 +54,27 @@ public class DictLabelUtil {
         try {
             // 性别标签
             if (vo.getGender() != null) {
-                vo.setGenderLabel(getDictLabel("gender", vo.getGender()));
+                vo.setGenderLabel(labels.label("gender", vo.getGender()));
             }
 
             // 职位标签
             if (vo.getPosition() != null) {
-                vo.setPositionLabel(getDictLabel("position_type", vo.getPosition()));
+                vo.setPositionLabel(labels.label("position_type", vo.getPosition()));
             }
 
             // 职级标签
             if (vo.getLevel() != null) {
-                vo.setLevelLabel(getDictLabel("employee_level", vo.getLevel()));
+                vo.setLevelLabel(labels.label("employee_level", vo.getLevel()));
             }
 
             // 动态计算试用期状态
-            String calculatedProbationStatus = calculateProbationStatus(vo.getProbationEndDate(), vo.getStatus());
+            String calculatedProbationStatus = calculateProbationStatus(vo.getProbationEndDate(), vo.getStatus(), today);
             vo.setProbationStatus(calculatedProbationStatus);
-            vo.setProbationStatusLabel(getDictLabel("probation_status", calculatedProbationStatus));
+            vo.setProbationStatusLabel(labels.label("probation_status", calculatedProbationStatus));
 
             // 员工状态标签
             if (vo.getStatus() != null) {
-                vo.setStatusLabel(getDictLabel("employee_status", vo.getStatus()));
+                vo.setStatusLabel(labels.label("employee_status", vo.getStatus()));
             }
         } catch (Exception e) {
             log.error("填充字典标签失败", e);
@@ -69,29 +90,31 @@ public class DictLabelUtil {
         }
 
         try {
+            DictLabels labels = loadLabels();
+
             // 性别标签
             if (vo.getGender() != null) {
-                vo.setGenderLabel(getDictLabel("gender", vo.getGender()));
+                vo.setGenderLabel(labels.label("gender", vo.getGender()));
             }
 
             // 职位标签
             if (vo.getPosition() != null) {
-                vo.setPositionLabel(getDictLabel("position_type", vo.getPosition()));
+                vo.setPositionLabel(labels.label("position_type", vo.getPosition()));
             }
 
             // 职级标签
             if (vo.getLevel() != null) {
-                vo.setLevelLabel(getDictLabel("employee_level", vo.getLevel()));
+                vo.setLevelLabel(labels.label("employee_level", vo.getLevel()));
             }
 
             // 动态计算试用期状态
-            String calculatedProbationStatus = calculateProbationStatus(vo.getProbationEndDate(), vo.getStatus());
+            String calculatedProbationStatus = calculateProbationStatus(vo.getProbationEndDate(), vo.getStatus(), LocalDate.now());
             vo.setProbationStatus(calculatedProbationStatus);
-            vo.setProbationStatusLabel(getDictLabel("probation_status", calculatedProbationStatus));
+            vo.setProbationStatusLabel(labels.label("probation_status", calculatedProbationStatus));
 
             // 员工状态标签
             if (vo.getStatus() != null) {
-                vo.setStatusLabel(getDictLabel("employee_status", vo.getStatus()));
+                vo.setStatusLabel(labels.label("employee_status", vo.getStatus()));
             }
         } catch (Exception e) {
             log.error("填充字典标签失败", e);
@@ -102,9 +125,10 @@ public class DictLabelUtil {
      * 动态计算试用期状态
      * @param probationEndDate 试用期结束日期
      * @param employeeStatus 员工状态
+     * @param today 当前日期，整页填充时只取一次
      * @return 试用期状态
      */
-    private String calculateProbationStatus(LocalDate probationEndDate, String employeeStatus) {
+    private String calculateProbationStatus(LocalDate probationEndDate, String employeeStatus, LocalDate today) {
         // 如果员工已离职，返回已离职状态
         if ("resigned".equals(employeeStatus)) {
             return "resigned";
@@ -116,7 +140,6 @@ public class DictLabelUtil {
         }
 
         // 比较当前日期和试用期结束日期
-        LocalDate today = LocalDate.now();
         if (today.isBefore(probationEndDate) || today.isEqual(probationEndDate)) {
             // 当前日期在试用期结束日期之前或当天，仍处于试用期
             return "probation";
@@ -128,31 +151,27 @@ public class DictLabelUtil {
 
     /**
      * 为EmployeeVO列表填充字典标签
+     * 整页只取一次标签映射，逐行哈希查找
      */
     public void fillDictLabelsForList(List<EmployeeVO> voList) {
         if (voList == null || voList.isEmpty()) {
             return;
         }
 
-        voList.forEach(this::fillDictLabels);
+        DictLabels labels = loadLabels();
+        LocalDate today = LocalDate.now();
+        voList.forEach(vo -> fillDictLabels(vo, labels, today));
     }
 
     /**
-     * 根据字典类型编码和值获取标签
+     * 取出员工相关字典的标签映射，失败时标签退化为原值
      */
-    private String getDictLabel(String dictTypeCode, String value) {
+    private DictLabels loadLabels() {
         try {
-            DictDataVO dictData = dictService.getDictData(dictTypeCode);
-            if (dictData != null && dictData.getItems() != null) {
-                return dictData.getItems().stream()
-                        .filter(item -> value.equals(item.getValue()))
-                        .findFirst()
-                        .map(item -> item.getLabel())
-                        .orElse(value);
-            }
+            return dictService.getDictLabels(EMPLOYEE_DICT_TYPES);
         } catch (Exception e) {
-            log.warn("获取字典标签失败: dictTypeCode={}, value={}", dictTypeCode, value, e);
+            log.warn("获取字典数据失败: dictTypeCodes={}", EMPLOYEE_DICT_TYPES, e);
+            return DictLabels.empty();
         }
-        return value;
     }
 }
@@ -0,0 +1,341 @@
+package com.example.oa_system_backend.module.employee.util;
+
+import com.example.oa_system_backend.common.utils.ReloadableSnapshot;
+import com.example.oa_system_backend.common.utils.TransactionUtils;
+import com.example.oa_system_backend.module.department.entity.Department;
+import com.example.oa_system_backend.module.department.mapper.DepartmentMapper;
+import com.example.oa_system_backend.module.employee.entity.Employee;
+import com.example.oa_system_backend.module.employee.mapper.EmployeeMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 审批路由索引
+ * 一次查询加载全部员工的上级、部门、岗位和全部部门负责人，预先算出每个员工的上级链、部门负责人和职能审批人（人事、财务），
+ * 发起审批流程时审批人全部在内存中解析，不再逐级查询员工和部门。
+ * 员工变更在事务提交后只重新查询该员工，部门变更在事务提交后只重新查询部门。
+ * 索引中没有的员工（如其他实例刚新增）按单行查询补入，查不到的员工ID短时间内不再查询。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrgRoutingIndex extends ReloadableSnapshot {
+
+    /**
+     * 人事审批人：岗位包含该关键字且职级最高的员工，与原 position LIKE '%经理%' ORDER BY level DESC 查询一致
+     */
+    private static final String HR_POSITION_KEYWORD = "经理";
+
+    /**
+     * 财务审批人：该部门的负责人
+     */
+    private static final String FINANCE_DEPARTMENT_NAME = "财务部";
+
+    /**
+     * 上级链最大长度，上级关系数据异常成环时截断
+     */
+    private static final int MAX_CHAIN_LENGTH = 32;
+
+    /**
+     * 查不到的员工ID缓存时长和数量上限
+     */
+    private static final Duration MISSING_MEMBER_TTL = Duration.ofMinutes(5);
+    private static final int MISSING_MEMBER_MAX_SIZE = 10_000;
+
+    private final EmployeeMapper employeeMapper;
+    private final DepartmentMapper departmentMapper;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    /**
+     * 查不到的员工ID，如已删除的审批人
+     */
+    private final Cache<String, Boolean> missingMembers = Caffeine.newBuilder()
+            .maximumSize(MISSING_MEMBER_MAX_SIZE)
+            .expireAfterWrite(MISSING_MEMBER_TTL)
+            .build();
+
+    @Override
+    public synchronized void reload() {
+        Map<String, OrgMember> members = new HashMap<>();
+        for (Employee employee : employeeMapper.selectRoutingInfo(null)) {
+            members.put(employee.getId(), new OrgMember(employee));
+        }
+        snapshot = Snapshot.build(snapshot.version + 1, members, loadDepartmentLeaders());
+        missingMembers.invalidateAll();
+        log.info("审批路由索引加载完成, 版本: {}, 员工数: {}, 部门数: {}",
+                snapshot.version, members.size(), snapshot.departments.leaders.size());
+    }
+
+    @Override
+    protected String name() {
+        return "审批路由索引";
+    }
+
+    /**
+     * 员工新增、修改、状态变更、删除：事务提交后只刷新该员工，无事务时立即刷新
+     */
+    public void refreshEmployeeAfterCommit(String employeeId) {
+        TransactionUtils.afterCommit(() -> refreshEmployee(employeeId));
+    }
+
+    /**
+     * 部门新增、修改、移动、删除：事务提交后重新加载部门负责人
+     */
+    public void refreshDepartmentsAfterCommit() {
+        TransactionUtils.afterCommit(this::refreshDepartments);
+    }
+
+    public OrgMember getMember(String employeeId) {
+        return employeeId != null ? snapshot.members.get(employeeId) : null;
+    }
+
+    /**
+     * 索引中没有该员工时（如其他实例刚新增）按单行查询补入索引，不重建其他员工的上级链；
+     * 查不到时记住该ID，{@link #MISSING_MEMBER_TTL} 内直接返回 null
+     */
+    public OrgMember getOrLoadMember(String employeeId) {
+        OrgMember member = getMember(employeeId);
+        if (member != null || employeeId == null || missingMembers.getIfPresent(employeeId) != null) {
+            return member;
+        }
+        return loadMember(employeeId);
+    }
+
+    public String getName(String employeeId) {
+        OrgMember member = getMember(employeeId);
+        return member != null ? member.getName() : null;
+    }
+
+    /**
+     * 上级链：直属上级、上级的上级……，上级不存在时截止
+     */
+    public List<OrgMember> getManagerChain(String employeeId) {
+        return snapshot.managerChains.getOrDefault(employeeId, List.of());
+    }
+
+    /**
+     * 部门的直属成员（不含子部门），部门不存在或没有成员时返回空列表
+     */
+    public List<OrgMember> getDepartmentMembers(String departmentId) {
+        return departmentId != null ? snapshot.departmentMembers.getOrDefault(departmentId, List.of()) : List.of();
+    }
+
+    public boolean containsDepartment(String departmentId) {
+        return departmentId != null && snapshot.departments.leaders.containsKey(departmentId);
+    }
+
+    /**
+     * 部门负责人ID，部门不存在或未设置负责人时返回 null
+     */
+    public String getDepartmentLeaderId(String departmentId) {
+        return departmentId != null ? snapshot.departments.leaders.get(departmentId) : null;
+    }
+
+    public OrgMember getHrApprover() {
+        return getMember(snapshot.hrApproverId);
+    }
+
+    /**
+     * 财务部负责人ID，没有财务部时返回 null
+     */
+    public String getFinanceApproverId() {
+        return snapshot.departments.financeLeaderId;
+    }
+
+    public long getVersion() {
+        return snapshot.version;
+    }
+
+    private synchronized OrgMember loadMember(String employeeId) {
+        // 等待锁期间其他线程可能已经补入
+        OrgMember member = getMember(employeeId);
+        if (member != null) {
+            return member;
+        }
+        List<Employee> employees = employeeMapper.selectRoutingInfo(List.of(employeeId));
+        if (employees.isEmpty()) {
+            missingMembers.put(employeeId, Boolean.TRUE);
+            log.debug("审批路由中不存在该员工: employeeId={}", employeeId);
+            return null;
+        }
+        member = new OrgMember(employees.get(0));
+        snapshot = snapshot.withMember(member);
+        log.debug("审批路由补入员工: employeeId={}", employeeId);
+        return member;
+    }
+
+    private synchronized void refreshEmployee(String employeeId) {
+        missingMembers.invalidate(employeeId);
+        Snapshot current = snapshot;
+        Map<String, OrgMember> members = new HashMap<>(current.members);
+        List<Employee> employees = employeeMapper.selectRoutingInfo(List.of(employeeId));
+        if (employees.isEmpty()) {
+            members.remove(employeeId);
+        } else {
+            members.put(employeeId, new OrgMember(employees.get(0)));
+        }
+        snapshot = Snapshot.build(current.version + 1, members, current.departments);
+        log.info("刷新审批路由: employeeId={}, 版本: {}", employeeId, snapshot.version);
+    }
+
+    private synchronized void refreshDepartments() {
+        Snapshot current = snapshot;
+        snapshot = Snapshot.build(current.version + 1, current.members, loadDepartmentLeaders());
+        log.info("刷新审批路由部门负责人, 部门数: {}, 版本: {}", snapshot.departments.leaders.size(), snapshot.version);
+    }
+
+    /**
+     * 部门ID -> 负责人ID，同名财务部有多个时取部门ID最小的
+     */
+    private DepartmentLeaders loadDepartmentLeaders() {
+        Map<String, String> leaders = new HashMap<>();
+        String financeLeaderId = null;
+        String financeDepartmentId = null;
+        for (Department department : departmentMapper.selectList(null)) {
+            leaders.put(department.getId(), department.getLeaderId());
+            if (FINANCE_DEPARTMENT_NAME.equals(department.getName())
+                    && (financeDepartmentId == null || department.getId().compareTo(financeDepartmentId) < 0)) {
+                financeDepartmentId = department.getId();
+                financeLeaderId = department.getLeaderId();
+            }
+        }
+        return new DepartmentLeaders(Collections.unmodifiableMap(leaders), financeLeaderId);
+    }
+
+    /**
+     * 审批路由中的员工信息，构建后不再修改
+     */
+    @Getter
+    public static final class OrgMember {
+
+        private final String id;
+        private final String name;
+        private final String departmentId;
+        private final String managerId;
+        private final String position;
+        private final String level;
+
+        OrgMember(Employee employee) {
+            this.id = employee.getId();
+            this.name = employee.getName();
+            this.departmentId = employee.getDepartmentId();
+            this.managerId = employee.getManagerId();
+            this.position = employee.getPosition();
+            this.level = employee.getLevel();
+        }
+    }
+
+    private static final class DepartmentLeaders {
+
+        private final Map<String, String> leaders;
+        private final String financeLeaderId;
+
+        DepartmentLeaders(Map<String, String> leaders, String financeLeaderId) {
+            this.leaders = leaders;
+            this.financeLeaderId = financeLeaderId;
+        }
+    }
+
+    private static final class Snapshot {
+
+        private static final Snapshot EMPTY = new Snapshot(0L, Map.of(), Map.of(), Map.of(),
+                new DepartmentLeaders(Map.of(), null), null);
+
+        private final long version;
+        private final Map<String, OrgMember> members;
+        private final Map<String, List<OrgMember>> managerChains;
+        private final Map<String, List<OrgMember>> departmentMembers;
+        private final DepartmentLeaders departments;
+        private final String hrApproverId;
+
+        private Snapshot(long version, Map<String, OrgMember> members, Map<String, List<OrgMember>> managerChains,
+                         Map<String, List<OrgMember>> departmentMembers, DepartmentLeaders departments,
+                         String hrApproverId) {
+            this.version = version;
+            this.members = members;
+            this.managerChains = managerChains;
+            this.departmentMembers = departmentMembers;
+            this.departments = departments;
+            this.hrApproverId = hrApproverId;
+        }
+
+        static Snapshot build(long version, Map<String, OrgMember> members, DepartmentLeaders departments) {
+            Map<String, List<OrgMember>> managerChains = new HashMap<>(members.size() * 2);
+            Map<String, List<OrgMember>> departmentMembers = new HashMap<>();
+            OrgMember hrApprover = null;
+            for (OrgMember member : members.values()) {
+                managerChains.put(member.getId(), managerChain(member, members));
+                if (member.getDepartmentId() != null) {
+                    departmentMembers.computeIfAbsent(member.getDepartmentId(), k -> new ArrayList<>()).add(member);
+                }
+                if (member.getPosition() != null && member.getPosition().contains(HR_POSITION_KEYWORD)
+                        && (hrApprover == null || ranksAbove(member, hrApprover))) {
+                    hrApprover = member;
+                }
+            }
+            departmentMembers.replaceAll((departmentId, list) -> List.copyOf(list));
+            return new Snapshot(version, Collections.unmodifiableMap(members), managerChains, departmentMembers,
+                    departments, hrApprover != null ? hrApprover.getId() : null);
+        }
+
+        /**
+         * 补入一个索引中原本没有的员工，只计算该员工的上级链；原有员工的上级链不变，由下次全量重载校正
+         */
+        Snapshot withMember(OrgMember member) {
+            Map<String, OrgMember> newMembers = new HashMap<>(members);
+            newMembers.put(member.getId(), member);
+            Map<String, List<OrgMember>> newChains = new HashMap<>(managerChains);
+            newChains.put(member.getId(), managerChain(member, newMembers));
+            Map<String, List<OrgMember>> newDepartmentMembers = new HashMap<>(departmentMembers);
+            if (member.getDepartmentId() != null) {
+                List<OrgMember> list = new ArrayList<>(newDepartmentMembers.getOrDefault(member.getDepartmentId(), List.of()));
+                list.add(member);
+                newDepartmentMembers.put(member.getDepartmentId(), List.copyOf(list));
+            }
+            String newHrApproverId = hrApproverId;
+            OrgMember hrApprover = hrApproverId != null ? members.get(hrApproverId) : null;
+            if (member.getPosition() != null && member.getPosition().contains(HR_POSITION_KEYWORD)
+                    && (hrApprover == null || ranksAbove(member, hrApprover))) {
+                newHrApproverId = member.getId();
+            }
+            return new Snapshot(version + 1, Collections.unmodifiableMap(newMembers), newChains, newDepartmentMembers,
+                    departments, newHrApproverId);
+        }
+
+        private static List<OrgMember> managerChain(OrgMember member, Map<String, OrgMember> members) {
+            List<OrgMember> chain = new ArrayList<>();
+            Set<String> visited = new HashSet<>();
+            visited.add(member.getId());
+            OrgMember manager = member.getManagerId() != null ? members.get(member.getManagerId()) : null;
+            while (manager != null && visited.add(manager.getId()) && chain.size() < MAX_CHAIN_LENGTH) {
+                chain.add(manager);
+                manager = manager.getManagerId() != null ? members.get(manager.getManagerId()) : null;
+            }
+            return List.copyOf(chain);
+        }
+
+        /**
+         * 职级高者优先（字符串比较，与 ORDER BY level DESC 一致），职级相同时员工ID小者优先
+         */
+        private static boolean ranksAbove(OrgMember member, OrgMember other) {
+            String level = member.getLevel() != null ? member.getLevel() : "";
+            String otherLevel = other.getLevel() != null ? other.getLevel() : "";
+            int compare = level.compareTo(otherLevel);
+            return compare > 0 || (compare == 0 && member.getId().compareTo(other.getId()) < 0);
+        }
+    }
+}
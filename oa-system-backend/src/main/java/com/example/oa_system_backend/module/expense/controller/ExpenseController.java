@@ -25,7 +25,7 @@ public class ExpenseController {
     private final ExpenseService expenseService;
 
     @GetMapping
-    @PreAuthorize("hasAuthority('expense:view')")
+    @PreAuthorize("@permissionSnapshotCache.has('expense:view')")
     public ApiResponse<IPage<ExpenseVO>> getExpenseList(ExpenseQueryRequest query) {
         log.info("查询报销单列表, 参数: {}", query);
         IPage<ExpenseVO> result = expenseService.getExpenseList(query);
@@ -33,7 +33,7 @@ public class ExpenseController {
     }
 
     @GetMapping("/{id}")
-    @PreAuthorize("hasAuthority('expense:view')")
+    @PreAuthorize("@permissionSnapshotCache.has('expense:view')")
     public ApiResponse<ExpenseDetailVO> getExpenseDetail(@PathVariable String id) {
         log.info("查询报销单详情, id: {}", id);
         ExpenseDetailVO detail = expenseService.getExpenseDetail(id);
@@ -42,7 +42,7 @@ public class ExpenseController {
     }
 
     @PostMapping
-    @PreAuthorize("hasAuthority('expense:create')")
+    @PreAuthorize("@permissionSnapshotCache.has('expense:create')")
     public ApiResponse<Expense> createExpense(@Valid @RequestBody ExpenseCreateRequest request) {
         log.info("创建报销单, 类型: {}", request.getType());
         Expense expense = expenseService.createExpense(request);
@@ -50,7 +50,7 @@ public class ExpenseController {
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasAuthority('expense:edit')")
+    @PreAuthorize("@permissionSnapshotCache.has('expense:edit')")
     public ApiResponse<Expense> updateExpense(
             @PathVariable String id,
             @Valid @RequestBody ExpenseUpdateRequest request) {
@@ -61,7 +61,7 @@ public class ExpenseController {
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasAuthority('expense:delete')")
+    @PreAuthorize("@permissionSnapshotCache.has('expense:delete')")
     public ApiResponse<Void> deleteExpense(@PathVariable String id) {
         log.info("删除报销单, id: {}", id);
         expenseService.deleteExpense(id);
@@ -69,7 +69,7 @@ public class ExpenseController {
     }
 
     @PostMapping("/{id}/submit")
-    @PreAuthorize("hasAuthority('expense:submit')")
+    @PreAuthorize("@permissionSnapshotCache.has('expense:submit')")
     public ApiResponse<Void> submitExpense(@PathVariable String id) {
         log.info("提交报销单, id: {}", id);
         expenseService.submitExpense(id);
@@ -77,7 +77,7 @@ public class ExpenseController {
     }
 
     @PostMapping("/{id}/dept-approval")
-    @PreAuthorize("hasAuthority('expense:dept_approve')")
+    @PreAuthorize("@permissionSnapshotCache.has('expense:dept_approve')")
     public ApiResponse<Void> deptApprove(
             @PathVariable String id,
             @Valid @RequestBody ApprovalRequest request) {
@@ -87,7 +87,7 @@ public class ExpenseController {
     }
 
     @PostMapping("/{id}/finance-approval")
-    @PreAuthorize("hasAuthority('expense:finance_approve')")
+    @PreAuthorize("@permissionSnapshotCache.has('expense:finance_approve')")
     public ApiResponse<Void> financeApprove(
             @PathVariable String id,
             @Valid @RequestBody ApprovalRequest request) {
@@ -97,7 +97,7 @@ public class ExpenseController {
     }
 
     @PostMapping("/{id}/cancel")
-    @PreAuthorize("hasAuthority('expense:cancel')")
+    @PreAuthorize("@permissionSnapshotCache.has('expense:cancel')")
     public ApiResponse<Void> cancelExpense(@PathVariable String id) {
         log.info("撤销报销单, id: {}", id);
         expenseService.cancelExpense(id);
@@ -105,7 +105,7 @@ public class ExpenseController {
     }
 
     @PostMapping("/{id}/payment")
-    @PreAuthorize("hasAuthority('expense:payment')")
+    @PreAuthorize("@permissionSnapshotCache.has('expense:payment')")
     public ApiResponse<Void> createPayment(@PathVariable String id) {
         log.info("创建打款记录, id: {}", id);
         expenseService.createPayment(id);
@@ -113,7 +113,7 @@ public class ExpenseController {
     }
 
     @GetMapping("/payments")
-    @PreAuthorize("hasAuthority('expense:payment')")
+    @PreAuthorize("@permissionSnapshotCache.has('expense:payment')")
     public ApiResponse<IPage<ExpensePayment>> getPaymentList(
             @RequestParam(required = false) String status,
             @RequestParam(defaultValue = "1") int page,
@@ -124,7 +124,7 @@ public class ExpenseController {
     }
 
     @PostMapping("/{id}/payment-proof")
-    @PreAuthorize("hasAuthority('expense:payment')")
+    @PreAuthorize("@permissionSnapshotCache.has('expense:payment')")
     public ApiResponse<Void> uploadPaymentProof(
             @PathVariable String id,
             @RequestParam String proofUrl) {
@@ -134,14 +134,14 @@ public class ExpenseController {
     }
 
     @GetMapping("/pending/dept")
-    @PreAuthorize("hasAuthority('expense:dept_approve')")
+    @PreAuthorize("@permissionSnapshotCache.has('expense:dept_approve')")
     public ApiResponse<IPage<ExpenseVO>> getPendingDeptApproval(ExpenseQueryRequest query) {
         IPage<ExpenseVO> result = expenseService.getPendingDeptApproval(query);
         return ApiResponse.success(result);
     }
 
     @GetMapping("/pending/finance")
-    @PreAuthorize("hasAuthority('expense:finance_approve')")
+    @PreAuthorize("@permissionSnapshotCache.has('expense:finance_approve')")
     public ApiResponse<IPage<ExpenseVO>> getPendingFinanceApproval(ExpenseQueryRequest query) {
         IPage<ExpenseVO> result = expenseService.getPendingFinanceApproval(query);
         return ApiResponse.success(result);
@@ -162,7 +162,7 @@ public class ExpenseController {
     }
 
     @GetMapping("/stats/department")
-    @PreAuthorize("hasAuthority('expense:stats')")
+    @PreAuthorize("@permissionSnapshotCache.has('expense:stats')")
     public ApiResponse<List<ExpenseStatisticsVO>> getDepartmentStats(
             @RequestParam LocalDate startDate,
             @RequestParam LocalDate endDate,
@@ -173,7 +173,7 @@ public class ExpenseController {
     }
 
     @GetMapping("/stats/type")
-    @PreAuthorize("hasAuthority('expense:stats')")
+    @PreAuthorize("@permissionSnapshotCache.has('expense:stats')")
     public ApiResponse<List<ExpenseStatisticsVO>> getTypeStats(
             @RequestParam LocalDate startDate,
             @RequestParam LocalDate endDate) {
@@ -183,7 +183,7 @@ public class ExpenseController {
     }
 
     @GetMapping("/stats/monthly")
-    @PreAuthorize("hasAuthority('expense:stats')")
+    @PreAuthorize("@permissionSnapshotCache.has('expense:stats')")
     public ApiResponse<List<ExpenseStatisticsVO>> getMonthlyStats(
             @RequestParam Integer year) {
         log.info("查询月度统计, 年份: {}", year);
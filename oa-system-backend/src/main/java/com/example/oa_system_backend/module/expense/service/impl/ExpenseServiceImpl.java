@@ -10,6 +10,7 @@ import com.example.oa_system_backend.module.department.entity.Department;
 import com.example.oa_system_backend.module.department.mapper.DepartmentMapper;
 import com.example.oa_system_backend.module.employee.entity.Employee;
 import com.example.oa_system_backend.module.employee.mapper.EmployeeMapper;
+import com.example.oa_system_backend.module.employee.util.OrgRoutingIndex;
 import com.example.oa_system_backend.module.expense.dto.*;
 import com.example.oa_system_backend.module.expense.entity.*;
 import com.example.oa_system_backend.module.expense.enums.*;
@@ -44,6 +45,7 @@ public class ExpenseServiceImpl extends ServiceImpl<ExpenseMapper, Expense>
     private final InvoiceValidator invoiceValidator;
     private final EmployeeMapper employeeMapper;
     private final DepartmentMapper departmentMapper;
+    private final OrgRoutingIndex orgRoutingIndex;
 
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -285,7 +287,11 @@ public class ExpenseServiceImpl extends ServiceImpl<ExpenseMapper, Expense>
     }
 
     private String getDepartmentLeader(String departmentId) {
-        Department department = departmentMapper.selectById(departmentId);
+        if (orgRoutingIndex.containsDepartment(departmentId)) {
+            return orgRoutingIndex.getDepartmentLeaderId(departmentId);
+        }
+        // 索引中没有时（如其他实例刚新增的部门）回查数据库
+        Department department = departmentId != null ? departmentMapper.selectById(departmentId) : null;
         if (department == null) {
             throw new BusinessException(4010, "部门不存在");
         }
@@ -293,19 +299,24 @@ public class ExpenseServiceImpl extends ServiceImpl<ExpenseMapper, Expense>
     }
 
     private String getFinanceApprover() {
-        // 查询财务部门的主管作为财务审批人
-        QueryWrapper<Department> wrapper = new QueryWrapper<>();
-        wrapper.eq("name", "财务部");
-        Department financeDept = departmentMapper.selectOne(wrapper);
-        if (financeDept == null) {
-            // 如果找不到财务部门，返回默认值
-            return "FINANCE_ID";
-        }
-        return financeDept.getLeaderId();
+        // 财务部门的主管作为财务审批人
+        String financeApproverId = orgRoutingIndex.getFinanceApproverId();
+        if (financeApproverId == null) {
+            // 索引中没有时（如其他实例刚设置）回查数据库
+            Department financeDept = departmentMapper.selectOne(new QueryWrapper<Department>()
+                    .eq("name", "财务部")
+                    .orderByAsc("id")
+                    .last("LIMIT 1"));
+            financeApproverId = financeDept != null ? financeDept.getLeaderId() : null;
+        }
+        if (financeApproverId == null) {
+            throw new BusinessException(4016, "未找到财务部负责人，无法提交财务审批");
+        }
+        return financeApproverId;
     }
 
     private String getEmployeeName(String employeeId) {
-        Employee employee = employeeMapper.selectById(employeeId);
+        OrgRoutingIndex.OrgMember employee = orgRoutingIndex.getOrLoadMember(employeeId);
         if (employee == null) {
             return "Unknown";
         }
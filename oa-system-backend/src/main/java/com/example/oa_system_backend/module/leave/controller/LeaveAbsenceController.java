@@ -0,0 +1,26 @@
+package com.example.oa_system_backend.module.leave.controller;
+
+import com.example.oa_system_backend.common.vo.ApiResponse;
+import com.example.oa_system_backend.module.leave.service.LeaveAbsenceService;
+import com.example.oa_system_backend.module.leave.vo.TeamAbsenceVO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/leave/absence")
+@RequiredArgsConstructor
+public class LeaveAbsenceController {
+
+    private final LeaveAbsenceService leaveAbsenceService;
+
+    @GetMapping("/department/{departmentId}")
+    public ApiResponse<TeamAbsenceVO> getDepartmentAbsence(
+            @PathVariable String departmentId,
+            @RequestParam(required = false) LocalDate startDate,
+            @RequestParam(required = false) LocalDate endDate) {
+        TeamAbsenceVO absence = leaveAbsenceService.getDepartmentAbsence(departmentId, startDate, endDate);
+        return ApiResponse.success(absence);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.oa_system_backend.module.leave.entity;
+
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@TableName("approval_leave_stats_monthly")
+public class LeaveStatsMonthly {
+
+    @TableField("employee_id")
+    private String employeeId;
+
+    @TableField("department_id")
+    private String departmentId;
+
+    private String month;
+
+    private String type;
+
+    private String status;
+
+    @TableField("request_count")
+    private Integer requestCount;
+
+    @TableField("total_duration")
+    private BigDecimal totalDuration;
+
+    @TableField("updated_at")
+    private LocalDateTime updatedAt;
+}
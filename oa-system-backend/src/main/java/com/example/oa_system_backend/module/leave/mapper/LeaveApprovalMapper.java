@@ -21,4 +21,6 @@ public interface LeaveApprovalMapper extends BaseMapper<LeaveApproval> {
     Long countApprovedByRequestId(@Param("requestId") String requestId);
 
     Long countRejectedByRequestId(@Param("requestId") String requestId);
+
+    int insertBatch(@Param("list") List<LeaveApproval> approvals);
 }
@@ -5,6 +5,7 @@ import com.example.oa_system_backend.module.leave.entity.LeaveBalance;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 
@@ -17,6 +18,24 @@ public interface LeaveBalanceMapper extends BaseMapper<LeaveBalance> {
     List<LeaveBalance> selectByCondition(@Param("employeeId") String employeeId,
                                        @Param("year") Integer year);
 
+    /**
+     * 扣减年假：剩余天数足够时在一条语句内完成扣减，不需要先查询再写回
+     *
+     * @return 影响行数，0 表示记录不存在或余额不足
+     */
+    int deductAnnual(@Param("employeeId") String employeeId,
+                     @Param("year") Integer year,
+                     @Param("duration") BigDecimal duration);
+
+    /**
+     * 回退年假：已使用天数足够时在一条语句内完成回退
+     *
+     * @return 影响行数，0 表示记录不存在或已使用天数不足
+     */
+    int restoreAnnual(@Param("employeeId") String employeeId,
+                      @Param("year") Integer year,
+                      @Param("duration") BigDecimal duration);
+
     @Select("SELECT COUNT(*) as total, SUM(annual_total) as total_quota, SUM(annual_used) as total_used, SUM(annual_remaining) as total_remaining FROM approval_leave_balance WHERE year = #{year}")
     Map<String, Object> selectSummaryByYear(@Param("year") Integer year);
 }
@@ -11,23 +11,16 @@ import org.apache.ibatis.annotations.Select;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 
 public interface LeaveRequestMapper extends BaseMapper<LeaveRequest> {
 
     IPage<LeaveRequestVO> selectPageByCondition(Page<LeaveRequest> page, @Param("query") LeaveQueryRequest query);
 
-    Long countTimeConflict(@Param("applicantId") String applicantId,
-                        @Param("startTime") LocalDateTime startTime,
-                        @Param("endTime") LocalDateTime endTime,
-                        @Param("excludeId") String excludeId);
-
-    List<Map<String, Object>> selectStatisticsByType(@Param("applicantId") String applicantId,
-                                                     @Param("year") Integer year);
-
-    List<Map<String, Object>> selectStatisticsByStatus(@Param("applicantId") String applicantId,
-                                                      @Param("year") Integer year);
-
-    List<Map<String, Object>> selectStatisticsByMonth(@Param("applicantId") String applicantId,
-                                                     @Param("year") Integer year);
+    /**
+     * 待审批、审批中、已通过且与 [from, to) 有重叠的请假（只含ID、申请人、起止时间、状态）
+     * applicantId 为空时查询全部员工，from、to 为空时不限
+     */
+    List<LeaveRequest> selectActiveAbsences(@Param("applicantId") String applicantId,
+                                            @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to);
 }
@@ -0,0 +1,34 @@
+package com.example.oa_system_backend.module.leave.mapper;
+
+import com.example.oa_system_backend.module.leave.entity.LeaveStatsMonthly;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+public interface LeaveStatsMonthlyMapper {
+
+    /**
+     * 按差量累加汇总行，行不存在时插入
+     *
+     * @param delta requestCount、totalDuration 为增量，可以为负
+     */
+    int applyDelta(LeaveStatsMonthly delta);
+
+    /**
+     * 按 月份×类型×状态 汇总，employeeId、departmentId 为空时不限
+     *
+     * @param startMonth 起始月份(含)，格式 yyyy-MM
+     * @param endMonth   结束月份(含)，格式 yyyy-MM
+     */
+    List<LeaveStatsMonthly> selectRollup(@Param("employeeId") String employeeId,
+                                         @Param("departmentId") String departmentId,
+                                         @Param("startMonth") String startMonth,
+                                         @Param("endMonth") String endMonth);
+
+    int deleteAll();
+
+    /**
+     * 按请假申请全量重建汇总
+     */
+    int insertFromRequests();
+}
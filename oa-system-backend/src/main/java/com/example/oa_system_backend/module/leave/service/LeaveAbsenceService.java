@@ -0,0 +1,10 @@
+package com.example.oa_system_backend.module.leave.service;
+
+import com.example.oa_system_backend.module.leave.vo.TeamAbsenceVO;
+
+import java.time.LocalDate;
+
+public interface LeaveAbsenceService {
+
+    TeamAbsenceVO getDepartmentAbsence(String departmentId, LocalDate startDate, LocalDate endDate);
+}
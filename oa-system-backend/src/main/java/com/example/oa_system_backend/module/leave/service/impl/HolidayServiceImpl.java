@@ -8,6 +8,7 @@ import com.example.oa_system_backend.module.leave.entity.Holiday;
 import com.example.oa_system_backend.module.leave.enums.HolidayType;
 import com.example.oa_system_backend.module.leave.mapper.HolidayMapper;
 import com.example.oa_system_backend.module.leave.service.HolidayService;
+import com.example.oa_system_backend.module.leave.util.WorkdayCalendar;
 import com.example.oa_system_backend.module.leave.vo.HolidayVO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,6 +27,7 @@ public class HolidayServiceImpl extends ServiceImpl<HolidayMapper, Holiday> impl
 
     private final HolidayMapper holidayMapper;
     private final com.example.oa_system_backend.module.leave.util.LeaveDictLabelUtil dictLabelUtil;
+    private final WorkdayCalendar workdayCalendar;
 
     @Override
     public List<HolidayVO> getHolidayList(HolidayQueryRequest query) {
@@ -79,6 +81,7 @@ public class HolidayServiceImpl extends ServiceImpl<HolidayMapper, Holiday> impl
         Holiday holiday = new Holiday();
         BeanUtils.copyProperties(request, holiday);
         holidayMapper.insert(holiday);
+        workdayCalendar.refreshYears(holiday.getDate().getYear());
 
         log.info("节假日添加成功");
         return holiday;
@@ -99,8 +102,10 @@ public class HolidayServiceImpl extends ServiceImpl<HolidayMapper, Holiday> impl
             throw new BusinessException("该日期已存在节假日记录");
         }
 
+        Integer oldYear = holiday.getDate() != null ? holiday.getDate().getYear() : null;
         BeanUtils.copyProperties(request, holiday);
         holidayMapper.updateById(holiday);
+        workdayCalendar.refreshYears(oldYear, holiday.getDate().getYear());
 
         log.info("节假日更新成功");
         return holiday;
@@ -111,7 +116,11 @@ public class HolidayServiceImpl extends ServiceImpl<HolidayMapper, Holiday> impl
     public void deleteHoliday(Long id) {
         log.info("删除节假日,节假日ID: {}", id);
 
+        Holiday holiday = holidayMapper.selectById(id);
         holidayMapper.deleteById(id);
+        if (holiday != null && holiday.getDate() != null) {
+            workdayCalendar.refreshYears(holiday.getDate().getYear());
+        }
 
         log.info("节假日删除成功");
     }
@@ -0,0 +1,102 @@
+package com.example.oa_system_backend.module.leave.service.impl;
+
+import com.example.oa_system_backend.common.exception.BusinessException;
+import com.example.oa_system_backend.module.employee.util.OrgRoutingIndex;
+import com.example.oa_system_backend.module.leave.service.LeaveAbsenceService;
+import com.example.oa_system_backend.module.leave.util.AbsenceCalendar;
+import com.example.oa_system_backend.module.leave.vo.TeamAbsenceVO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LeaveAbsenceServiceImpl implements LeaveAbsenceService {
+
+    private static final int MAX_RANGE_DAYS = 366;
+
+    private final AbsenceCalendar absenceCalendar;
+    private final OrgRoutingIndex orgRoutingIndex;
+
+    /**
+     * 部门直属成员在日期范围内已通过的请假，未指定范围时取本周
+     * 每个成员取出范围内的半天位图，上午或下午任一有请假即计为当天请假
+     */
+    @Override
+    public TeamAbsenceVO getDepartmentAbsence(String departmentId, LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            startDate = LocalDate.now().with(DayOfWeek.MONDAY);
+            endDate = startDate.plusDays(6);
+        }
+        if (startDate.isAfter(endDate)) {
+            throw new BusinessException(3017, "结束时间必须晚于开始时间");
+        }
+        int days = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        if (days > MAX_RANGE_DAYS) {
+            throw new BusinessException(3020, "查询范围不能超过" + MAX_RANGE_DAYS + "天");
+        }
+        log.info("查询部门请假日历,部门ID: {}, 日期: {} ~ {}", departmentId, startDate, endDate);
+
+        List<OrgRoutingIndex.OrgMember> members = new ArrayList<>(orgRoutingIndex.getDepartmentMembers(departmentId));
+        members.sort(Comparator.comparing(OrgRoutingIndex.OrgMember::getId));
+
+        int[] counts = new int[days];
+        List<List<String>> absentees = new ArrayList<>(days);
+        for (int day = 0; day < days; day++) {
+            absentees.add(new ArrayList<>());
+        }
+        List<TeamAbsenceVO.EmployeeData> employeeData = new ArrayList<>();
+        for (OrgRoutingIndex.OrgMember member : members) {
+            BitSet slots = absenceCalendar.getApprovedSlots(member.getId(), startDate, endDate);
+            if (slots.isEmpty()) {
+                continue;
+            }
+            BitSet absentDays = new BitSet(days);
+            for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+                absentDays.set(slot >> 1);
+            }
+            for (int day = absentDays.nextSetBit(0); day >= 0; day = absentDays.nextSetBit(day + 1)) {
+                counts[day]++;
+                absentees.get(day).add(member.getId());
+            }
+
+            TeamAbsenceVO.EmployeeData data = new TeamAbsenceVO.EmployeeData();
+            data.setEmployeeId(member.getId());
+            data.setEmployeeName(member.getName());
+            data.setDays(BigDecimal.valueOf(slots.cardinality() * 5L, 1));
+            employeeData.add(data);
+        }
+
+        List<TeamAbsenceVO.DailyData> dailyData = new ArrayList<>(days);
+        int maxOverlap = 0;
+        for (int day = 0; day < days; day++) {
+            TeamAbsenceVO.DailyData data = new TeamAbsenceVO.DailyData();
+            data.setDate(startDate.plusDays(day));
+            data.setCount(counts[day]);
+            data.setEmployeeIds(absentees.get(day));
+            dailyData.add(data);
+            maxOverlap = Math.max(maxOverlap, counts[day]);
+        }
+
+        TeamAbsenceVO absence = new TeamAbsenceVO();
+        absence.setDepartmentId(departmentId);
+        absence.setStartDate(startDate);
+        absence.setEndDate(endDate);
+        absence.setMemberCount(members.size());
+        absence.setAbsentCount(employeeData.size());
+        absence.setMaxOverlap(maxOverlap);
+        absence.setDailyData(dailyData);
+        absence.setEmployeeData(employeeData);
+        return absence;
+    }
+}
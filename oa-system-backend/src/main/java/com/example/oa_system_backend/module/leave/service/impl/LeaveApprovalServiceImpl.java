@@ -17,6 +17,8 @@ import com.example.oa_system_backend.module.leave.mapper.LeaveApprovalMapper;
 import com.example.oa_system_backend.module.leave.mapper.LeaveRequestMapper;
 import com.example.oa_system_backend.module.leave.service.LeaveApprovalService;
 import com.example.oa_system_backend.module.leave.service.LeaveBalanceService;
+import com.example.oa_system_backend.module.leave.util.AbsenceCalendar;
+import com.example.oa_system_backend.module.leave.util.LeaveStatisticsRollup;
 import com.example.oa_system_backend.module.leave.vo.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -37,6 +39,8 @@ public class LeaveApprovalServiceImpl extends ServiceImpl<LeaveApprovalMapper, L
     private final LeaveApprovalMapper leaveApprovalMapper;
     private final LeaveRequestMapper leaveRequestMapper;
     private final LeaveBalanceService leaveBalanceService;
+    private final LeaveStatisticsRollup leaveStatisticsRollup;
+    private final AbsenceCalendar absenceCalendar;
 
     @Override
     public IPage<LeaveRequestVO> getPendingApprovals(LeaveQueryRequest query) {
@@ -137,11 +141,14 @@ public class LeaveApprovalServiceImpl extends ServiceImpl<LeaveApprovalMapper, L
         approval.setTimestamp(LocalDateTime.now());
         leaveApprovalMapper.updateById(approval);
 
+        LeaveStatisticsRollup.Cell before = LeaveStatisticsRollup.cellOf(request);
         if (ApprovalStatus.APPROVED.getCode().equals(approvalRequest.getStatus())) {
             approveWorkflow(request, approval);
         } else {
             rejectWorkflow(request, approval);
         }
+        leaveStatisticsRollup.apply(before, LeaveStatisticsRollup.cellOf(request));
+        absenceCalendar.refreshEmployeeAfterCommit(request.getApplicantId());
 
         return getLeaveDetailVO(requestId);
     }
@@ -121,29 +121,15 @@ public class LeaveBalanceServiceImpl extends ServiceImpl<LeaveBalanceMapper, Lea
     public void deductBalance(String employeeId, Integer year, BigDecimal duration, String requestId) {
         log.info("扣减年假余额,员工ID: {}, 年份: {}, 时长: {}, 申请ID: {}", employeeId, year, duration, requestId);
 
-        LeaveBalance balance = leaveBalanceMapper.selectByEmployeeIdAndYear(employeeId, year);
-
-        if (balance == null) {
-            throw new BusinessException(3007, "年假记录不存在");
-        }
-
-        if (balance.getAnnualRemaining().compareTo(duration) < 0) {
+        if (leaveBalanceMapper.deductAnnual(employeeId, year, duration) == 0) {
+            // 只在扣减失败时查询，区分记录不存在和余额不足
+            if (leaveBalanceMapper.selectByEmployeeIdAndYear(employeeId, year) == null) {
+                throw new BusinessException(3007, "年假记录不存在");
+            }
             throw new BusinessException(3002, "年假余额不足");
         }
 
-        balance.setAnnualUsed(balance.getAnnualUsed().add(duration));
-        balance.setAnnualRemaining(balance.getAnnualRemaining().subtract(duration));
-        balance.setUpdatedAt(LocalDateTime.now());
-        leaveBalanceMapper.updateById(balance);
-
-        LeaveUsageLog usageLog = new LeaveUsageLog();
-        usageLog.setEmployeeId(employeeId);
-        usageLog.setRequestId(requestId);
-        usageLog.setType(LeaveType.ANNUAL.getCode());
-        usageLog.setDuration(duration);
-        usageLog.setChangeType(ChangeType.DEDUCT.getCode());
-        usageLog.setCreatedAt(LocalDateTime.now());
-        leaveUsageLogMapper.insert(usageLog);
+        leaveUsageLogMapper.insert(buildUsageLog(employeeId, requestId, duration, ChangeType.DEDUCT));
 
         log.info("年假余额扣减成功");
     }
@@ -153,27 +139,27 @@ public class LeaveBalanceServiceImpl extends ServiceImpl<LeaveBalanceMapper, Lea
     public void rollbackBalance(String employeeId, Integer year, BigDecimal duration, String requestId) {
         log.info("回退年假余额,员工ID: {}, 年份: {}, 时长: {}, 申请ID: {}", employeeId, year, duration, requestId);
 
-        LeaveBalance balance = leaveBalanceMapper.selectByEmployeeIdAndYear(employeeId, year);
-
-        if (balance == null) {
-            throw new BusinessException(3007, "年假记录不存在");
+        if (leaveBalanceMapper.restoreAnnual(employeeId, year, duration) == 0) {
+            if (leaveBalanceMapper.selectByEmployeeIdAndYear(employeeId, year) == null) {
+                throw new BusinessException(3007, "年假记录不存在");
+            }
+            throw new BusinessException(3019, "回退天数超过已使用天数");
         }
 
-        balance.setAnnualUsed(balance.getAnnualUsed().subtract(duration));
-        balance.setAnnualRemaining(balance.getAnnualRemaining().add(duration));
-        balance.setUpdatedAt(LocalDateTime.now());
-        leaveBalanceMapper.updateById(balance);
+        leaveUsageLogMapper.insert(buildUsageLog(employeeId, requestId, duration, ChangeType.ROLLBACK));
 
+        log.info("年假余额回退成功");
+    }
+
+    private LeaveUsageLog buildUsageLog(String employeeId, String requestId, BigDecimal duration, ChangeType changeType) {
         LeaveUsageLog usageLog = new LeaveUsageLog();
         usageLog.setEmployeeId(employeeId);
         usageLog.setRequestId(requestId);
         usageLog.setType(LeaveType.ANNUAL.getCode());
         usageLog.setDuration(duration);
-        usageLog.setChangeType(ChangeType.ROLLBACK.getCode());
+        usageLog.setChangeType(changeType.getCode());
         usageLog.setCreatedAt(LocalDateTime.now());
-        leaveUsageLogMapper.insert(usageLog);
-
-        log.info("年假余额回退成功");
+        return usageLog;
     }
 
     @Override
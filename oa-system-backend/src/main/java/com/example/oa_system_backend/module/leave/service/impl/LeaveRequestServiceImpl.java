@@ -10,18 +10,22 @@ import com.example.oa_system_backend.module.department.entity.Department;
 import com.example.oa_system_backend.module.department.mapper.DepartmentMapper;
 import com.example.oa_system_backend.module.employee.entity.Employee;
 import com.example.oa_system_backend.module.employee.mapper.EmployeeMapper;
+import com.example.oa_system_backend.module.employee.util.OrgRoutingIndex;
 import com.example.oa_system_backend.module.leave.dto.*;
 import com.example.oa_system_backend.module.leave.entity.LeaveApproval;
 import com.example.oa_system_backend.module.leave.entity.LeaveRequest;
 import com.example.oa_system_backend.module.leave.enums.ApprovalStatus;
 import com.example.oa_system_backend.module.leave.enums.LeaveStatus;
 import com.example.oa_system_backend.module.leave.enums.LeaveType;
+import com.example.oa_system_backend.module.leave.mapper.LeaveApprovalMapper;
 import com.example.oa_system_backend.module.leave.mapper.LeaveRequestMapper;
 import com.example.oa_system_backend.module.leave.service.LeaveApprovalService;
 import com.example.oa_system_backend.module.leave.service.LeaveBalanceService;
 import com.example.oa_system_backend.module.leave.service.LeaveRequestService;
+import com.example.oa_system_backend.module.leave.util.AbsenceCalendar;
 import com.example.oa_system_backend.module.leave.util.LeaveDurationCalculator;
 import com.example.oa_system_backend.module.leave.util.LeaveIdGenerator;
+import com.example.oa_system_backend.module.leave.util.LeaveStatisticsRollup;
 import com.example.oa_system_backend.module.leave.vo.*;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -31,6 +35,7 @@ import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -45,11 +50,15 @@ public class LeaveRequestServiceImpl extends ServiceImpl<LeaveRequestMapper, Lea
 
     private final LeaveRequestMapper leaveRequestMapper;
     private final LeaveApprovalService leaveApprovalService;
+    private final LeaveApprovalMapper leaveApprovalMapper;
     private final LeaveBalanceService leaveBalanceService;
     private final EmployeeMapper employeeMapper;
     private final DepartmentMapper departmentMapper;
     private final LeaveDurationCalculator durationCalculator;
     private final LeaveIdGenerator idGenerator;
+    private final OrgRoutingIndex orgRoutingIndex;
+    private final LeaveStatisticsRollup leaveStatisticsRollup;
+    private final AbsenceCalendar absenceCalendar;
     private final com.example.oa_system_backend.module.leave.util.LeaveDictLabelUtil dictLabelUtil;
     private final ObjectMapper objectMapper;
 
@@ -183,6 +192,7 @@ public class LeaveRequestServiceImpl extends ServiceImpl<LeaveRequestMapper, Lea
         leaveRequest.setDuration(duration);
 
         leaveRequestMapper.insert(leaveRequest);
+        leaveStatisticsRollup.apply(null, LeaveStatisticsRollup.cellOf(leaveRequest));
 
         log.info("请假申请创建成功,申请ID: {}", leaveRequest.getId());
         return leaveRequest.getId();
@@ -199,6 +209,7 @@ public class LeaveRequestServiceImpl extends ServiceImpl<LeaveRequestMapper, Lea
         }
 
         validateUpdateRequest(leaveRequest, request);
+        LeaveStatisticsRollup.Cell before = LeaveStatisticsRollup.cellOf(leaveRequest);
 
         if (request.getType() != null) {
             leaveRequest.setType(request.getType());
@@ -233,6 +244,7 @@ public class LeaveRequestServiceImpl extends ServiceImpl<LeaveRequestMapper, Lea
 
         leaveRequest.setUpdatedAt(LocalDateTime.now());
         leaveRequestMapper.updateById(leaveRequest);
+        leaveStatisticsRollup.apply(before, LeaveStatisticsRollup.cellOf(leaveRequest));
 
         log.info("请假申请更新成功,申请ID: {}", id);
         return leaveRequest;
@@ -251,6 +263,7 @@ public class LeaveRequestServiceImpl extends ServiceImpl<LeaveRequestMapper, Lea
         validateDeleteRequest(leaveRequest);
 
         leaveRequestMapper.deleteById(id);
+        leaveStatisticsRollup.apply(LeaveStatisticsRollup.cellOf(leaveRequest), null);
 
         log.info("请假申请删除成功,申请ID: {}", id);
     }
@@ -266,6 +279,7 @@ public class LeaveRequestServiceImpl extends ServiceImpl<LeaveRequestMapper, Lea
         }
 
         validateSubmitRequest(request);
+        LeaveStatisticsRollup.Cell before = LeaveStatisticsRollup.cellOf(request);
 
         if (LeaveType.ANNUAL.getCode().equals(request.getType())) {
             Integer year = request.getStartTime().getYear();
@@ -285,6 +299,8 @@ public class LeaveRequestServiceImpl extends ServiceImpl<LeaveRequestMapper, Lea
         request.setCurrentApprovalLevel(1);
         request.setUpdatedAt(LocalDateTime.now());
         leaveRequestMapper.updateById(request);
+        leaveStatisticsRollup.apply(before, LeaveStatisticsRollup.cellOf(request));
+        absenceCalendar.refreshEmployeeAfterCommit(request.getApplicantId());
 
         log.info("请假申请提交成功,申请ID: {}", id);
     }
@@ -300,12 +316,15 @@ public class LeaveRequestServiceImpl extends ServiceImpl<LeaveRequestMapper, Lea
         }
 
         validateCancelRequest(request);
+        LeaveStatisticsRollup.Cell before = LeaveStatisticsRollup.cellOf(request);
 
         cancelWorkflow(request);
 
         request.setStatus(LeaveStatus.CANCELLED.getCode());
         request.setUpdatedAt(LocalDateTime.now());
         leaveRequestMapper.updateById(request);
+        leaveStatisticsRollup.apply(before, LeaveStatisticsRollup.cellOf(request));
+        absenceCalendar.refreshEmployeeAfterCommit(request.getApplicantId());
 
         log.info("请假申请撤销成功,申请ID: {}", id);
     }
@@ -354,13 +373,13 @@ public class LeaveRequestServiceImpl extends ServiceImpl<LeaveRequestMapper, Lea
             }
         }
 
-        Long conflictCount = leaveRequestMapper.countTimeConflict(
+        boolean conflict = absenceCalendar.hasConflict(
                 request.getApplicantId(),
                 updateRequest.getStartTime() != null ? updateRequest.getStartTime() : request.getStartTime(),
                 updateRequest.getEndTime() != null ? updateRequest.getEndTime() : request.getEndTime(),
                 request.getId()
         );
-        if (conflictCount > 0) {
+        if (conflict) {
             throw new BusinessException(3003, "请假时间冲突");
         }
     }
@@ -377,13 +396,13 @@ public class LeaveRequestServiceImpl extends ServiceImpl<LeaveRequestMapper, Lea
             throw new BusinessException(3005, "只能提交草稿或已拒绝状态的申请");
         }
 
-        Long conflictCount = leaveRequestMapper.countTimeConflict(
+        boolean conflict = absenceCalendar.hasConflict(
                 request.getApplicantId(),
                 request.getStartTime(),
                 request.getEndTime(),
                 request.getId()
         );
-        if (conflictCount > 0) {
+        if (conflict) {
             throw new BusinessException(3003, "请假时间冲突");
         }
     }
@@ -400,47 +419,58 @@ public class LeaveRequestServiceImpl extends ServiceImpl<LeaveRequestMapper, Lea
         }
     }
 
+    /**
+     * 审批人从审批路由索引中解析，索引中没有时回查数据库；任一级别找不到审批人时拒绝提交，全部级别一次批量写入
+     */
     private void startWorkflow(LeaveRequest request) {
         Integer totalLevels = calculateTotalApprovalLevels(request.getDuration());
-        Employee applicant = employeeMapper.selectById(request.getApplicantId());
+        OrgRoutingIndex.OrgMember applicant = orgRoutingIndex.getOrLoadMember(request.getApplicantId());
         if (applicant == null) {
             throw new BusinessException(3008, "申请人不存在");
         }
 
+        LocalDateTime now = LocalDateTime.now();
+        List<LeaveApproval> approvals = new ArrayList<>(totalLevels);
         for (int level = 1; level <= totalLevels; level++) {
             LeaveApproval approval = new LeaveApproval();
             approval.setRequestId(request.getId());
             approval.setApprovalLevel(level);
             approval.setStatus(ApprovalStatus.PENDING.getCode());
-            approval.setTimestamp(LocalDateTime.now());
-
-            Employee approver = null;
-            if (level == 1) {
-                approver = employeeMapper.selectById(applicant.getManagerId());
-            } else if (level == 2) {
-                if (applicant.getDepartmentId() != null) {
-                    Department department = departmentMapper.selectById(applicant.getDepartmentId());
-                    if (department != null && department.getLeaderId() != null) {
-                        approver = employeeMapper.selectById(department.getLeaderId());
-                    }
-                }
-            } else if (level == 3) {
-                QueryWrapper<Employee> wrapper = new QueryWrapper<>();
-                wrapper.like("position", "经理");
-                wrapper.orderByDesc("level");
-                wrapper.last("LIMIT 1");
-                approver = employeeMapper.selectOne(wrapper);
-            }
+            approval.setTimestamp(now);
 
-            if (approver != null) {
-                approval.setApproverId(approver.getId());
-                approval.setApproverName(approver.getName());
-            } else {
+            OrgRoutingIndex.OrgMember approver = resolveApprover(applicant, level);
+            if (approver == null) {
                 log.warn("审批级别{}未找到审批人，申请ID: {}", level, request.getId());
+                throw new BusinessException(3021, "第" + level + "级审批未找到审批人，请联系管理员");
             }
+            approval.setApproverId(approver.getId());
+            approval.setApproverName(approver.getName());
+            approvals.add(approval);
+        }
+        leaveApprovalMapper.insertBatch(approvals);
+    }
+
+    /**
+     * 1级：直属上级；2级：部门负责人；3级：人事审批人
+     * 上级、部门和部门负责人在索引中没有时（如其他实例刚新增）回查数据库
+     */
+    private OrgRoutingIndex.OrgMember resolveApprover(OrgRoutingIndex.OrgMember applicant, int level) {
+        if (level == 1) {
+            return orgRoutingIndex.getOrLoadMember(applicant.getManagerId());
+        } else if (level == 2) {
+            return orgRoutingIndex.getOrLoadMember(getDepartmentLeaderId(applicant.getDepartmentId()));
+        } else if (level == 3) {
+            return orgRoutingIndex.getHrApprover();
+        }
+        return null;
+    }
 
-            leaveApprovalService.save(approval);
+    private String getDepartmentLeaderId(String departmentId) {
+        if (departmentId == null || orgRoutingIndex.containsDepartment(departmentId)) {
+            return orgRoutingIndex.getDepartmentLeaderId(departmentId);
         }
+        Department department = departmentMapper.selectById(departmentId);
+        return department != null ? department.getLeaderId() : null;
     }
 
     private void cancelWorkflow(LeaveRequest request) {
@@ -1,82 +1,85 @@
 package com.example.oa_system_backend.module.leave.service.impl;
 
 import com.example.oa_system_backend.module.leave.dto.LeaveQueryRequest;
-import com.example.oa_system_backend.module.leave.mapper.LeaveRequestMapper;
+import com.example.oa_system_backend.module.leave.entity.LeaveStatsMonthly;
+import com.example.oa_system_backend.module.leave.enums.LeaveStatus;
+import com.example.oa_system_backend.module.leave.mapper.LeaveStatsMonthlyMapper;
 import com.example.oa_system_backend.module.leave.service.LeaveStatisticsService;
+import com.example.oa_system_backend.module.leave.util.LeaveStatisticsRollup;
 import com.example.oa_system_backend.module.leave.vo.LeaveStatisticsVO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class LeaveStatisticsServiceImpl implements LeaveStatisticsService {
 
-    private final LeaveRequestMapper leaveRequestMapper;
+    private final LeaveStatsMonthlyMapper leaveStatsMonthlyMapper;
 
+    /**
+     * 一次查询请假月度汇总，单次遍历得到按类型、按状态、按月份的统计
+     * 按类型和按月份只统计已通过的申请，按状态统计全部申请
+     */
     @Override
     public LeaveStatisticsVO getStatistics(LeaveQueryRequest query) {
         log.info("获取请假统计,查询条件: {}", query);
 
-        LeaveStatisticsVO statistics = new LeaveStatisticsVO();
+        String startMonth;
+        String endMonth;
+        if (query.getStartDate() != null && query.getEndDate() != null) {
+            startMonth = query.getStartDate().format(LeaveStatisticsRollup.MONTH_FORMATTER);
+            endMonth = query.getEndDate().format(LeaveStatisticsRollup.MONTH_FORMATTER);
+        } else {
+            int year = query.getYear() != null ? query.getYear() : LocalDate.now().getYear();
+            startMonth = year + "-01";
+            endMonth = year + "-12";
+        }
 
-        Integer currentYear = LocalDate.now().getYear();
+        List<LeaveStatsMonthly> rows = leaveStatsMonthlyMapper.selectRollup(
+                query.getApplicantId(), query.getDepartmentId(), startMonth, endMonth);
 
-        List<Map<String, Object>> byTypeList = leaveRequestMapper.selectStatisticsByType(
-                query.getApplicantId() != null ? query.getApplicantId() : "ALL",
-                query.getYear() != null ? query.getYear() : currentYear
-        );
         Map<String, Integer> byType = new HashMap<>();
-        byTypeList.forEach(item -> {
-            String type = (String) item.get("type");
-            Long count = ((Number) item.get("count")).longValue();
-            byType.put(type, count.intValue());
-        });
-        statistics.setByType(byType);
-
-        List<Map<String, Object>> byStatusList = leaveRequestMapper.selectStatisticsByStatus(
-                query.getApplicantId() != null ? query.getApplicantId() : "ALL",
-                query.getYear() != null ? query.getYear() : currentYear
-        );
         Map<String, Integer> byStatus = new HashMap<>();
-        byStatusList.forEach(item -> {
-            String status = (String) item.get("status");
-            Long count = ((Number) item.get("count")).longValue();
-            byStatus.put(status, count.intValue());
-        });
-        statistics.setByStatus(byStatus);
-
-        List<Map<String, Object>> byMonthList = leaveRequestMapper.selectStatisticsByMonth(
-                query.getApplicantId() != null ? query.getApplicantId() : "ALL",
-                query.getYear() != null ? query.getYear() : currentYear
-        );
-
-        List<LeaveStatisticsVO.MonthlyData> monthlyData = byMonthList.stream()
-                .map(item -> {
-                    LeaveStatisticsVO.MonthlyData data = new LeaveStatisticsVO.MonthlyData();
-                    data.setMonth((String) item.get("month"));
-                    data.setCount(((Number) item.get("count")).intValue());
-                    data.setDuration(new java.math.BigDecimal(item.get("duration").toString()));
-                    return data;
-                })
-                .collect(java.util.stream.Collectors.toList());
-
-        statistics.setMonthlyData(monthlyData);
+        Map<String, LeaveStatisticsVO.MonthlyData> byMonth = new TreeMap<>();
+        int totalRequests = 0;
+        BigDecimal totalDuration = BigDecimal.ZERO;
+        for (LeaveStatsMonthly row : rows) {
+            int count = row.getRequestCount() != null ? row.getRequestCount() : 0;
+            BigDecimal duration = row.getTotalDuration() != null ? row.getTotalDuration() : BigDecimal.ZERO;
+            byStatus.merge(row.getStatus(), count, Integer::sum);
+            totalRequests += count;
+            if (!LeaveStatus.APPROVED.getCode().equals(row.getStatus())) {
+                continue;
+            }
+            byType.merge(row.getType(), count, Integer::sum);
+            LeaveStatisticsVO.MonthlyData data = byMonth.computeIfAbsent(row.getMonth(), month -> {
+                LeaveStatisticsVO.MonthlyData monthly = new LeaveStatisticsVO.MonthlyData();
+                monthly.setMonth(month);
+                monthly.setCount(0);
+                monthly.setDuration(BigDecimal.ZERO);
+                return monthly;
+            });
+            data.setCount(data.getCount() + count);
+            data.setDuration(data.getDuration().add(duration));
+            totalDuration = totalDuration.add(duration);
+        }
 
-        Integer totalRequests = byStatus.values().stream().mapToInt(Integer::intValue).sum();
+        LeaveStatisticsVO statistics = new LeaveStatisticsVO();
+        statistics.setByType(byType);
+        statistics.setByStatus(byStatus);
+        statistics.setMonthlyData(new ArrayList<>(byMonth.values()));
         statistics.setTotalRequests(totalRequests);
-
-        java.math.BigDecimal totalDuration = byMonthList.stream()
-                .map(item -> new java.math.BigDecimal(item.get("duration").toString()))
-                .reduce(java.math.BigDecimal.ZERO, java.math.BigDecimal::add);
         statistics.setTotalDuration(totalDuration);
-
         return statistics;
     }
 
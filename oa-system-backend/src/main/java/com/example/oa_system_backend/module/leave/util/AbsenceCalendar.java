@@ -0,0 +1,219 @@
+package com.example.oa_system_backend.module.leave.util;
+
+import com.example.oa_system_backend.common.utils.ReloadableSnapshot;
+import com.example.oa_system_backend.common.utils.TransactionUtils;
+import com.example.oa_system_backend.module.leave.entity.LeaveRequest;
+import com.example.oa_system_backend.module.leave.enums.LeaveStatus;
+import com.example.oa_system_backend.module.leave.mapper.LeaveRequestMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 团队请假日历
+ * 每个员工每年一张半天粒度的已通过请假位图：第 n 天上午为第 2(n-1) 位、下午为第 2(n-1)+1 位。
+ * 只加载上一年1月1日至下一年12月31日的请假，窗口外的查询直接查库；请假提交、审批、驳回、撤销在事务提交后只重新查询该员工。
+ * 部门请假日历只做位运算；请假时间冲突校验每次按申请人和时间范围查库，不依赖快照，其他实例的提交和加载失败都不影响结果。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AbsenceCalendar extends ReloadableSnapshot {
+
+    private final LeaveRequestMapper leaveRequestMapper;
+
+    /**
+     * 当前快照，变更时整体替换；加载成功前窗口为空，全部查询走数据库
+     */
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    @Override
+    public synchronized void reload() {
+        int year = LocalDate.now().getYear();
+        LocalDate from = LocalDate.of(year - 1, 1, 1);
+        LocalDate to = LocalDate.of(year + 2, 1, 1);
+        List<LeaveRequest> requests = leaveRequestMapper.selectActiveAbsences(null, from.atStartOfDay(), to.atStartOfDay());
+        Map<String, Map<Integer, BitSet>> calendars = new HashMap<>();
+        int approved = 0;
+        for (LeaveRequest request : requests) {
+            if (LeaveStatus.APPROVED.getCode().equals(request.getStatus())) {
+                mark(calendars.computeIfAbsent(request.getApplicantId(), k -> new HashMap<>()),
+                        request.getStartTime(), request.getEndTime());
+                approved++;
+            }
+        }
+        snapshot = new Snapshot(from, to, calendars);
+        log.info("团队请假日历加载完成, 窗口: {} ~ {}, 员工数: {}, 已通过请假数: {}", from, to.minusDays(1), calendars.size(), approved);
+    }
+
+    @Override
+    protected String name() {
+        return "团队请假日历";
+    }
+
+    /**
+     * 请假提交、审批、驳回、撤销：事务提交后只刷新该员工，无事务时立即刷新
+     */
+    public void refreshEmployeeAfterCommit(String employeeId) {
+        TransactionUtils.afterCommit(() -> refreshEmployee(employeeId));
+    }
+
+    /**
+     * 与该员工待审批、审批中、已通过的请假是否有重叠的半天
+     * 按申请人查询所涉日期内的请假后做位运算，结果以数据库为准
+     *
+     * @param excludeId 不参与比较的请假申请ID，可以为 null
+     */
+    public boolean hasConflict(String employeeId, LocalDateTime startTime, LocalDateTime endTime, String excludeId) {
+        if (employeeId == null || startTime == null || endTime == null) {
+            return false;
+        }
+        List<LeaveRequest> absences = leaveRequestMapper.selectActiveAbsences(employeeId,
+                startTime.toLocalDate().atStartOfDay(), endTime.toLocalDate().plusDays(1).atStartOfDay());
+        Map<Integer, BitSet> occupied = new HashMap<>();
+        for (LeaveRequest absence : absences) {
+            if (excludeId == null || !excludeId.equals(absence.getId())) {
+                mark(occupied, absence.getStartTime(), absence.getEndTime());
+            }
+        }
+        Map<Integer, BitSet> candidate = new HashMap<>();
+        mark(candidate, startTime, endTime);
+        for (Map.Entry<Integer, BitSet> entry : candidate.entrySet()) {
+            BitSet slots = occupied.get(entry.getKey());
+            if (slots != null && slots.intersects(entry.getValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * [startDate, endDate] 内已通过请假的半天位图，第 0 位为 startDate 上午；超出加载窗口时查库
+     */
+    public BitSet getApprovedSlots(String employeeId, LocalDate startDate, LocalDate endDate) {
+        Snapshot current = snapshot;
+        if (current.covers(startDate, endDate)) {
+            return slice(current.calendars.getOrDefault(employeeId, Map.of()), startDate, endDate);
+        }
+        List<LeaveRequest> absences = leaveRequestMapper.selectActiveAbsences(employeeId,
+                startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+        return slice(approvedOf(absences), startDate, endDate);
+    }
+
+    private synchronized void refreshEmployee(String employeeId) {
+        Snapshot current = snapshot;
+        if (current.from == null) {
+            return;
+        }
+        List<LeaveRequest> absences = leaveRequestMapper.selectActiveAbsences(employeeId,
+                current.from.atStartOfDay(), current.to.atStartOfDay());
+        Map<Integer, BitSet> approved = approvedOf(absences);
+        Map<String, Map<Integer, BitSet>> updated = new HashMap<>(current.calendars);
+        if (approved.isEmpty()) {
+            updated.remove(employeeId);
+        } else {
+            updated.put(employeeId, approved);
+        }
+        snapshot = new Snapshot(current.from, current.to, updated);
+        log.debug("刷新团队请假日历: employeeId={}, 请假数: {}", employeeId, absences.size());
+    }
+
+    /**
+     * 已通过请假按年标记的半天位图
+     */
+    private static Map<Integer, BitSet> approvedOf(List<LeaveRequest> absences) {
+        Map<Integer, BitSet> approved = new HashMap<>();
+        for (LeaveRequest absence : absences) {
+            if (LeaveStatus.APPROVED.getCode().equals(absence.getStatus())) {
+                mark(approved, absence.getStartTime(), absence.getEndTime());
+            }
+        }
+        return approved;
+    }
+
+    /**
+     * 截取 [startDate, endDate] 的半天位图，第 0 位为 startDate 上午
+     */
+    private static BitSet slice(Map<Integer, BitSet> approved, LocalDate startDate, LocalDate endDate) {
+        BitSet result = new BitSet();
+        for (int year = startDate.getYear(); year <= endDate.getYear(); year++) {
+            BitSet slots = approved.get(year);
+            if (slots == null) {
+                continue;
+            }
+            LocalDate firstDay = year == startDate.getYear() ? startDate : LocalDate.of(year, 1, 1);
+            LocalDate lastDay = year == endDate.getYear() ? endDate : LocalDate.of(year, 12, 31);
+            BitSet range = slots.get(slotOf(firstDay, false), slotOf(lastDay, true) + 1);
+            int offset = (int) ChronoUnit.DAYS.between(startDate, firstDay) * 2;
+            if (offset == 0) {
+                result.or(range);
+            } else {
+                for (int i = range.nextSetBit(0); i >= 0; i = range.nextSetBit(i + 1)) {
+                    result.set(offset + i);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 某天上午或下午在所在年份位图中的位置
+     */
+    private static int slotOf(LocalDate date, boolean afternoon) {
+        return (date.getDayOfYear() - 1) * 2 + (afternoon ? 1 : 0);
+    }
+
+    /**
+     * 按年标记请假占用的半天：12点及以后开始的从下午算起，12点及以前结束的到上午为止，0点结束的到前一天下午为止
+     */
+    private static void mark(Map<Integer, BitSet> target, LocalDateTime startTime, LocalDateTime endTime) {
+        LocalDate startDate = startTime.toLocalDate();
+        boolean startAfternoon = !startTime.toLocalTime().isBefore(LocalTime.NOON);
+        LocalDate endDate = endTime.toLocalDate();
+        boolean endAfternoon = endTime.toLocalTime().isAfter(LocalTime.NOON);
+        if (endTime.toLocalTime().equals(LocalTime.MIDNIGHT) && endTime.isAfter(startTime)) {
+            endDate = endDate.minusDays(1);
+            endAfternoon = true;
+        }
+        for (int year = startDate.getYear(); year <= endDate.getYear(); year++) {
+            int from = year == startDate.getYear() ? slotOf(startDate, startAfternoon) : 0;
+            int to = year == endDate.getYear()
+                    ? slotOf(endDate, endAfternoon)
+                    : slotOf(LocalDate.of(year, 12, 31), true);
+            if (from <= to) {
+                target.computeIfAbsent(year, k -> new BitSet()).set(from, to + 1);
+            }
+        }
+    }
+
+    /**
+     * 加载窗口 [from, to) 和窗口内各员工的已通过请假位图，构建后不再修改
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(null, null, Map.of());
+
+        private final LocalDate from;
+        private final LocalDate to;
+        private final Map<String, Map<Integer, BitSet>> calendars;
+
+        Snapshot(LocalDate from, LocalDate to, Map<String, Map<Integer, BitSet>> calendars) {
+            this.from = from;
+            this.to = to;
+            this.calendars = calendars;
+        }
+
+        boolean covers(LocalDate startDate, LocalDate endDate) {
+            return from != null && !startDate.isBefore(from) && endDate.isBefore(to);
+        }
+    }
+}
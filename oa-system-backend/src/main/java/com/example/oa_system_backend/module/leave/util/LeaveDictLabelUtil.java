@@ -1,21 +1,23 @@
 package com.example.oa_system_backend.module.leave.util;
 
 import com.example.oa_system_backend.module.dict.service.DictService;
-import com.example.oa_system_backend.module.dict.vo.DictDataVO;
+import com.example.oa_system_backend.module.dict.util.DictLabels;
 import com.example.oa_system_backend.module.leave.vo.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class LeaveDictLabelUtil {
 
+    private static final List<String> LEAVE_REQUEST_DICT_TYPES = List.of("leave_type", "leave_status");
+
+    private static final List<String> APPROVAL_DICT_TYPES = List.of("approval_status");
+
     private final DictService dictService;
 
     public void fillDictLabels(LeaveRequestVO vo) {
@@ -84,33 +86,22 @@ public class LeaveDictLabelUtil {
         }
     }
 
+    /**
+     * 整页只取一次标签映射，逐行哈希查找
+     */
     public void fillDictLabelsForList(List<LeaveRequestVO> voList) {
         if (voList == null || voList.isEmpty()) {
             return;
         }
 
         try {
-            DictDataVO typeDict = dictService.getDictData("leave_type");
-            DictDataVO statusDict = dictService.getDictData("leave_status");
-
-            Map<String, String> typeLabelMap = typeDict.getItems().stream()
-                    .collect(Collectors.toMap(
-                            com.example.oa_system_backend.module.dict.vo.DictItemVO::getValue,
-                            com.example.oa_system_backend.module.dict.vo.DictItemVO::getLabel
-                    ));
-
-            Map<String, String> statusLabelMap = statusDict.getItems().stream()
-                    .collect(Collectors.toMap(
-                            com.example.oa_system_backend.module.dict.vo.DictItemVO::getValue,
-                            com.example.oa_system_backend.module.dict.vo.DictItemVO::getLabel
-                    ));
-
+            DictLabels labels = dictService.getDictLabels(LEAVE_REQUEST_DICT_TYPES);
             for (LeaveRequestVO vo : voList) {
                 if (vo.getType() != null) {
-                    vo.setTypeLabel(typeLabelMap.getOrDefault(vo.getType(), vo.getType()));
+                    vo.setTypeLabel(labels.label("leave_type", vo.getType()));
                 }
                 if (vo.getStatus() != null) {
-                    vo.setStatusLabel(statusLabelMap.getOrDefault(vo.getStatus(), vo.getStatus()));
+                    vo.setStatusLabel(labels.label("leave_status", vo.getStatus()));
                 }
             }
         } catch (Exception e) {
@@ -124,17 +115,10 @@ public class LeaveDictLabelUtil {
         }
 
         try {
-            DictDataVO statusDict = dictService.getDictData("approval_status");
-
-            Map<String, String> statusLabelMap = statusDict.getItems().stream()
-                    .collect(Collectors.toMap(
-                            com.example.oa_system_backend.module.dict.vo.DictItemVO::getValue,
-                            com.example.oa_system_backend.module.dict.vo.DictItemVO::getLabel
-                    ));
-
+            DictLabels labels = dictService.getDictLabels(APPROVAL_DICT_TYPES);
             for (ApprovalRecordVO vo : voList) {
                 if (vo.getStatus() != null) {
-                    vo.setStatusLabel(statusLabelMap.getOrDefault(vo.getStatus(), vo.getStatus()));
+                    vo.setStatusLabel(labels.label("approval_status", vo.getStatus()));
                 }
             }
         } catch (Exception e) {
@@ -148,14 +132,7 @@ public class LeaveDictLabelUtil {
         }
 
         try {
-            DictDataVO dictData = dictService.getDictData(dictTypeCode);
-            if (dictData != null && dictData.getItems() != null) {
-                return dictData.getItems().stream()
-                        .filter(item -> value.equals(item.getValue()))
-                        .findFirst()
-                        .map(com.example.oa_system_backend.module.dict.vo.DictItemVO::getLabel)
-                        .orElse(value);
-            }
+            return dictService.getDictLabelMap(dictTypeCode).getOrDefault(value, value);
         } catch (Exception e) {
             log.error("获取字典标签失败: dictTypeCode={}, value={}", dictTypeCode, value, e);
         }
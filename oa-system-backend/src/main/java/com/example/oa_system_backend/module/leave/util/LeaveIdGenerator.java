@@ -1,26 +1,30 @@
 package com.example.oa_system_backend.module.leave.util;
 
+import com.example.oa_system_backend.common.utils.SegmentIdGenerator;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.concurrent.atomic.AtomicLong;
+import java.time.LocalDate;
 
+/**
+ * 请假单号生成器: LR + yyyyMMdd + 4位序号
+ */
 @Component
+@RequiredArgsConstructor
 public class LeaveIdGenerator {
 
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
-    private static final AtomicLong SEQUENCE = new AtomicLong(0);
+    private static final String TABLE = "approval_leave_request";
+    private static final String PREFIX = "LR";
+    private static final int SEQUENCE_WIDTH = 4;
+    private static final int SEGMENT_STEP = 20;
+
+    private final SegmentIdGenerator segmentIdGenerator;
 
     public String generate() {
-        String datePart = LocalDateTime.now().format(DATE_FORMATTER);
-        long sequence = SEQUENCE.incrementAndGet() % 10000;
-        return "LR" + datePart + String.format("%04d", sequence);
+        return generateWithPrefix(PREFIX);
     }
 
     public String generateWithPrefix(String prefix) {
-        String datePart = LocalDateTime.now().format(DATE_FORMATTER);
-        long sequence = SEQUENCE.incrementAndGet() % 10000;
-        return prefix + datePart + String.format("%04d", sequence);
+        return segmentIdGenerator.nextDailyId(TABLE, prefix, LocalDate.now(), SEQUENCE_WIDTH, SEGMENT_STEP);
     }
 }
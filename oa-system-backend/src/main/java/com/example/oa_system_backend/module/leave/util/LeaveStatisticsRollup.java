@@ -0,0 +1,118 @@
+package com.example.oa_system_backend.module.leave.util;
+
+import com.example.oa_system_backend.module.leave.entity.LeaveRequest;
+import com.example.oa_system_backend.module.leave.entity.LeaveStatsMonthly;
+import com.example.oa_system_backend.module.leave.mapper.LeaveStatsMonthlyMapper;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 请假月度汇总
+ * 按 员工×部门×月份×类型×状态 维护申请数和时长合计，请假申请新建、修改、提交、审批、撤销、删除时在同一事务内按差量更新；
+ * 统计接口只查询汇总表，不再扫描请假申请。每天凌晨按请假申请全量重建一次，纠正可能的漂移并清理计数为0的行。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LeaveStatisticsRollup {
+
+    public static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final LeaveStatsMonthlyMapper leaveStatsMonthlyMapper;
+
+    /**
+     * 请假申请当前所在的汇总单元，申请为 null 或缺少开始时间、类型、状态时返回 null
+     * 请假申请会被原地修改，变更前的单元需要在修改前取出
+     */
+    public static Cell cellOf(LeaveRequest request) {
+        if (request == null || request.getApplicantId() == null || request.getStartTime() == null
+                || request.getType() == null || request.getStatus() == null) {
+            return null;
+        }
+        return new Cell(request.getApplicantId(),
+                request.getDepartmentId() != null ? request.getDepartmentId() : "",
+                request.getStartTime().format(MONTH_FORMATTER),
+                request.getType(),
+                request.getStatus(),
+                request.getDuration() != null ? request.getDuration() : BigDecimal.ZERO);
+    }
+
+    /**
+     * 从变更前的单元移到变更后的单元，新建时 before 为 null，删除时 after 为 null；单元未变化时不写库
+     */
+    public void apply(Cell before, Cell after) {
+        if (before != null && before.sameAs(after)) {
+            return;
+        }
+        if (before != null) {
+            leaveStatsMonthlyMapper.applyDelta(before.toDelta(-1));
+        }
+        if (after != null) {
+            leaveStatsMonthlyMapper.applyDelta(after.toDelta(1));
+        }
+    }
+
+    /**
+     * 全量重建 - 每天凌晨2:30执行
+     * 删除与重建在同一事务内，INSERT ... SELECT 期间并发的差量更新等待其提交后再累加
+     */
+    @Scheduled(cron = "0 30 2 * * ?")
+    @Transactional(rollbackFor = Exception.class)
+    public void reconcile() {
+        int deleted = leaveStatsMonthlyMapper.deleteAll();
+        int inserted = leaveStatsMonthlyMapper.insertFromRequests();
+        log.info("请假月度汇总重建完成, 原行数: {}, 新行数: {}", deleted, inserted);
+    }
+
+    /**
+     * 单个汇总单元，构建后不再修改
+     */
+    @Getter
+    public static final class Cell {
+
+        private final String employeeId;
+        private final String departmentId;
+        private final String month;
+        private final String type;
+        private final String status;
+        private final BigDecimal duration;
+
+        Cell(String employeeId, String departmentId, String month, String type, String status, BigDecimal duration) {
+            this.employeeId = employeeId;
+            this.departmentId = departmentId;
+            this.month = month;
+            this.type = type;
+            this.status = status;
+            this.duration = duration;
+        }
+
+        boolean sameAs(Cell other) {
+            return other != null
+                    && employeeId.equals(other.employeeId)
+                    && departmentId.equals(other.departmentId)
+                    && month.equals(other.month)
+                    && type.equals(other.type)
+                    && status.equals(other.status)
+                    && duration.compareTo(other.duration) == 0;
+        }
+
+        LeaveStatsMonthly toDelta(int sign) {
+            LeaveStatsMonthly delta = new LeaveStatsMonthly();
+            delta.setEmployeeId(employeeId);
+            delta.setDepartmentId(departmentId);
+            delta.setMonth(month);
+            delta.setType(type);
+            delta.setStatus(status);
+            delta.setRequestCount(sign);
+            delta.setTotalDuration(sign < 0 ? duration.negate() : duration);
+            return delta;
+        }
+    }
+}
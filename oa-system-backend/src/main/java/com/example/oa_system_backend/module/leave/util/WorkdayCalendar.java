@@ -0,0 +1,153 @@
+package com.example.oa_system_backend.module.leave.util;
+
+import com.example.oa_system_backend.common.utils.ReloadableSnapshot;
+import com.example.oa_system_backend.common.utils.TransactionUtils;
+import com.example.oa_system_backend.module.leave.entity.Holiday;
+import com.example.oa_system_backend.module.leave.enums.HolidayType;
+import com.example.oa_system_backend.module.leave.mapper.HolidayMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按年预计算的工作日历
+ * 每年一份工作日前缀和数组，区间工作日数 O(1) 查询。节假日变更在事务提交后按年重建，
+ * 定时重载重建已缓存的年份，同步其他实例的节假日变更。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WorkdayCalendar extends ReloadableSnapshot {
+
+    private final HolidayMapper holidayMapper;
+
+    private final Map<Integer, YearCalendar> yearCache = new ConcurrentHashMap<>();
+
+    /**
+     * 统计 [startDate, endDate] 闭区间内的工作日天数
+     */
+    public int countWorkdays(LocalDate startDate, LocalDate endDate) {
+        int total = 0;
+        for (int year = startDate.getYear(); year <= endDate.getYear(); year++) {
+            YearCalendar calendar = getYearCalendar(year);
+            int from = year == startDate.getYear() ? startDate.getDayOfYear() : 1;
+            int to = year == endDate.getYear() ? endDate.getDayOfYear() : calendar.length();
+            total += calendar.count(from, to);
+        }
+        return total;
+    }
+
+    /**
+     * 节假日数据变更后重建对应年份，存在事务时延迟到提交之后执行
+     */
+    public void refreshYears(Integer... years) {
+        TransactionUtils.afterCommit(() -> doRefresh(years));
+    }
+
+    /**
+     * 重建当年和已缓存的年份
+     */
+    @Override
+    public void reload() {
+        Set<Integer> years = new TreeSet<>(yearCache.keySet());
+        years.add(LocalDate.now().getYear());
+        doRefresh(years.toArray(new Integer[0]));
+        log.info("工作日历加载完成, 年份: {}", years);
+    }
+
+    @Override
+    protected String name() {
+        return "工作日历";
+    }
+
+    private void doRefresh(Integer... years) {
+        for (Integer year : years) {
+            if (year != null) {
+                yearCache.put(year, buildYear(year));
+            }
+        }
+    }
+
+    /**
+     * 未缓存的年份在映射操作之外查询构建，并发构建同一年时保留先放入的结果
+     */
+    private YearCalendar getYearCalendar(int year) {
+        YearCalendar calendar = yearCache.get(year);
+        if (calendar != null) {
+            return calendar;
+        }
+        YearCalendar built = buildYear(year);
+        YearCalendar existing = yearCache.putIfAbsent(year, built);
+        return existing != null ? existing : built;
+    }
+
+    private YearCalendar buildYear(int year) {
+        LocalDate firstDay = LocalDate.of(year, 1, 1);
+        int length = firstDay.lengthOfYear();
+
+        BitSet workdays = new BitSet(length + 1);
+        for (int day = 1; day <= length; day++) {
+            if (!isWeekend(firstDay.plusDays(day - 1))) {
+                workdays.set(day);
+            }
+        }
+
+        List<Holiday> holidays = holidayMapper.selectByDateRange(firstDay, LocalDate.of(year, 12, 31));
+        for (Holiday holiday : holidays) {
+            LocalDate date = holiday.getDate();
+            if (date == null) {
+                continue;
+            }
+            if (isWeekend(date)) {
+                if (holiday.getIsWorkday() != null && holiday.getIsWorkday() == 1) {
+                    workdays.set(date.getDayOfYear());
+                }
+            } else if (HolidayType.NATIONAL.getCode().equals(holiday.getType()) ||
+                       HolidayType.COMPANY.getCode().equals(holiday.getType())) {
+                workdays.clear(date.getDayOfYear());
+            }
+        }
+
+        int[] prefix = new int[length + 1];
+        for (int day = 1; day <= length; day++) {
+            prefix[day] = prefix[day - 1] + (workdays.get(day) ? 1 : 0);
+        }
+
+        log.debug("构建工作日历完成, 年份: {}, 节假日记录: {}, 工作日: {}", year, holidays.size(), prefix[length]);
+        return new YearCalendar(prefix);
+    }
+
+    private boolean isWeekend(LocalDate date) {
+        DayOfWeek dayOfWeek = date.getDayOfWeek();
+        return dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY;
+    }
+
+    /**
+     * 单年日历，下标为 dayOfYear（从1开始），prefix[i] 为 1..i 天内的工作日数
+     */
+    private static final class YearCalendar {
+
+        private final int[] prefix;
+
+        YearCalendar(int[] prefix) {
+            this.prefix = prefix;
+        }
+
+        int length() {
+            return prefix.length - 1;
+        }
+
+        int count(int fromDay, int toDay) {
+            return prefix[toDay] - prefix[fromDay - 1];
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.oa_system_backend.module.leave.vo;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class TeamAbsenceVO {
+
+    private String departmentId;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    private Integer memberCount;
+
+    /**
+     * 范围内有请假的成员数
+     */
+    private Integer absentCount;
+
+    /**
+     * 同一天请假人数的最大值
+     */
+    private Integer maxOverlap;
+
+    private List<DailyData> dailyData;
+
+    private List<EmployeeData> employeeData;
+
+    @Data
+    public static class DailyData {
+        private LocalDate date;
+        private Integer count;
+        private List<String> employeeIds;
+    }
+
+    @Data
+    public static class EmployeeData {
+        private String employeeId;
+        private String employeeName;
+        private BigDecimal days;
+    }
+}
@@ -23,6 +23,8 @@ public interface MeetingBookingMapper extends BaseMapper<MeetingBooking> {
                                                   @Param("startDate") LocalDateTime startDate,
                                                   @Param("endDate") LocalDateTime endDate);
 
+    List<MeetingBooking> selectActiveFrom(@Param("startTime") LocalDateTime startTime);
+
     List<MeetingBooking> selectApprovedByDateRange(@Param("startTime") LocalDateTime startTime,
                                                    @Param("endTime") LocalDateTime endTime);
 
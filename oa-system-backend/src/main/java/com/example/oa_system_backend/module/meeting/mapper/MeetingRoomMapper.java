@@ -11,4 +11,9 @@ public interface MeetingRoomMapper extends BaseMapper<MeetingRoom> {
     IPage<MeetingRoom> selectPageByCondition(Page<MeetingRoom> page, @Param("status") String status);
 
     Long countActiveBookings(@Param("roomId") String roomId);
+
+    /**
+     * 查询会议室并加行锁，同一会议室的预定在事务内串行执行
+     */
+    MeetingRoom selectByIdForUpdate(@Param("id") String id);
 }
@@ -23,6 +23,7 @@ import com.example.oa_system_backend.module.meeting.mapper.MeetingAttendeeMapper
 import com.example.oa_system_backend.module.meeting.mapper.MeetingRoomMapper;
 import com.example.oa_system_backend.module.meeting.service.MeetingBookingService;
 import com.example.oa_system_backend.module.meeting.util.MeetingIdGenerator;
+import com.example.oa_system_backend.module.meeting.util.RoomOccupancyIndex;
 import com.example.oa_system_backend.module.meeting.vo.AttendeeVO;
 import com.example.oa_system_backend.module.meeting.vo.BookingDetailVO;
 import com.example.oa_system_backend.module.meeting.vo.BookingVO;
@@ -38,7 +39,12 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -51,6 +57,7 @@ public class MeetingBookingServiceImpl extends ServiceImpl<MeetingBookingMapper,
     private final MeetingAttendeeMapper attendeeMapper;
     private final MeetingRoomMapper roomMapper;
     private final MeetingIdGenerator meetingIdGenerator;
+    private final RoomOccupancyIndex occupancyIndex;
     private final EmployeeMapper employeeMapper;
     private final DepartmentMapper departmentMapper;
     private final ObjectMapper objectMapper;
@@ -59,7 +66,8 @@ public class MeetingBookingServiceImpl extends ServiceImpl<MeetingBookingMapper,
     public IPage<BookingVO> getBookingList(BookingQueryRequest query) {
         Page<MeetingBooking> pageObj = new Page<>(query.getPage(), query.getPageSize());
         IPage<MeetingBooking> result = bookingMapper.selectPageByCondition(pageObj, query);
-        return result.convert(this::convertToVO);
+        AttendeeLookup lookup = buildAttendeeLookup(result.getRecords());
+        return result.convert(booking -> convertToVO(booking, lookup));
     }
 
     @Override
@@ -90,7 +98,7 @@ public class MeetingBookingServiceImpl extends ServiceImpl<MeetingBookingMapper,
         vo.setDepartmentId(booking.getDepartmentId());
         vo.setDepartmentName(booking.getDepartmentName());
         vo.setParticipantCount(booking.getParticipantCount());
-        vo.setAttendees(parseAttendees(booking.getParticipantIds()));
+        vo.setAttendees(buildAttendeeLookup(List.of(booking)).resolve(booking.getParticipantIds()));
         vo.setAgenda(booking.getAgenda());
         vo.setEquipment(parseJsonArray(booking.getEquipment()));
         vo.setLevel(booking.getLevel());
@@ -120,7 +128,8 @@ public class MeetingBookingServiceImpl extends ServiceImpl<MeetingBookingMapper,
     @Override
     @Transactional(rollbackFor = Exception.class)
     public MeetingBooking createBooking(BookingForm form) {
-        MeetingRoom room = roomMapper.selectById(form.getRoomId());
+        // 锁定会议室行，多实例并发预定同一会议室时，数据库冲突校验和插入串行执行
+        MeetingRoom room = roomMapper.selectByIdForUpdate(form.getRoomId());
         if (room == null) {
             throw new BusinessException(5102, "会议室不存在");
         }
@@ -146,6 +155,7 @@ public class MeetingBookingServiceImpl extends ServiceImpl<MeetingBookingMapper,
             throw new BusinessException(5107, "会议时长不能超过8小时");
         }
 
+        // 内存索引可能缺少其他实例刚提交或取消的预定，冲突以锁定会议室后的数据库校验为准
         Long conflictCount = bookingMapper.countTimeConflict(
                 form.getRoomId(),
                 form.getStartTime(),
@@ -192,6 +202,7 @@ public class MeetingBookingServiceImpl extends ServiceImpl<MeetingBookingMapper,
         booking.setUpdatedAt(LocalDateTime.now());
 
         save(booking);
+        occupancyIndex.applyAfterCommit(booking);
         log.info("创建会议预定成功: {}", booking.getId());
         return booking;
     }
@@ -233,6 +244,7 @@ public class MeetingBookingServiceImpl extends ServiceImpl<MeetingBookingMapper,
 
         booking.setUpdatedAt(LocalDateTime.now());
         updateById(booking);
+        occupancyIndex.applyAfterCommit(booking);
         log.info("更新会议预定成功: {}", id);
         return booking;
     }
@@ -254,6 +266,7 @@ public class MeetingBookingServiceImpl extends ServiceImpl<MeetingBookingMapper,
         booking.setStatus(BookingStatus.CANCELLED.getCode());
         booking.setUpdatedAt(LocalDateTime.now());
         updateById(booking);
+        occupancyIndex.applyAfterCommit(booking);
         log.info("取消会议预定成功: {}", id);
     }
 
@@ -272,20 +285,32 @@ public class MeetingBookingServiceImpl extends ServiceImpl<MeetingBookingMapper,
 
         attendeeMapper.deleteByBookingId(id);
         removeById(id);
+        occupancyIndex.removeAfterCommit(booking.getRoomId(), id);
         log.info("删除会议预定成功: {}", id);
     }
 
     @Override
     public ConflictVO checkConflicts(ConflictCheckRequest request) {
-        Long count = bookingMapper.countTimeConflict(
-                request.getRoomId(),
-                request.getStartTime(),
-                request.getEndTime(),
-                request.getExcludeBookingId()
-        );
+        boolean hasConflict;
+        if (occupancyIndex.covers(request.getStartTime())) {
+            hasConflict = occupancyIndex.hasOverlap(
+                    request.getRoomId(),
+                    request.getStartTime(),
+                    request.getEndTime(),
+                    request.getExcludeBookingId()
+            );
+        } else {
+            Long count = bookingMapper.countTimeConflict(
+                    request.getRoomId(),
+                    request.getStartTime(),
+                    request.getEndTime(),
+                    request.getExcludeBookingId()
+            );
+            hasConflict = count > 0;
+        }
 
         ConflictVO vo = new ConflictVO();
-        vo.setHasConflict(count > 0);
+        vo.setHasConflict(hasConflict);
         vo.setConflicts(new ArrayList<>());
         return vo;
     }
@@ -382,6 +407,7 @@ public class MeetingBookingServiceImpl extends ServiceImpl<MeetingBookingMapper,
         booking.setUpdatedAt(now);
 
         updateById(booking);
+        occupancyIndex.applyAfterCommit(booking);
         log.info("审批会议预定完成: {}, 结果: {}", id, status);
     }
 
@@ -404,7 +430,7 @@ public class MeetingBookingServiceImpl extends ServiceImpl<MeetingBookingMapper,
         return (int) java.time.Duration.between(start, end).toMinutes();
     }
 
-    private BookingVO convertToVO(MeetingBooking booking) {
+    private BookingVO convertToVO(MeetingBooking booking, AttendeeLookup lookup) {
         BookingVO vo = new BookingVO();
         vo.setId(booking.getId());
         vo.setTitle(booking.getTitle());
@@ -419,7 +445,7 @@ public class MeetingBookingServiceImpl extends ServiceImpl<MeetingBookingMapper,
         vo.setBookerPosition(booking.getBookerPosition());
         vo.setDepartmentName(booking.getDepartmentName());
         vo.setParticipantCount(booking.getParticipantCount());
-        vo.setAttendees(parseAttendees(booking.getParticipantIds()));
+        vo.setAttendees(lookup.resolve(booking.getParticipantIds()));
         vo.setAgenda(booking.getAgenda());
         vo.setEquipment(parseJsonArray(booking.getEquipment()));
         vo.setLevel(booking.getLevel());
@@ -432,45 +458,41 @@ public class MeetingBookingServiceImpl extends ServiceImpl<MeetingBookingMapper,
         return vo;
     }
 
-    private List<AttendeeVO> parseAttendees(String json) {
-        if (json == null || json.isEmpty()) {
-            return new ArrayList<>();
+    /**
+     * 整页预定的参会人一次性批量解析：员工、部门各一次查询，之后按哈希表关联
+     */
+    private AttendeeLookup buildAttendeeLookup(List<MeetingBooking> bookings) {
+        Map<String, List<String>> participantIdsByJson = new HashMap<>();
+        Set<String> userIds = new LinkedHashSet<>();
+        for (MeetingBooking booking : bookings) {
+            String json = booking.getParticipantIds();
+            if (json == null || json.isEmpty() || participantIdsByJson.containsKey(json)) {
+                continue;
+            }
+            List<String> ids = parseJsonArray(json);
+            participantIdsByJson.put(json, ids);
+            userIds.addAll(ids);
         }
-        try {
-            List<String> userIds = objectMapper.readValue(json, new TypeReference<List<String>>() {});
-            List<AttendeeVO> attendees = new ArrayList<>();
-
-            if (!userIds.isEmpty()) {
-                List<Employee> employees = employeeMapper.selectBatchIds(userIds);
-
-                for (String userId : userIds) {
-                    AttendeeVO attendee = new AttendeeVO();
-                    attendee.setUserId(userId);
-
-                    employees.stream()
-                            .filter(emp -> emp.getId().equals(userId))
-                            .findFirst()
-                            .ifPresent(emp -> {
-                                attendee.setUserName(emp.getName());
-                                String departmentName = null;
-                                if (emp.getDepartmentId() != null) {
-                                    Department dept = departmentMapper.selectById(emp.getDepartmentId());
-                                    if (dept != null) {
-                                        departmentName = dept.getName();
-                                    }
-                                }
-                                attendee.setDepartmentName(departmentName);
-                            });
-
-                    attendees.add(attendee);
-                }
+
+        Map<String, Employee> employeeMap = new HashMap<>();
+        Map<String, String> departmentNameMap = new HashMap<>();
+        if (!userIds.isEmpty()) {
+            for (Employee employee : employeeMapper.selectBatchIds(userIds)) {
+                employeeMap.put(employee.getId(), employee);
             }
 
-            return attendees;
-        } catch (JsonProcessingException e) {
-            log.error("解析参会人JSON失败: {}", json, e);
-            return new ArrayList<>();
+            Set<String> departmentIds = employeeMap.values().stream()
+                    .map(Employee::getDepartmentId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            if (!departmentIds.isEmpty()) {
+                for (Department department : departmentMapper.selectBatchIds(departmentIds)) {
+                    departmentNameMap.put(department.getId(), department.getName());
+                }
+            }
         }
+
+        return new AttendeeLookup(participantIdsByJson, employeeMap, departmentNameMap);
     }
 
     private List<String> parseJsonArray(String json) {
@@ -485,6 +507,43 @@ public class MeetingBookingServiceImpl extends ServiceImpl<MeetingBookingMapper,
         }
     }
 
+    private static final class AttendeeLookup {
+
+        private final Map<String, List<String>> participantIdsByJson;
+        private final Map<String, Employee> employeeMap;
+        private final Map<String, String> departmentNameMap;
+
+        AttendeeLookup(Map<String, List<String>> participantIdsByJson,
+                       Map<String, Employee> employeeMap,
+                       Map<String, String> departmentNameMap) {
+            this.participantIdsByJson = participantIdsByJson;
+            this.employeeMap = employeeMap;
+            this.departmentNameMap = departmentNameMap;
+        }
+
+        List<AttendeeVO> resolve(String json) {
+            List<String> userIds = json != null ? participantIdsByJson.get(json) : null;
+            if (userIds == null) {
+                return new ArrayList<>();
+            }
+
+            List<AttendeeVO> attendees = new ArrayList<>(userIds.size());
+            for (String userId : userIds) {
+                AttendeeVO attendee = new AttendeeVO();
+                attendee.setUserId(userId);
+                Employee employee = employeeMap.get(userId);
+                if (employee != null) {
+                    attendee.setUserName(employee.getName());
+                    attendee.setDepartmentName(employee.getDepartmentId() != null
+                            ? departmentNameMap.get(employee.getDepartmentId())
+                            : null);
+                }
+                attendees.add(attendee);
+            }
+            return attendees;
+        }
+    }
+
     private String toJsonString(List<String> list) {
         if (list == null || list.isEmpty()) {
             return "[]";
@@ -15,6 +15,7 @@ import com.example.oa_system_backend.module.meeting.mapper.MeetingBookingMapper;
 import com.example.oa_system_backend.module.meeting.mapper.MeetingRoomMapper;
 import com.example.oa_system_backend.module.meeting.service.MeetingRoomService;
 import com.example.oa_system_backend.module.meeting.util.MeetingRoomIdGenerator;
+import com.example.oa_system_backend.module.meeting.util.RoomOccupancyIndex;
 import com.example.oa_system_backend.module.meeting.vo.AvailabilityVO;
 import com.example.oa_system_backend.module.meeting.vo.BookingVO;
 import com.example.oa_system_backend.module.meeting.vo.RoomDetailVO;
@@ -44,6 +45,7 @@ public class MeetingRoomServiceImpl extends ServiceImpl<MeetingRoomMapper, Meeti
     private final MeetingRoomMapper meetingRoomMapper;
     private final MeetingBookingMapper meetingBookingMapper;
     private final MeetingRoomIdGenerator meetingRoomIdGenerator;
+    private final RoomOccupancyIndex occupancyIndex;
     private final ObjectMapper objectMapper;
 
     @Override
@@ -175,7 +177,10 @@ public class MeetingRoomServiceImpl extends ServiceImpl<MeetingRoomMapper, Meeti
         LocalDateTime startOfDay = targetDate.atStartOfDay();
         LocalDateTime endOfDay = targetDate.atTime(LocalTime.MAX);
 
-        List<MeetingBooking> bookings = meetingBookingMapper.selectByRoomAndDateRange(roomId, startOfDay, endOfDay);
+        boolean indexed = occupancyIndex.covers(startOfDay);
+        List<MeetingBooking> bookings = indexed
+                ? null
+                : meetingBookingMapper.selectByRoomAndDateRange(roomId, startOfDay, endOfDay);
 
         List<AvailabilityVO> result = new ArrayList<>();
         for (int hour = 8; hour < 20; hour++) {
@@ -187,11 +192,13 @@ public class MeetingRoomServiceImpl extends ServiceImpl<MeetingRoomMapper, Meeti
             vo.setStartTime(String.format("%02d:00", hour));
             vo.setEndTime(String.format("%02d:00", hour + 1));
 
-            boolean occupied = bookings.stream().anyMatch(b -> {
-                LocalDateTime bStart = b.getStartTime();
-                LocalDateTime bEnd = b.getEndTime();
-                return slotStart.isBefore(bEnd) && slotEnd.isAfter(bStart);
-            });
+            boolean occupied = indexed
+                    ? occupancyIndex.hasOverlap(roomId, slotStart, slotEnd, null)
+                    : bookings.stream().anyMatch(b -> {
+                        LocalDateTime bStart = b.getStartTime();
+                        LocalDateTime bEnd = b.getEndTime();
+                        return slotStart.isBefore(bEnd) && slotEnd.isAfter(bStart);
+                    });
 
             vo.setAvailable(!occupied);
             result.add(vo);
@@ -212,22 +219,12 @@ public class MeetingRoomServiceImpl extends ServiceImpl<MeetingRoomMapper, Meeti
         vo.setDescription(room.getDescription());
         vo.setImages(room.getImages());
 
-        // 检查当前时间是否有正在进行的会议
+        // 检查当前时间是否有正在进行的会议，优先走内存占用索引
         LocalDateTime now = LocalDateTime.now();
-        List<MeetingBooking> currentBookings = meetingBookingMapper.selectByRoomAndDateRange(
-            room.getId(),
-            now,
-            now
-        );
-
-        boolean isOccupied = currentBookings.stream()
-            .filter(b -> !BookingStatus.CANCELLED.getCode().equals(b.getStatus())
-                     && !BookingStatus.REJECTED.getCode().equals(b.getStatus()))
-            .anyMatch(b -> {
-                LocalDateTime start = b.getStartTime();
-                LocalDateTime end = b.getEndTime();
-                return now.isAfter(start) && now.isBefore(end);
-            });
+        boolean indexed = occupancyIndex.covers(now);
+        boolean isOccupied = indexed
+                ? occupancyIndex.isOccupied(room.getId(), now)
+                : isOccupiedFromDatabase(room.getId(), now);
 
         // 如果有正在进行的会议，显示为"使用中"
         if (isOccupied) {
@@ -241,12 +238,22 @@ public class MeetingRoomServiceImpl extends ServiceImpl<MeetingRoomMapper, Meeti
         vo.setCreatedAt(room.getCreatedAt());
         vo.setUpdatedAt(room.getUpdatedAt());
 
-        Long bookingCount = meetingRoomMapper.countActiveBookings(room.getId());
-        vo.setBookingCount7Days(bookingCount.intValue());
+        int bookingCount = indexed
+                ? occupancyIndex.countUpcoming(room.getId(), now)
+                : meetingRoomMapper.countActiveBookings(room.getId()).intValue();
+        vo.setBookingCount7Days(bookingCount);
 
         return vo;
     }
 
+    private boolean isOccupiedFromDatabase(String roomId, LocalDateTime now) {
+        List<MeetingBooking> currentBookings = meetingBookingMapper.selectByRoomAndDateRange(roomId, now, now);
+        return currentBookings.stream()
+            .filter(b -> !BookingStatus.CANCELLED.getCode().equals(b.getStatus())
+                     && !BookingStatus.REJECTED.getCode().equals(b.getStatus()))
+            .anyMatch(b -> now.isAfter(b.getStartTime()) && now.isBefore(b.getEndTime()));
+    }
+
     private BookingVO convertToSimpleVO(MeetingBooking booking) {
         BookingVO vo = new BookingVO();
         vo.setId(booking.getId());
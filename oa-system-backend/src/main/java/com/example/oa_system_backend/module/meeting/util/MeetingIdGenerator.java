@@ -1,17 +1,26 @@
 package com.example.oa_system_backend.module.meeting.util;
 
+import com.example.oa_system_backend.common.utils.SegmentIdGenerator;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.time.LocalDate;
 
+/**
+ * 会议预订编号生成器: MTG + yyyyMMdd + 4位序号，序号按日计数，当日超过9999个时拒绝生成
+ */
 @Component
+@RequiredArgsConstructor
 public class MeetingIdGenerator {
-    private static final AtomicInteger counter = new AtomicInteger(1);
-    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private static final String TABLE = "admin_meeting_booking";
+    private static final String PREFIX = "MTG";
+    private static final int SEQUENCE_WIDTH = 4;
+    private static final int SEGMENT_STEP = 20;
+
+    private final SegmentIdGenerator segmentIdGenerator;
 
     public String generate() {
-        return "MTG" + LocalDateTime.now().format(formatter) + String.format("%04d", counter.getAndIncrement());
+        return segmentIdGenerator.nextDailyId(TABLE, PREFIX, LocalDate.now(), SEQUENCE_WIDTH, SEGMENT_STEP);
     }
 }
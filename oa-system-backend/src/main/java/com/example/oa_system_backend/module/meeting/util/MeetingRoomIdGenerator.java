@@ -1,14 +1,24 @@
 package com.example.oa_system_backend.module.meeting.util;
 
+import com.example.oa_system_backend.common.utils.SegmentIdGenerator;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.util.concurrent.atomic.AtomicInteger;
-
+/**
+ * 会议室编号生成器: ROOM + 3位序号
+ */
 @Component
+@RequiredArgsConstructor
 public class MeetingRoomIdGenerator {
-    private static final AtomicInteger counter = new AtomicInteger(1);
+
+    private static final String TABLE = "admin_meeting_room";
+    private static final String PREFIX = "ROOM";
+    private static final int SEQUENCE_WIDTH = 3;
+    private static final int SEGMENT_STEP = 5;
+
+    private final SegmentIdGenerator segmentIdGenerator;
 
     public String generate() {
-        return "ROOM" + String.format("%03d", counter.getAndIncrement());
+        return segmentIdGenerator.nextId(TABLE, PREFIX, SEQUENCE_WIDTH, SEGMENT_STEP);
     }
 }
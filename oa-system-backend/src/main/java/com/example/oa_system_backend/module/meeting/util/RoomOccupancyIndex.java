@@ -0,0 +1,272 @@
+package com.example.oa_system_backend.module.meeting.util;
+
+import com.example.oa_system_backend.common.utils.ReloadableSnapshot;
+import com.example.oa_system_backend.common.utils.TransactionUtils;
+import com.example.oa_system_backend.module.meeting.entity.MeetingBooking;
+import com.example.oa_system_backend.module.meeting.enums.BookingStatus;
+import com.example.oa_system_backend.module.meeting.mapper.MeetingBookingMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 会议室占用索引
+ * 按会议室维护有效预定（非取消/拒绝）的有序时间区间，冲突检测、空闲时段和"使用中"判断不再访问数据库。
+ * 索引覆盖 [windowStart, +∞)，windowStart 之前的查询由调用方回退到 SQL；定时重载时滚动窗口。
+ * 其他实例的预定在下次重载前不可见，创建预定仍以事务内的数据库校验为准。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomOccupancyIndex extends ReloadableSnapshot {
+
+    /**
+     * 窗口回看天数，保证跨天进行中的会议仍在索引内
+     */
+    private static final int LOOKBACK_DAYS = 1;
+
+    private final MeetingBookingMapper bookingMapper;
+
+    private final Map<String, RoomTimeline> timelines = new ConcurrentHashMap<>();
+
+    private volatile LocalDateTime windowStart;
+
+    @Override
+    public synchronized void reload() {
+        LocalDateTime start = LocalDateTime.now().minusDays(LOOKBACK_DAYS);
+        List<MeetingBooking> bookings = bookingMapper.selectActiveFrom(start);
+
+        Map<String, List<MeetingBooking>> byRoom = new HashMap<>();
+        for (MeetingBooking booking : bookings) {
+            byRoom.computeIfAbsent(booking.getRoomId(), k -> new ArrayList<>()).add(booking);
+        }
+
+        Map<String, RoomTimeline> rebuilt = new HashMap<>();
+        byRoom.forEach((roomId, list) -> rebuilt.put(roomId, RoomTimeline.of(list)));
+
+        timelines.putAll(rebuilt);
+        timelines.keySet().retainAll(rebuilt.keySet());
+        windowStart = start;
+        log.info("会议室占用索引加载完成, 会议室数: {}, 预定数: {}", rebuilt.size(), bookings.size());
+    }
+
+    @Override
+    protected String name() {
+        return "会议室占用索引";
+    }
+
+    /**
+     * 索引是否覆盖从 time 开始的查询
+     */
+    public boolean covers(LocalDateTime time) {
+        LocalDateTime start = windowStart;
+        return start != null && time != null && !time.isBefore(start);
+    }
+
+    public boolean hasOverlap(String roomId, LocalDateTime startTime, LocalDateTime endTime, String excludeBookingId) {
+        return !findOverlaps(roomId, startTime, endTime, excludeBookingId).isEmpty();
+    }
+
+    /**
+     * 返回与 [startTime, endTime) 重叠的预定ID
+     */
+    public List<String> findOverlaps(String roomId, LocalDateTime startTime, LocalDateTime endTime, String excludeBookingId) {
+        RoomTimeline timeline = timelines.get(roomId);
+        if (timeline == null) {
+            return Collections.emptyList();
+        }
+        return timeline.overlaps(toKey(startTime), toKey(endTime), excludeBookingId);
+    }
+
+    public boolean isOccupied(String roomId, LocalDateTime time) {
+        return hasOverlap(roomId, time, time, null);
+    }
+
+    /**
+     * 统计开始时间不早于 from 的有效预定数
+     */
+    public int countUpcoming(String roomId, LocalDateTime from) {
+        RoomTimeline timeline = timelines.get(roomId);
+        return timeline == null ? 0 : timeline.countStartingFrom(toKey(from));
+    }
+
+    /**
+     * 事务提交后按预定当前状态更新索引
+     */
+    public void applyAfterCommit(MeetingBooking booking) {
+        String roomId = booking.getRoomId();
+        String bookingId = booking.getId();
+        if (isActive(booking.getStatus())) {
+            long start = toKey(booking.getStartTime());
+            long end = toKey(booking.getEndTime());
+            TransactionUtils.afterCommit(() -> put(roomId, bookingId, start, end));
+        } else {
+            TransactionUtils.afterCommit(() -> remove(roomId, bookingId));
+        }
+    }
+
+    public void removeAfterCommit(String roomId, String bookingId) {
+        TransactionUtils.afterCommit(() -> remove(roomId, bookingId));
+    }
+
+    private synchronized void put(String roomId, String bookingId, long start, long end) {
+        RoomTimeline current = timelines.getOrDefault(roomId, RoomTimeline.EMPTY);
+        timelines.put(roomId, current.without(bookingId).with(bookingId, start, end));
+    }
+
+    private synchronized void remove(String roomId, String bookingId) {
+        RoomTimeline current = timelines.get(roomId);
+        if (current != null) {
+            timelines.put(roomId, current.without(bookingId));
+        }
+    }
+
+    private static boolean isActive(String status) {
+        return !BookingStatus.CANCELLED.getCode().equals(status)
+                && !BookingStatus.REJECTED.getCode().equals(status);
+    }
+
+    private static long toKey(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * 单个会议室的不可变时间线，按开始时间排序；maxEnd[i] 为前 i+1 个区间的最大结束时间，
+     * 即使历史数据存在重叠也能在 O(log n + k) 内找出全部重叠区间
+     */
+    private static final class RoomTimeline {
+
+        static final RoomTimeline EMPTY = new RoomTimeline(new String[0], new long[0], new long[0]);
+
+        private final String[] ids;
+        private final long[] starts;
+        private final long[] ends;
+        private final long[] maxEnd;
+
+        private RoomTimeline(String[] ids, long[] starts, long[] ends) {
+            this.ids = ids;
+            this.starts = starts;
+            this.ends = ends;
+            this.maxEnd = new long[ends.length];
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < ends.length; i++) {
+                max = Math.max(max, ends[i]);
+                maxEnd[i] = max;
+            }
+        }
+
+        static RoomTimeline of(List<MeetingBooking> bookings) {
+            List<MeetingBooking> sorted = new ArrayList<>(bookings);
+            sorted.sort((a, b) -> a.getStartTime().compareTo(b.getStartTime()));
+            int n = sorted.size();
+            String[] ids = new String[n];
+            long[] starts = new long[n];
+            long[] ends = new long[n];
+            for (int i = 0; i < n; i++) {
+                MeetingBooking booking = sorted.get(i);
+                ids[i] = booking.getId();
+                starts[i] = toKey(booking.getStartTime());
+                ends[i] = toKey(booking.getEndTime());
+            }
+            return new RoomTimeline(ids, starts, ends);
+        }
+
+        RoomTimeline with(String id, long start, long end) {
+            int n = ids.length;
+            int pos = upperBound(start);
+            String[] newIds = new String[n + 1];
+            long[] newStarts = new long[n + 1];
+            long[] newEnds = new long[n + 1];
+            System.arraycopy(ids, 0, newIds, 0, pos);
+            System.arraycopy(starts, 0, newStarts, 0, pos);
+            System.arraycopy(ends, 0, newEnds, 0, pos);
+            newIds[pos] = id;
+            newStarts[pos] = start;
+            newEnds[pos] = end;
+            System.arraycopy(ids, pos, newIds, pos + 1, n - pos);
+            System.arraycopy(starts, pos, newStarts, pos + 1, n - pos);
+            System.arraycopy(ends, pos, newEnds, pos + 1, n - pos);
+            return new RoomTimeline(newIds, newStarts, newEnds);
+        }
+
+        RoomTimeline without(String id) {
+            int pos = Arrays.asList(ids).indexOf(id);
+            if (pos < 0) {
+                return this;
+            }
+            int n = ids.length;
+            String[] newIds = new String[n - 1];
+            long[] newStarts = new long[n - 1];
+            long[] newEnds = new long[n - 1];
+            System.arraycopy(ids, 0, newIds, 0, pos);
+            System.arraycopy(starts, 0, newStarts, 0, pos);
+            System.arraycopy(ends, 0, newEnds, 0, pos);
+            System.arraycopy(ids, pos + 1, newIds, pos, n - pos - 1);
+            System.arraycopy(starts, pos + 1, newStarts, pos, n - pos - 1);
+            System.arraycopy(ends, pos + 1, newEnds, pos, n - pos - 1);
+            return new RoomTimeline(newIds, newStarts, newEnds);
+        }
+
+        /**
+         * 区间 [start, end) 与 [s, e) 重叠：s < end 且 e > start；start == end 时表示时间点查询
+         */
+        List<String> overlaps(long start, long end, String excludeId) {
+            int last = (start == end ? upperBound(start - 1) : lowerBound(end)) - 1;
+            List<String> result = new ArrayList<>();
+            for (int i = last; i >= 0 && maxEnd[i] > start; i--) {
+                if (ends[i] > start && !ids[i].equals(excludeId)) {
+                    result.add(ids[i]);
+                }
+            }
+            return result;
+        }
+
+        int countStartingFrom(long from) {
+            return starts.length - lowerBound(from);
+        }
+
+        /**
+         * 第一个 starts[i] >= key 的位置
+         */
+        private int lowerBound(long key) {
+            int lo = 0;
+            int hi = starts.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (starts[mid] < key) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        /**
+         * 第一个 starts[i] > key 的位置
+         */
+        private int upperBound(long key) {
+            int lo = 0;
+            int hi = starts.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (starts[mid] <= key) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
@@ -9,6 +9,7 @@ import com.example.oa_system_backend.module.menu.vo.RouteMenuItem;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -20,7 +21,10 @@ public class MenuController {
     private final MenuService menuService;
 
     @GetMapping
-    public ApiResponse<List<MenuVO>> getMenuList(MenuQueryRequest request) {
+    public ApiResponse<List<MenuVO>> getMenuList(MenuQueryRequest request, WebRequest webRequest) {
+        if (webRequest.checkNotModified(menuService.getMenuTreeETag())) {
+            return null;
+        }
         List<MenuVO> tree = menuService.getMenuTree(0L);
         return ApiResponse.success(tree);
     }
@@ -66,7 +70,10 @@ public class MenuController {
     }
 
     @GetMapping("/routes")
-    public ApiResponse<List<RouteMenuItem>> getMenuRoutes() {
+    public ApiResponse<List<RouteMenuItem>> getMenuRoutes(WebRequest webRequest) {
+        if (webRequest.checkNotModified(menuService.getMenuRoutesETag())) {
+            return null;
+        }
         List<RouteMenuItem> routes = menuService.getMenuRoutes();
         return ApiResponse.success(routes);
     }
@@ -10,8 +10,6 @@ import java.util.List;
 @Mapper
 public interface MenuMapper extends BaseMapper<Menu> {
 
-    List<Menu> selectMenuTree(@Param("parentId") Long parentId);
-
     List<Menu> selectMenuList(@Param("menuType") String menuType,
                               @Param("status") String status,
                               @Param("keyword") String keyword);
@@ -21,6 +19,4 @@ public interface MenuMapper extends BaseMapper<Menu> {
     Integer countByParentId(@Param("parentId") Long parentId);
 
     List<Menu> selectParentOptions();
-
-    List<Menu> selectMenuRoutes();
 }
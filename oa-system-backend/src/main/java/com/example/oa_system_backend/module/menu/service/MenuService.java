@@ -11,6 +11,8 @@ public interface MenuService {
 
     List<MenuVO> getMenuTree(Long parentId);
 
+    String getMenuTreeETag();
+
     MenuVO getMenuById(Long id);
 
     Menu createMenu(MenuCreateRequest request);
@@ -24,4 +26,6 @@ public interface MenuService {
     Menu updateMenuStatus(Long id, MenuStatusUpdateRequest request);
 
     List<RouteMenuItem> getMenuRoutes();
+
+    String getMenuRoutesETag();
 }
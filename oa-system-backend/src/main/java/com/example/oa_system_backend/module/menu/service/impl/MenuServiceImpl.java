@@ -2,10 +2,13 @@ package com.example.oa_system_backend.module.menu.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.example.oa_system_backend.common.exception.BusinessException;
+import com.example.oa_system_backend.common.utils.SecurityUtils;
 import com.example.oa_system_backend.module.menu.dto.*;
 import com.example.oa_system_backend.module.menu.entity.Menu;
 import com.example.oa_system_backend.module.menu.mapper.MenuMapper;
 import com.example.oa_system_backend.module.menu.service.MenuService;
+import com.example.oa_system_backend.module.menu.util.MenuConverter;
+import com.example.oa_system_backend.module.menu.util.MenuTreeCache;
 import com.example.oa_system_backend.module.menu.vo.MenuVO;
 import com.example.oa_system_backend.module.menu.vo.RouteMenuItem;
 import lombok.RequiredArgsConstructor;
@@ -15,7 +18,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -25,17 +27,16 @@ import java.util.stream.Collectors;
 public class MenuServiceImpl implements MenuService {
 
     private final MenuMapper menuMapper;
+    private final MenuTreeCache menuTreeCache;
 
     @Override
     public List<MenuVO> getMenuTree(Long parentId) {
-        List<Menu> menus = menuMapper.selectMenuTree(parentId);
-        return menus.stream()
-                .map(this::convertToVO)
-                .peek(vo -> {
-                    List<MenuVO> children = getMenuTree(vo.getId());
-                    vo.setChildren(children);
-                })
-                .collect(Collectors.toList());
+        return menuTreeCache.getMenuTree(parentId);
+    }
+
+    @Override
+    public String getMenuTreeETag() {
+        return menuTreeCache.getMenuTreeETag();
     }
 
     @Override
@@ -44,7 +45,7 @@ public class MenuServiceImpl implements MenuService {
         if (menu == null) {
             throw new BusinessException("菜单不存在");
         }
-        return convertToVO(menu);
+        return MenuConverter.toVO(menu);
     }
 
     @Override
@@ -111,6 +112,7 @@ public class MenuServiceImpl implements MenuService {
         menu.setUpdatedAt(LocalDateTime.now());
 
         menuMapper.insert(menu);
+        menuTreeCache.reloadAfterCommit();
 
         return menu;
     }
@@ -168,6 +170,7 @@ public class MenuServiceImpl implements MenuService {
         menu.setUpdatedAt(LocalDateTime.now());
 
         menuMapper.updateById(menu);
+        menuTreeCache.reloadAfterCommit();
 
         return menu;
     }
@@ -189,13 +192,14 @@ public class MenuServiceImpl implements MenuService {
         }
 
         menuMapper.deleteById(id);
+        menuTreeCache.reloadAfterCommit();
     }
 
     @Override
     public List<MenuVO> getParentOptions() {
         List<Menu> menus = menuMapper.selectParentOptions();
         return menus.stream()
-                .map(this::convertToVO)
+                .map(MenuConverter::toVO)
                 .collect(Collectors.toList());
     }
 
@@ -215,84 +219,19 @@ public class MenuServiceImpl implements MenuService {
         menu.setUpdatedAt(LocalDateTime.now());
 
         menuMapper.updateById(menu);
+        menuTreeCache.reloadAfterCommit();
 
         return menu;
     }
 
     @Override
     public List<RouteMenuItem> getMenuRoutes() {
-        List<Menu> menus = menuMapper.selectMenuRoutes();
-        return buildRouteTree(menus, 0L);
-    }
-
-    private List<RouteMenuItem> buildRouteTree(List<Menu> menus, Long parentId) {
-        List<RouteMenuItem> routes = new ArrayList<>();
-
-        for (Menu menu : menus) {
-            if (menu.getParentId().equals(parentId)) {
-                RouteMenuItem route = convertToRouteItem(menu);
-
-                List<RouteMenuItem> children = buildRouteTree(menus, menu.getId());
-                if (!children.isEmpty()) {
-                    route.setChildren(children);
-                }
-
-                routes.add(route);
-            }
-        }
-
-        return routes;
-    }
-
-    private MenuVO convertToVO(Menu menu) {
-        MenuVO vo = new MenuVO();
-        vo.setId(menu.getId());
-        vo.setMenuCode(menu.getMenuCode());
-        vo.setMenuName(menu.getMenuName());
-        vo.setMenuType(menu.getMenuType());
-        vo.setParentId(menu.getParentId());
-        vo.setMenuLevel(menu.getMenuLevel());
-        vo.setRoutePath(menu.getRoutePath());
-        vo.setComponentPath(menu.getComponentPath());
-        vo.setRedirectPath(menu.getRedirectPath());
-        vo.setMenuIcon(menu.getIcon());
-        vo.setPermission(menu.getPermission());
-        vo.setSortOrder(menu.getSort());
-        vo.setVisible(menu.getVisible() != null && menu.getVisible() == 1);
-        vo.setStatus("enabled".equals(menu.getStatus()));
-        vo.setIsCache(menu.getIsCache() != null && menu.getIsCache() == 1);
-        vo.setIsFrame(menu.getIsFrame() != null && menu.getIsFrame() == 1);
-        vo.setFrameUrl(menu.getFrameUrl());
-        vo.setMenuTarget(menu.getMenuTarget());
-        vo.setIsSystem(menu.getIsSystem() != null && menu.getIsSystem() == 1);
-        vo.setRemark(menu.getRemark());
-        if (menu.getCreatedAt() != null) {
-            vo.setCreatedAt(menu.getCreatedAt().toString());
-        }
-        if (menu.getUpdatedAt() != null) {
-            vo.setUpdatedAt(menu.getUpdatedAt().toString());
-        }
-        return vo;
+        return menuTreeCache.getRoutes(SecurityUtils.getCurrentUserId());
     }
 
-    private RouteMenuItem convertToRouteItem(Menu menu) {
-        RouteMenuItem route = new RouteMenuItem();
-        route.setPath(menu.getRoutePath());
-        route.setName(menu.getMenuCode());
-        route.setComponent(menu.getComponentPath());
-        route.setRedirect(menu.getRedirectPath());
-
-        RouteMenuItem.RouteMeta meta = new RouteMenuItem.RouteMeta();
-        meta.setTitle(menu.getMenuName());
-        meta.setIcon(menu.getIcon());
-        meta.setHidden(menu.getVisible() == 0);
-        meta.setKeepAlive(menu.getIsCache() == 1);
-        if (menu.getPermission() != null && !menu.getPermission().isEmpty()) {
-            meta.setPermissions(new String[]{menu.getPermission()});
-        }
-        route.setMeta(meta);
-
-        return route;
+    @Override
+    public String getMenuRoutesETag() {
+        return menuTreeCache.getRoutesETag(SecurityUtils.getCurrentUserId());
     }
 
     private String generateNextMenuCode() {
@@ -0,0 +1,62 @@
+package com.example.oa_system_backend.module.menu.util;
+
+import com.example.oa_system_backend.module.menu.entity.Menu;
+import com.example.oa_system_backend.module.menu.vo.MenuVO;
+import com.example.oa_system_backend.module.menu.vo.RouteMenuItem;
+
+public final class MenuConverter {
+
+    private MenuConverter() {
+    }
+
+    public static MenuVO toVO(Menu menu) {
+        MenuVO vo = new MenuVO();
+        vo.setId(menu.getId());
+        vo.setMenuCode(menu.getMenuCode());
+        vo.setMenuName(menu.getMenuName());
+        vo.setMenuType(menu.getMenuType());
+        vo.setParentId(menu.getParentId());
+        vo.setMenuLevel(menu.getMenuLevel());
+        vo.setRoutePath(menu.getRoutePath());
+        vo.setComponentPath(menu.getComponentPath());
+        vo.setRedirectPath(menu.getRedirectPath());
+        vo.setMenuIcon(menu.getIcon());
+        vo.setPermission(menu.getPermission());
+        vo.setSortOrder(menu.getSort());
+        vo.setVisible(menu.getVisible() != null && menu.getVisible() == 1);
+        vo.setStatus("enabled".equals(menu.getStatus()));
+        vo.setIsCache(menu.getIsCache() != null && menu.getIsCache() == 1);
+        vo.setIsFrame(menu.getIsFrame() != null && menu.getIsFrame() == 1);
+        vo.setFrameUrl(menu.getFrameUrl());
+        vo.setMenuTarget(menu.getMenuTarget());
+        vo.setIsSystem(menu.getIsSystem() != null && menu.getIsSystem() == 1);
+        vo.setRemark(menu.getRemark());
+        if (menu.getCreatedAt() != null) {
+            vo.setCreatedAt(menu.getCreatedAt().toString());
+        }
+        if (menu.getUpdatedAt() != null) {
+            vo.setUpdatedAt(menu.getUpdatedAt().toString());
+        }
+        return vo;
+    }
+
+    public static RouteMenuItem toRouteItem(Menu menu) {
+        RouteMenuItem route = new RouteMenuItem();
+        route.setPath(menu.getRoutePath());
+        route.setName(menu.getMenuCode());
+        route.setComponent(menu.getComponentPath());
+        route.setRedirect(menu.getRedirectPath());
+
+        RouteMenuItem.RouteMeta meta = new RouteMenuItem.RouteMeta();
+        meta.setTitle(menu.getMenuName());
+        meta.setIcon(menu.getIcon());
+        meta.setHidden(menu.getVisible() == 0);
+        meta.setKeepAlive(menu.getIsCache() == 1);
+        if (menu.getPermission() != null && !menu.getPermission().isEmpty()) {
+            meta.setPermissions(new String[]{menu.getPermission()});
+        }
+        route.setMeta(meta);
+
+        return route;
+    }
+}
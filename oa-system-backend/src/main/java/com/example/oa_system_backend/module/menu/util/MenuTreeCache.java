@@ -0,0 +1,195 @@
+package com.example.oa_system_backend.module.menu.util;
+
+import com.example.oa_system_backend.common.utils.ReloadableSnapshot;
+import com.example.oa_system_backend.common.utils.TransactionUtils;
+import com.example.oa_system_backend.module.menu.entity.Menu;
+import com.example.oa_system_backend.module.menu.mapper.MenuMapper;
+import com.example.oa_system_backend.module.menu.vo.MenuVO;
+import com.example.oa_system_backend.module.menu.vo.RouteMenuItem;
+import com.example.oa_system_backend.module.permission.util.PermissionSnapshotCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 菜单树缓存
+ * 一次查询加载全部菜单，按 父菜单 -> 子菜单 建立索引，菜单树和路由树都从索引 O(n) 构建。
+ * 路由树按用户的角色组合过滤权限后缓存，同一角色组合的用户共用一份；角色权限变更（权限快照版本变化）后重新过滤。
+ * 菜单变更在事务提交后重载。ETag 按内容计算，多实例之间一致。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MenuTreeCache extends ReloadableSnapshot {
+
+    private static final Long ROOT_ID = 0L;
+
+    private final MenuMapper menuMapper;
+    private final PermissionSnapshotCache permissionSnapshotCache;
+
+    private volatile Snapshot snapshot = new Snapshot(0L, Map.of(), List.of(), 0L);
+
+    private volatile RouteCache routeCache = new RouteCache(0L, -1L);
+
+    @Override
+    public synchronized void reload() {
+        List<Menu> menus = menuMapper.selectMenuList(null, null, null);
+        Map<Long, List<Menu>> childrenByParent = new HashMap<>();
+        long digest = 17L;
+        for (Menu menu : menus) {
+            childrenByParent.computeIfAbsent(menu.getParentId(), k -> new ArrayList<>()).add(menu);
+            digest = 31 * digest + Objects.hash(menu.getId(), menu.getParentId(), menu.getSort(), menu.getUpdatedAt());
+        }
+        long version = snapshot.version + 1;
+        List<MenuVO> menuTree = Collections.unmodifiableList(buildMenuTree(childrenByParent, ROOT_ID));
+        snapshot = new Snapshot(version, childrenByParent, menuTree, digest);
+        log.info("菜单树加载完成, 版本: {}, 菜单数: {}", version, menus.size());
+    }
+
+    @Override
+    protected String name() {
+        return "菜单树";
+    }
+
+    /**
+     * 菜单变更：事务提交后重载，无事务时立即重载
+     */
+    public void reloadAfterCommit() {
+        TransactionUtils.afterCommit(this::reload);
+    }
+
+    /**
+     * 菜单管理树，根节点直接返回缓存
+     */
+    public List<MenuVO> getMenuTree(Long parentId) {
+        Snapshot current = snapshot;
+        return ROOT_ID.equals(parentId) ? current.menuTree : buildMenuTree(current.childrenByParent, parentId);
+    }
+
+    public String getMenuTreeETag() {
+        return "\"menu-" + Long.toHexString(snapshot.digest) + "\"";
+    }
+
+    /**
+     * 用户可见的路由树
+     */
+    public List<RouteMenuItem> getRoutes(String userId) {
+        return getRouteTree(userId).routes;
+    }
+
+    public String getRoutesETag(String userId) {
+        return getRouteTree(userId).etag;
+    }
+
+    private RouteTree getRouteTree(String userId) {
+        Snapshot current = snapshot;
+        long permissionVersion = permissionSnapshotCache.getVersion();
+        RouteCache cache = routeCache;
+        if (cache.menuVersion != current.version || cache.permissionVersion != permissionVersion) {
+            cache = new RouteCache(current.version, permissionVersion);
+            routeCache = cache;
+        }
+
+        TreeSet<String> roleCodes = new TreeSet<>(permissionSnapshotCache.getRoleCodes(userId));
+        return cache.trees.computeIfAbsent(String.join(",", roleCodes),
+                key -> buildRouteTree(current, userId, roleCodes.contains(PermissionSnapshotCache.SUPER_ADMIN_ROLE)));
+    }
+
+    private RouteTree buildRouteTree(Snapshot current, String userId, boolean superAdmin) {
+        long[] digest = {17L};
+        List<RouteMenuItem> routes = buildRoutes(current.childrenByParent, ROOT_ID, userId, superAdmin, digest);
+        return new RouteTree(Collections.unmodifiableList(routes), "\"routes-" + Long.toHexString(digest[0]) + "\"");
+    }
+
+    private List<RouteMenuItem> buildRoutes(Map<Long, List<Menu>> childrenByParent, Long parentId, String userId,
+                                            boolean superAdmin, long[] digest) {
+        List<RouteMenuItem> routes = new ArrayList<>();
+        for (Menu menu : childrenByParent.getOrDefault(parentId, List.of())) {
+            if (!isRoute(menu) || !(superAdmin || isPermitted(menu, userId))) {
+                continue;
+            }
+            digest[0] = 31 * digest[0] + Objects.hash(menu.getId(), menu.getUpdatedAt());
+            RouteMenuItem route = MenuConverter.toRouteItem(menu);
+            List<RouteMenuItem> children = buildRoutes(childrenByParent, menu.getId(), userId, superAdmin, digest);
+            if (!children.isEmpty()) {
+                route.setChildren(children);
+            }
+            routes.add(route);
+        }
+        return routes;
+    }
+
+    private boolean isPermitted(Menu menu, String userId) {
+        String permission = menu.getPermission();
+        return permission == null || permission.isEmpty() || permissionSnapshotCache.hasPermission(userId, permission);
+    }
+
+    /**
+     * 路由只包含启用、可见的目录和菜单
+     */
+    private static boolean isRoute(Menu menu) {
+        return "enabled".equals(menu.getStatus())
+                && menu.getVisible() != null && menu.getVisible() == 1
+                && ("directory".equals(menu.getMenuType()) || "menu".equals(menu.getMenuType()));
+    }
+
+    private static List<MenuVO> buildMenuTree(Map<Long, List<Menu>> childrenByParent, Long parentId) {
+        List<MenuVO> tree = new ArrayList<>();
+        for (Menu menu : childrenByParent.getOrDefault(parentId, List.of())) {
+            MenuVO vo = MenuConverter.toVO(menu);
+            vo.setChildren(buildMenuTree(childrenByParent, menu.getId()));
+            tree.add(vo);
+        }
+        return tree;
+    }
+
+    private static final class Snapshot {
+
+        private final long version;
+        private final Map<Long, List<Menu>> childrenByParent;
+        private final List<MenuVO> menuTree;
+        private final long digest;
+
+        Snapshot(long version, Map<Long, List<Menu>> childrenByParent, List<MenuVO> menuTree, long digest) {
+            this.version = version;
+            this.childrenByParent = childrenByParent;
+            this.menuTree = menuTree;
+            this.digest = digest;
+        }
+    }
+
+    /**
+     * 某个菜单版本和权限版本下，角色组合 -> 路由树
+     */
+    private static final class RouteCache {
+
+        private final long menuVersion;
+        private final long permissionVersion;
+        private final Map<String, RouteTree> trees = new ConcurrentHashMap<>();
+
+        RouteCache(long menuVersion, long permissionVersion) {
+            this.menuVersion = menuVersion;
+            this.permissionVersion = permissionVersion;
+        }
+    }
+
+    private static final class RouteTree {
+
+        private final List<RouteMenuItem> routes;
+        private final String etag;
+
+        RouteTree(List<RouteMenuItem> routes, String etag) {
+            this.routes = routes;
+            this.etag = etag;
+        }
+    }
+}
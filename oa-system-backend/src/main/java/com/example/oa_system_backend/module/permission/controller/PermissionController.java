@@ -9,6 +9,7 @@ import com.example.oa_system_backend.module.permission.vo.*;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -45,6 +46,7 @@ public class PermissionController {
     }
 
     @PostMapping
+    @PreAuthorize("@permissionSnapshotCache.has('system:permission:add')")
     public ApiResponse<Permission> createPermission(@Valid @RequestBody PermissionCreateRequest request) {
         log.info("创建权限, name={}", request.getName());
         Permission permission = permissionService.createPermission(request);
@@ -52,6 +54,7 @@ public class PermissionController {
     }
 
     @PutMapping("/{id}")
+    @PreAuthorize("@permissionSnapshotCache.has('system:permission:edit')")
     public ApiResponse<Permission> updatePermission(@PathVariable String id, 
                                                      @Valid @RequestBody PermissionUpdateRequest request) {
         log.info("更新权限, id={}", id);
@@ -60,6 +63,7 @@ public class PermissionController {
     }
 
     @DeleteMapping("/{id}")
+    @PreAuthorize("@permissionSnapshotCache.has('system:permission:delete')")
     public ApiResponse<Void> deletePermission(@PathVariable String id) {
         log.info("删除权限, id={}", id);
         permissionService.deletePermission(id);
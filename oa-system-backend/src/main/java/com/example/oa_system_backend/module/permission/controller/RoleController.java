@@ -9,6 +9,7 @@ import com.example.oa_system_backend.module.permission.vo.*;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -37,6 +38,7 @@ public class RoleController {
     }
 
     @PostMapping
+    @PreAuthorize("@permissionSnapshotCache.has('system:role:add')")
     public ApiResponse<Role> createRole(@Valid @RequestBody RoleCreateRequest request) {
         log.info("创建角色, name={}", request.getName());
         Role role = roleService.createRole(request);
@@ -44,6 +46,7 @@ public class RoleController {
     }
 
     @PutMapping("/{id}")
+    @PreAuthorize("@permissionSnapshotCache.has('system:role:edit')")
     public ApiResponse<Role> updateRole(@PathVariable String id, 
                                          @Valid @RequestBody RoleUpdateRequest request) {
         log.info("更新角色, id={}", id);
@@ -52,6 +55,7 @@ public class RoleController {
     }
 
     @DeleteMapping("/{id}")
+    @PreAuthorize("@permissionSnapshotCache.has('system:role:delete')")
     public ApiResponse<Void> deleteRole(@PathVariable String id) {
         log.info("删除角色, id={}", id);
         roleService.deleteRole(id);
@@ -59,6 +63,7 @@ public class RoleController {
     }
 
     @PostMapping("/copy")
+    @PreAuthorize("@permissionSnapshotCache.has('system:role:add')")
     public ApiResponse<Role> copyRole(@Valid @RequestBody CopyRoleRequest request) {
         log.info("复制角色, sourceId={}, name={}", request.getSourceId(), request.getName());
         Role role = roleService.copyRole(request);
@@ -80,6 +85,7 @@ public class RoleController {
     }
 
     @PutMapping("/{id}/permissions")
+    @PreAuthorize("@permissionSnapshotCache.has('system:role:edit')")
     public ApiResponse<Void> updateRolePermissions(@PathVariable String id, 
                                                       @Valid @RequestBody UpdateRolePermissionsRequest request) {
         log.info("更新角色权限, roleId={}, permissionIds={}", id, request.getPermissionIds());
@@ -8,6 +8,7 @@ import com.example.oa_system_backend.module.permission.vo.UserPermissionsVO;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -28,6 +29,7 @@ public class UserRoleController {
     }
 
     @PostMapping("/{userId}/roles")
+    @PreAuthorize("@permissionSnapshotCache.has('system:role:assign')")
     public ApiResponse<Void> assignUserRoles(@PathVariable String userId, 
                                                 @Valid @RequestBody AssignRoleRequest request) {
         log.info("分配用户角色, userId={}, roleIds={}", userId, request.getRoleIds());
@@ -36,6 +38,7 @@ public class UserRoleController {
     }
 
     @DeleteMapping("/{userId}/roles/{roleId}")
+    @PreAuthorize("@permissionSnapshotCache.has('system:role:assign')")
     public ApiResponse<Void> removeUserRole(@PathVariable String userId, 
                                                @PathVariable String roleId) {
         log.info("移除用户角色, userId={}, roleId={}", userId, roleId);
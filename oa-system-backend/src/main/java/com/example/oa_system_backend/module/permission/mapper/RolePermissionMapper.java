@@ -3,7 +3,15 @@ package com.example.oa_system_backend.module.permission.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.example.oa_system_backend.module.permission.entity.RolePermission;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 @Mapper
 public interface RolePermissionMapper extends BaseMapper<RolePermission> {
-}
\ No newline at end of file
+
+    /**
+     * 批量写入角色权限
+     */
+    int insertBatch(@Param("list") List<RolePermission> list);
+}
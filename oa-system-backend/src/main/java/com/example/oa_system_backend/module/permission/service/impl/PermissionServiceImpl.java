@@ -9,6 +9,7 @@ import com.example.oa_system_backend.module.permission.dto.*;
 import com.example.oa_system_backend.module.permission.entity.Permission;
 import com.example.oa_system_backend.module.permission.mapper.PermissionMapper;
 import com.example.oa_system_backend.module.permission.service.PermissionService;
+import com.example.oa_system_backend.module.permission.util.PermissionSnapshotCache;
 import com.example.oa_system_backend.module.permission.vo.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,6 +29,7 @@ import java.util.stream.Collectors;
 public class PermissionServiceImpl extends ServiceImpl<PermissionMapper, Permission> implements PermissionService {
 
     private final PermissionMapper permissionMapper;
+    private final PermissionSnapshotCache permissionSnapshotCache;
 
     @Override
     public List<PermissionVO> getPermissionTree(PermissionQueryRequest request) {
@@ -127,6 +129,7 @@ public class PermissionServiceImpl extends ServiceImpl<PermissionMapper, Permiss
         permission.setUpdatedAt(LocalDateTime.now());
         
         permissionMapper.insert(permission);
+        permissionSnapshotCache.reloadAfterCommit();
         
         return permission;
     }
@@ -149,6 +152,7 @@ public class PermissionServiceImpl extends ServiceImpl<PermissionMapper, Permiss
         permission.setUpdatedAt(LocalDateTime.now());
         
         permissionMapper.updateById(permission);
+        permissionSnapshotCache.reloadAfterCommit();
         
         return permission;
     }
@@ -161,6 +165,7 @@ public class PermissionServiceImpl extends ServiceImpl<PermissionMapper, Permiss
         validateDelete(id);
         
         permissionMapper.deleteById(id);
+        permissionSnapshotCache.reloadAfterCommit();
     }
 
     @Override
@@ -5,12 +5,16 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.example.oa_system_backend.common.exception.BusinessException;
+import com.example.oa_system_backend.common.utils.SecurityUtils;
 import com.example.oa_system_backend.module.permission.dto.*;
 import com.example.oa_system_backend.module.permission.entity.Role;
+import com.example.oa_system_backend.module.permission.entity.RolePermission;
 import com.example.oa_system_backend.module.permission.entity.UserRole;
 import com.example.oa_system_backend.module.permission.mapper.RoleMapper;
+import com.example.oa_system_backend.module.permission.mapper.RolePermissionMapper;
 import com.example.oa_system_backend.module.permission.mapper.UserRoleMapper;
 import com.example.oa_system_backend.module.permission.service.RoleService;
+import com.example.oa_system_backend.module.permission.util.PermissionSnapshotCache;
 import com.example.oa_system_backend.module.permission.vo.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,6 +23,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -30,6 +36,8 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements Ro
 
     private final RoleMapper roleMapper;
     private final UserRoleMapper userRoleMapper;
+    private final RolePermissionMapper rolePermissionMapper;
+    private final PermissionSnapshotCache permissionSnapshotCache;
 
     @Override
     public IPage<RoleVO> getRoleList(RoleQueryRequest request) {
@@ -125,6 +133,7 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements Ro
         role.setUpdatedAt(LocalDateTime.now());
         
         roleMapper.updateById(role);
+        permissionSnapshotCache.reloadAfterCommit();
         
         return role;
     }
@@ -137,6 +146,7 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements Ro
         validateDelete(id);
         
         roleMapper.deleteById(id);
+        permissionSnapshotCache.reloadAfterCommit();
     }
 
     @Override
@@ -173,7 +183,11 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements Ro
             throw new BusinessException("角色不存在");
         }
         
-        return List.of();
+        return rolePermissionMapper.selectList(new LambdaQueryWrapper<RolePermission>()
+                        .eq(RolePermission::getRoleId, id))
+                .stream()
+                .map(RolePermission::getPermissionId)
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -185,6 +199,27 @@ public class RoleServiceImpl extends ServiceImpl<RoleMapper, Role> implements Ro
         if (role == null) {
             throw new BusinessException("角色不存在");
         }
+
+        rolePermissionMapper.delete(new LambdaQueryWrapper<RolePermission>()
+                .eq(RolePermission::getRoleId, id));
+
+        List<RolePermission> rolePermissions = new ArrayList<>();
+        String operator = SecurityUtils.getCurrentUserId();
+        LocalDateTime now = LocalDateTime.now();
+        for (String permissionId : new LinkedHashSet<>(request.getPermissionIds())) {
+            RolePermission rolePermission = new RolePermission();
+            rolePermission.setId(UUID.randomUUID().toString().replace("-", ""));
+            rolePermission.setRoleId(id);
+            rolePermission.setPermissionId(permissionId);
+            rolePermission.setCreatedAt(now);
+            rolePermission.setCreatedBy(operator);
+            rolePermissions.add(rolePermission);
+        }
+        if (!rolePermissions.isEmpty()) {
+            rolePermissionMapper.insertBatch(rolePermissions);
+        }
+
+        permissionSnapshotCache.reloadAfterCommit();
     }
 
     @Override
@@ -8,6 +8,7 @@ import com.example.oa_system_backend.module.permission.entity.UserRole;
 import com.example.oa_system_backend.module.permission.mapper.RoleMapper;
 import com.example.oa_system_backend.module.permission.mapper.UserRoleMapper;
 import com.example.oa_system_backend.module.permission.service.UserRoleService;
+import com.example.oa_system_backend.module.permission.util.PermissionSnapshotCache;
 import com.example.oa_system_backend.module.permission.vo.RoleVO;
 import com.example.oa_system_backend.module.permission.vo.UserPermissionsVO;
 import lombok.RequiredArgsConstructor;
@@ -28,6 +29,7 @@ public class UserRoleServiceImpl implements UserRoleService {
 
     private final UserRoleMapper userRoleMapper;
     private final RoleMapper roleMapper;
+    private final PermissionSnapshotCache permissionSnapshotCache;
 
     @Override
     public List<RoleVO> getUserRoles(String userId) {
@@ -38,16 +40,16 @@ public class UserRoleServiceImpl implements UserRoleService {
         wrapper.eq(UserRole::getIsDeleted, 0);
         
         List<UserRole> userRoles = userRoleMapper.selectList(wrapper);
+        if (userRoles.isEmpty()) {
+            return List.of();
+        }
         
-        return userRoles.stream().map(userRole -> {
-            Role role = roleMapper.selectById(userRole.getRoleId());
-            if (role != null) {
-                RoleVO vo = new RoleVO();
-                BeanUtils.copyProperties(role, vo);
-                return vo;
-            }
-            return null;
-        }).filter(vo -> vo != null).collect(Collectors.toList());
+        List<String> roleIds = userRoles.stream().map(UserRole::getRoleId).distinct().collect(Collectors.toList());
+        return roleMapper.selectBatchIds(roleIds).stream().map(role -> {
+            RoleVO vo = new RoleVO();
+            BeanUtils.copyProperties(role, vo);
+            return vo;
+        }).collect(Collectors.toList());
     }
 
     @Override
@@ -87,6 +89,8 @@ public class UserRoleServiceImpl implements UserRoleService {
                 userRoleMapper.insert(userRole);
             }
         }
+
+        permissionSnapshotCache.refreshUserAfterCommit(userId);
     }
 
     @Override
@@ -107,6 +111,8 @@ public class UserRoleServiceImpl implements UserRoleService {
         userRole.setIsDeleted(1);
         userRole.setDeletedAt(LocalDateTime.now());
         userRoleMapper.updateById(userRole);
+
+        permissionSnapshotCache.refreshUserAfterCommit(userId);
     }
 
     @Override
@@ -118,6 +124,7 @@ public class UserRoleServiceImpl implements UserRoleService {
         UserPermissionsVO userPermissions = new UserPermissionsVO();
         userPermissions.setUserId(userId);
         userPermissions.setRoles(roles);
+        userPermissions.setPermissionCodes(permissionSnapshotCache.getPermissionCodes(userId));
         
         return userPermissions;
     }
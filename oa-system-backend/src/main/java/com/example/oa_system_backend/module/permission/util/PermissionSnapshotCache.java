@@ -0,0 +1,237 @@
+package com.example.oa_system_backend.module.permission.util;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.example.oa_system_backend.common.utils.ReloadableSnapshot;
+import com.example.oa_system_backend.common.utils.SecurityUtils;
+import com.example.oa_system_backend.common.utils.TransactionUtils;
+import com.example.oa_system_backend.module.permission.entity.Permission;
+import com.example.oa_system_backend.module.permission.entity.Role;
+import com.example.oa_system_backend.module.permission.entity.RolePermission;
+import com.example.oa_system_backend.module.permission.entity.UserRole;
+import com.example.oa_system_backend.module.permission.mapper.PermissionMapper;
+import com.example.oa_system_backend.module.permission.mapper.RoleMapper;
+import com.example.oa_system_backend.module.permission.mapper.RolePermissionMapper;
+import com.example.oa_system_backend.module.permission.mapper.UserRoleMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 权限快照
+ * 启动时把权限、角色权限和用户角色编译为每个用户一个权限位图（权限按编码分配连续位号），请求时的权限判断只做一次位测试，不访问数据库。
+ * 角色权限或角色状态变更后整体重建，用户角色变更后只重算该用户；都在事务提交后执行；角色有效期随定时重载生效。
+ * 拥有 {@link #SUPER_ADMIN_ROLE} 角色的用户拥有全部权限。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PermissionSnapshotCache extends ReloadableSnapshot {
+
+    public static final String SUPER_ADMIN_ROLE = "admin";
+
+    private static final String STATUS_ACTIVE = "active";
+
+    private final PermissionMapper permissionMapper;
+    private final RoleMapper roleMapper;
+    private final RolePermissionMapper rolePermissionMapper;
+    private final UserRoleMapper userRoleMapper;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    @Override
+    public synchronized void reload() {
+        List<Permission> permissions = permissionMapper.selectList(new LambdaQueryWrapper<Permission>()
+                .eq(Permission::getStatus, STATUS_ACTIVE)
+                .orderByAsc(Permission::getId));
+        Map<String, Integer> bitByCode = new HashMap<>();
+        Map<String, Integer> bitByPermissionId = new HashMap<>();
+        List<String> codes = new ArrayList<>();
+        for (Permission permission : permissions) {
+            Integer bit = bitByCode.get(permission.getCode());
+            if (bit == null) {
+                bit = codes.size();
+                codes.add(permission.getCode());
+                bitByCode.put(permission.getCode(), bit);
+            }
+            bitByPermissionId.put(permission.getId(), bit);
+        }
+
+        Map<String, BitSet> roleBits = new HashMap<>();
+        Map<String, String> roleCodes = new HashMap<>();
+        for (Role role : roleMapper.selectList(new LambdaQueryWrapper<Role>()
+                .eq(Role::getStatus, STATUS_ACTIVE))) {
+            roleCodes.put(role.getId(), role.getCode());
+            roleBits.put(role.getId(), new BitSet(codes.size()));
+        }
+        for (RolePermission rolePermission : rolePermissionMapper.selectList(null)) {
+            BitSet bits = roleBits.get(rolePermission.getRoleId());
+            Integer bit = bitByPermissionId.get(rolePermission.getPermissionId());
+            if (bits != null && bit != null) {
+                bits.set(bit);
+            }
+        }
+        BitSet allBits = new BitSet(codes.size());
+        allBits.set(0, codes.size());
+        roleCodes.forEach((roleId, code) -> {
+            if (SUPER_ADMIN_ROLE.equals(code)) {
+                roleBits.put(roleId, allBits);
+            }
+        });
+
+        Map<String, List<String>> rolesByUser = new HashMap<>();
+        for (UserRole userRole : userRoleMapper.selectList(activeUserRoles(null))) {
+            rolesByUser.computeIfAbsent(userRole.getUserId(), k -> new ArrayList<>()).add(userRole.getRoleId());
+        }
+        Map<String, UserGrant> users = new HashMap<>();
+        rolesByUser.forEach((userId, roleIds) -> users.put(userId, UserGrant.of(roleIds, roleBits, roleCodes)));
+
+        snapshot = new Snapshot(snapshot.version + 1, bitByCode, List.copyOf(codes), roleBits, roleCodes,
+                Collections.unmodifiableMap(users));
+        log.info("权限快照加载完成, 版本: {}, 权限数: {}, 角色数: {}, 用户数: {}",
+                snapshot.version, codes.size(), roleBits.size(), users.size());
+    }
+
+    @Override
+    protected String name() {
+        return "权限快照";
+    }
+
+    /**
+     * 角色或角色权限变更：事务提交后全量重建
+     */
+    public void reloadAfterCommit() {
+        TransactionUtils.afterCommit(this::reload);
+    }
+
+    /**
+     * 用户角色变更：事务提交后只重算该用户
+     */
+    public void refreshUserAfterCommit(String userId) {
+        TransactionUtils.afterCommit(() -> refreshUser(userId));
+    }
+
+    /**
+     * 当前登录用户是否拥有指定权限，供 @PreAuthorize("@permissionSnapshotCache.has('xxx')") 使用
+     */
+    public boolean has(String permissionCode) {
+        String userId = SecurityUtils.getCurrentUserId();
+        return userId != null && hasPermission(userId, permissionCode);
+    }
+
+    public boolean hasPermission(String userId, String permissionCode) {
+        Snapshot current = snapshot;
+        Integer bit = current.bitByCode.get(permissionCode);
+        UserGrant grant = current.users.get(userId);
+        return bit != null && grant != null && grant.bits.get(bit);
+    }
+
+    /**
+     * 用户拥有的权限编码
+     */
+    public List<String> getPermissionCodes(String userId) {
+        Snapshot current = snapshot;
+        UserGrant grant = current.users.get(userId);
+        if (grant == null) {
+            return List.of();
+        }
+        List<String> codes = new ArrayList<>(grant.bits.cardinality());
+        for (int bit = grant.bits.nextSetBit(0); bit >= 0; bit = grant.bits.nextSetBit(bit + 1)) {
+            codes.add(current.codes.get(bit));
+        }
+        return codes;
+    }
+
+    /**
+     * 用户当前有效的角色编码
+     */
+    public List<String> getRoleCodes(String userId) {
+        UserGrant grant = snapshot.users.get(userId);
+        return grant != null ? grant.roleCodes : List.of();
+    }
+
+    public long getVersion() {
+        return snapshot.version;
+    }
+
+    private synchronized void refreshUser(String userId) {
+        Snapshot current = snapshot;
+        List<String> roleIds = new ArrayList<>();
+        for (UserRole userRole : userRoleMapper.selectList(activeUserRoles(userId))) {
+            roleIds.add(userRole.getRoleId());
+        }
+        Map<String, UserGrant> users = new HashMap<>(current.users);
+        if (roleIds.isEmpty()) {
+            users.remove(userId);
+        } else {
+            users.put(userId, UserGrant.of(roleIds, current.roleBits, current.roleCodes));
+        }
+        snapshot = new Snapshot(current.version + 1, current.bitByCode, current.codes, current.roleBits,
+                current.roleCodes, Collections.unmodifiableMap(users));
+        log.info("刷新用户权限: userId={}, 角色数: {}, 版本: {}", userId, roleIds.size(), snapshot.version);
+    }
+
+    private static LambdaQueryWrapper<UserRole> activeUserRoles(String userId) {
+        LocalDateTime now = LocalDateTime.now();
+        return new LambdaQueryWrapper<UserRole>()
+                .eq(userId != null, UserRole::getUserId, userId)
+                .and(w -> w.isNull(UserRole::getStartTime).or().le(UserRole::getStartTime, now))
+                .and(w -> w.isNull(UserRole::getEndTime).or().gt(UserRole::getEndTime, now));
+    }
+
+    private static final class Snapshot {
+
+        private static final Snapshot EMPTY = new Snapshot(0L, Map.of(), List.of(), Map.of(), Map.of(), Map.of());
+
+        private final long version;
+        private final Map<String, Integer> bitByCode;
+        private final List<String> codes;
+        private final Map<String, BitSet> roleBits;
+        private final Map<String, String> roleCodes;
+        private final Map<String, UserGrant> users;
+
+        Snapshot(long version, Map<String, Integer> bitByCode, List<String> codes, Map<String, BitSet> roleBits,
+                 Map<String, String> roleCodes, Map<String, UserGrant> users) {
+            this.version = version;
+            this.bitByCode = bitByCode;
+            this.codes = codes;
+            this.roleBits = roleBits;
+            this.roleCodes = roleCodes;
+            this.users = users;
+        }
+    }
+
+    /**
+     * 单个用户的权限位图和角色编码，构建后不再修改
+     */
+    private static final class UserGrant {
+
+        private final BitSet bits;
+        private final List<String> roleCodes;
+
+        private UserGrant(BitSet bits, List<String> roleCodes) {
+            this.bits = bits;
+            this.roleCodes = roleCodes;
+        }
+
+        static UserGrant of(List<String> roleIds, Map<String, BitSet> roleBits, Map<String, String> roleCodes) {
+            BitSet bits = new BitSet();
+            List<String> codes = new ArrayList<>(roleIds.size());
+            for (String roleId : roleIds) {
+                BitSet granted = roleBits.get(roleId);
+                if (granted != null) {
+                    bits.or(granted);
+                    codes.add(roleCodes.get(roleId));
+                }
+            }
+            return new UserGrant(bits, List.copyOf(codes));
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.oa_system_backend.schedule;
 
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.example.oa_system_backend.common.utils.TokenRevocationRegistry;
 import com.example.oa_system_backend.module.auth.entity.AuthUserSession;
 import com.example.oa_system_backend.module.auth.entity.AuthVerificationCode;
 import com.example.oa_system_backend.module.auth.entity.AuthUser;
@@ -22,6 +23,7 @@ public class CleanupSchedule {
     private final AuthUserSessionMapper authUserSessionMapper;
     private final AuthVerificationCodeMapper authVerificationCodeMapper;
     private final AuthUserMapper authUserMapper;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
 
     /**
      * Clean expired sessions - runs every hour
@@ -35,6 +37,9 @@ public class CleanupSchedule {
 
         int deletedCount = authUserSessionMapper.delete(wrapper);
         log.info("Cleaned up {} expired sessions", deletedCount);
+
+        // Revocation entries live only as long as the token itself
+        tokenRevocationRegistry.purgeExpired();
     }
 
     /**
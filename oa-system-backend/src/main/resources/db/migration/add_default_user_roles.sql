@@ -0,0 +1,47 @@
+-- 报销权限上线前的角色数据迁移
+-- 报销接口改为按权限快照校验后，没有角色的员工会被拒绝访问；在 add_expense_permissions.sql 之后执行
+-- 1. 新增财务人员角色，持有财务审批、打款和统计权限
+-- 2. 没有任何角色的在职员工授予普通员工角色，部门负责人授予部门管理员角色，财务部员工授予财务人员角色
+-- 3. 新增分配用户角色权限；角色、权限管理接口按 system:role:*、system:permission:* 校验，只授予超级管理员
+
+INSERT IGNORE INTO `sys_role` (`id`, `name`, `code`, `type`, `sort`, `description`, `status`, `is_preset`, `created_at`, `created_by`, `updated_at`, `updated_by`) VALUES
+('ROLE0004', '财务人员', 'finance', 'custom', 4, '报销财务审批与打款', 'active', 0, NOW(), 'SYSTEM', NOW(), 'SYSTEM');
+
+INSERT IGNORE INTO `sys_role_permission` (`id`, `role_id`, `permission_id`, `created_at`, `created_by`) VALUES
+('RP0401', 'ROLE0004', 'PERM004', NOW(), 'SYSTEM'),
+('RP0402', 'ROLE0004', 'PERM0041', NOW(), 'SYSTEM'),
+('RP0403', 'ROLE0004', 'PERM00417', NOW(), 'SYSTEM'),
+('RP0404', 'ROLE0004', 'PERM00418', NOW(), 'SYSTEM'),
+('RP0405', 'ROLE0004', 'PERM00419', NOW(), 'SYSTEM');
+
+INSERT IGNORE INTO `sys_permission` (`id`, `name`, `code`, `type`, `module`, `parent_id`, `path`, `component`, `icon`, `api_path`, `api_method`, `data_scope`, `sort`, `status`, `created_at`, `created_by`, `updated_at`, `updated_by`) VALUES
+('PERM00124', '分配角色', 'system:role:assign', 'button', 'system', 'PERM0012', NULL, NULL, NULL, '/api/users/{userId}/roles', 'POST', NULL, 4, 'active', NOW(), 'SYSTEM', NOW(), 'SYSTEM');
+
+INSERT IGNORE INTO `sys_role_permission` (`id`, `role_id`, `permission_id`, `created_at`, `created_by`) VALUES
+('RP0028', 'ROLE0001', 'PERM00124', NOW(), 'SYSTEM');
+
+-- 普通员工：没有任何有效角色的在职员工
+INSERT INTO `sys_user_role` (`id`, `user_id`, `role_id`, `created_at`, `created_by`)
+SELECT REPLACE(UUID(), '-', ''), e.id, 'ROLE0003', NOW(), 'SYSTEM'
+FROM `sys_employee` e
+WHERE e.is_deleted = 0
+  AND NOT EXISTS (SELECT 1 FROM `sys_user_role` ur WHERE ur.user_id = e.id AND ur.is_deleted = 0);
+
+-- 部门管理员：部门负责人
+INSERT INTO `sys_user_role` (`id`, `user_id`, `role_id`, `created_at`, `created_by`)
+SELECT REPLACE(UUID(), '-', ''), l.leader_id, 'ROLE0002', NOW(), 'SYSTEM'
+FROM (SELECT DISTINCT d.leader_id
+      FROM `sys_department` d
+      JOIN `sys_employee` e ON e.id = d.leader_id AND e.is_deleted = 0
+      WHERE d.is_deleted = 0) l
+WHERE NOT EXISTS (SELECT 1 FROM `sys_user_role` ur
+                  WHERE ur.user_id = l.leader_id AND ur.role_id = 'ROLE0002' AND ur.is_deleted = 0);
+
+-- 财务人员：财务部员工，与审批路由中的财务部按名称识别一致
+INSERT INTO `sys_user_role` (`id`, `user_id`, `role_id`, `created_at`, `created_by`)
+SELECT REPLACE(UUID(), '-', ''), e.id, 'ROLE0004', NOW(), 'SYSTEM'
+FROM `sys_employee` e
+JOIN `sys_department` d ON d.id = e.department_id AND d.is_deleted = 0 AND d.name = '财务部'
+WHERE e.is_deleted = 0
+  AND NOT EXISTS (SELECT 1 FROM `sys_user_role` ur
+                  WHERE ur.user_id = e.id AND ur.role_id = 'ROLE0004' AND ur.is_deleted = 0);
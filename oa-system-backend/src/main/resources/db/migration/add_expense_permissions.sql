@@ -0,0 +1,36 @@
+-- 报销模块权限
+-- ExpenseController 的 @PreAuthorize 按以下权限编码校验；超级管理员(admin)自动拥有全部权限，无需单独授权
+-- 现有员工的角色授予和财务人员角色见 add_default_user_roles.sql，两者需一起执行
+
+INSERT IGNORE INTO `sys_permission` (`id`, `name`, `code`, `type`, `module`, `parent_id`, `path`, `component`, `icon`, `api_path`, `api_method`, `data_scope`, `sort`, `status`, `created_at`, `created_by`, `updated_at`, `updated_by`) VALUES
+('PERM004', '报销管理', 'expense', 'menu', 'expense', NULL, '/expense', '@/views/expense/Index', 'Money', NULL, NULL, NULL, 4, 'active', NOW(), 'SYSTEM', NOW(), 'SYSTEM'),
+('PERM0041', '报销列表', 'expense:view', 'menu', 'expense', 'PERM004', '/expense/list', '@/views/expense/List', 'Tickets', '/api/expense', 'GET', NULL, 1, 'active', NOW(), 'SYSTEM', NOW(), 'SYSTEM'),
+('PERM00411', '新建报销', 'expense:create', 'button', 'expense', 'PERM0041', NULL, NULL, NULL, '/api/expense', 'POST', NULL, 1, 'active', NOW(), 'SYSTEM', NOW(), 'SYSTEM'),
+('PERM00412', '编辑报销', 'expense:edit', 'button', 'expense', 'PERM0041', NULL, NULL, NULL, '/api/expense/{id}', 'PUT', NULL, 2, 'active', NOW(), 'SYSTEM', NOW(), 'SYSTEM'),
+('PERM00413', '删除报销', 'expense:delete', 'button', 'expense', 'PERM0041', NULL, NULL, NULL, '/api/expense/{id}', 'DELETE', NULL, 3, 'active', NOW(), 'SYSTEM', NOW(), 'SYSTEM'),
+('PERM00414', '提交报销', 'expense:submit', 'button', 'expense', 'PERM0041', NULL, NULL, NULL, '/api/expense/{id}/submit', 'POST', NULL, 4, 'active', NOW(), 'SYSTEM', NOW(), 'SYSTEM'),
+('PERM00415', '撤销报销', 'expense:cancel', 'button', 'expense', 'PERM0041', NULL, NULL, NULL, '/api/expense/{id}/cancel', 'POST', NULL, 5, 'active', NOW(), 'SYSTEM', NOW(), 'SYSTEM'),
+('PERM00416', '部门审批', 'expense:dept_approve', 'button', 'expense', 'PERM0041', NULL, NULL, NULL, '/api/expense/{id}/dept-approval', 'POST', NULL, 6, 'active', NOW(), 'SYSTEM', NOW(), 'SYSTEM'),
+('PERM00417', '财务审批', 'expense:finance_approve', 'button', 'expense', 'PERM0041', NULL, NULL, NULL, '/api/expense/{id}/finance-approval', 'POST', NULL, 7, 'active', NOW(), 'SYSTEM', NOW(), 'SYSTEM'),
+('PERM00418', '报销打款', 'expense:payment', 'button', 'expense', 'PERM0041', NULL, NULL, NULL, '/api/expense/{id}/payment', 'POST', NULL, 8, 'active', NOW(), 'SYSTEM', NOW(), 'SYSTEM'),
+('PERM00419', '报销统计', 'expense:stats', 'button', 'expense', 'PERM0041', NULL, NULL, NULL, '/api/expense/stats/*', 'GET', NULL, 9, 'active', NOW(), 'SYSTEM', NOW(), 'SYSTEM');
+
+INSERT IGNORE INTO `sys_role_permission` (`id`, `role_id`, `permission_id`, `created_at`, `created_by`) VALUES
+-- 部门管理员：报销及部门审批、统计
+('RP0201', 'ROLE0002', 'PERM004', NOW(), 'SYSTEM'),
+('RP0202', 'ROLE0002', 'PERM0041', NOW(), 'SYSTEM'),
+('RP0203', 'ROLE0002', 'PERM00411', NOW(), 'SYSTEM'),
+('RP0204', 'ROLE0002', 'PERM00412', NOW(), 'SYSTEM'),
+('RP0205', 'ROLE0002', 'PERM00413', NOW(), 'SYSTEM'),
+('RP0206', 'ROLE0002', 'PERM00414', NOW(), 'SYSTEM'),
+('RP0207', 'ROLE0002', 'PERM00415', NOW(), 'SYSTEM'),
+('RP0208', 'ROLE0002', 'PERM00416', NOW(), 'SYSTEM'),
+('RP0209', 'ROLE0002', 'PERM00419', NOW(), 'SYSTEM'),
+-- 普通员工：本人报销
+('RP0301', 'ROLE0003', 'PERM004', NOW(), 'SYSTEM'),
+('RP0302', 'ROLE0003', 'PERM0041', NOW(), 'SYSTEM'),
+('RP0303', 'ROLE0003', 'PERM00411', NOW(), 'SYSTEM'),
+('RP0304', 'ROLE0003', 'PERM00412', NOW(), 'SYSTEM'),
+('RP0305', 'ROLE0003', 'PERM00413', NOW(), 'SYSTEM'),
+('RP0306', 'ROLE0003', 'PERM00414', NOW(), 'SYSTEM'),
+('RP0307', 'ROLE0003', 'PERM00415', NOW(), 'SYSTEM');
@@ -0,0 +1,25 @@
+-- 请假月度汇总表
+-- 按 员工×部门×月份×类型×状态 一行，记录申请数和请假时长合计，月份取请假开始时间所在月
+-- 请假申请状态变化时由 LeaveStatisticsRollup 在同一事务内按差量维护，每天凌晨按请假申请全量重建
+
+CREATE TABLE IF NOT EXISTS approval_leave_stats_monthly (
+  employee_id VARCHAR(50) NOT NULL COMMENT '申请人ID',
+  department_id VARCHAR(50) NOT NULL COMMENT '申请时所在部门ID',
+  month CHAR(7) NOT NULL COMMENT '月份(格式: yyyy-MM)',
+  type VARCHAR(20) NOT NULL COMMENT '请假类型',
+  status VARCHAR(20) NOT NULL COMMENT '申请状态',
+  request_count INT NOT NULL DEFAULT 0 COMMENT '申请数',
+  total_duration DECIMAL(10,1) NOT NULL DEFAULT 0 COMMENT '请假时长合计(天)',
+  updated_at DATETIME NOT NULL COMMENT '最后更新时间',
+  PRIMARY KEY (employee_id, department_id, month, type, status),
+  KEY idx_department_month (department_id, month),
+  KEY idx_month (month)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='请假月度汇总表';
+
+-- 根据现有请假申请一次性回填
+INSERT IGNORE INTO approval_leave_stats_monthly
+  (employee_id, department_id, month, type, status, request_count, total_duration, updated_at)
+SELECT applicant_id, department_id, DATE_FORMAT(start_time, '%Y-%m'), type, status,
+       COUNT(*), SUM(duration), NOW()
+FROM approval_leave_request
+GROUP BY applicant_id, department_id, DATE_FORMAT(start_time, '%Y-%m'), type, status;
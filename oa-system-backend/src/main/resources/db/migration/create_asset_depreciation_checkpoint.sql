@@ -0,0 +1,15 @@
+-- 资产折旧批处理检查点表
+-- 每个折旧期间一行，记录已完成的最后一个资产ID，任务中断后从该位置续跑
+-- owner 为执行实例，多实例部署时只有持有检查点的实例推进折旧
+
+CREATE TABLE IF NOT EXISTS biz_asset_depreciation_checkpoint (
+  period VARCHAR(7) PRIMARY KEY COMMENT '折旧期间(格式: yyyy-MM)',
+  last_asset_id VARCHAR(20) COMMENT '已完成的最后一个资产ID',
+  processed_count INT NOT NULL DEFAULT 0 COMMENT '已处理资产数',
+  updated_count INT NOT NULL DEFAULT 0 COMMENT '已写回资产数',
+  status ENUM('running', 'completed') NOT NULL DEFAULT 'running' COMMENT '状态',
+  owner VARCHAR(64) COMMENT '执行实例标识',
+  started_at DATETIME NOT NULL COMMENT '开始时间',
+  updated_at DATETIME NOT NULL COMMENT '最后更新时间',
+  finished_at DATETIME COMMENT '完成时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='资产折旧批处理检查点表';
@@ -0,0 +1,35 @@
+-- 部门闭包表
+-- 每对 祖先 -> 子孙 一行（含自身，深度为0），子孙、祖先查询都是单表索引查询，不需要递归
+-- 部门新增、移动、删除时由 DepartmentClosureMapper 增量维护
+
+CREATE TABLE IF NOT EXISTS sys_department_closure (
+  ancestor_id VARCHAR(20) NOT NULL COMMENT '祖先部门ID',
+  descendant_id VARCHAR(20) NOT NULL COMMENT '子孙部门ID',
+  depth INT NOT NULL COMMENT '层级距离(自身为0)',
+  PRIMARY KEY (ancestor_id, descendant_id),
+  KEY idx_descendant (descendant_id, depth)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='部门闭包表';
+
+-- 根据现有 parent_id 一次性回填
+INSERT IGNORE INTO sys_department_closure (ancestor_id, descendant_id, depth)
+WITH RECURSIVE dept_path AS (
+  SELECT id AS ancestor_id, id AS descendant_id, 0 AS depth
+  FROM sys_department
+  WHERE is_deleted = 0
+  UNION ALL
+  SELECT dp.ancestor_id, d.id, dp.depth + 1
+  FROM dept_path dp
+  INNER JOIN sys_department d ON d.parent_id = dp.descendant_id
+  WHERE d.is_deleted = 0
+)
+SELECT ancestor_id, descendant_id, depth FROM dept_path;
+
+-- 按闭包深度修正历史移动留下的子部门层级
+UPDATE sys_department d
+INNER JOIN (
+  SELECT descendant_id, MAX(depth) + 1 AS level
+  FROM sys_department_closure
+  GROUP BY descendant_id
+) c ON c.descendant_id = d.id
+SET d.level = c.level
+WHERE d.is_deleted = 0 AND d.level != c.level;
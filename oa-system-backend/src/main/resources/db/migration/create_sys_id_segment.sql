@@ -0,0 +1,8 @@
+-- 业务编号号段表
+-- 每个序列键一行（如 ASSET、EXP20261017），各应用实例每次原子地预留 step 个序号，在内存中无锁发放
+
+CREATE TABLE IF NOT EXISTS sys_id_segment (
+  biz_key VARCHAR(32) PRIMARY KEY COMMENT '序列键(编号前缀, 按日编号时含日期)',
+  max_id BIGINT NOT NULL DEFAULT 0 COMMENT '已预留的最大序号',
+  updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '最后预留时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='业务编号号段表';
@@ -0,0 +1,57 @@
+package com.example.oa_system_backend.common.utils;
+
+import com.example.oa_system_backend.module.auth.vo.CaptchaResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CaptchaUtilsTest {
+
+    @Test
+    void prefillBacksOffAndStopsAfterRepeatedFailures() {
+        AtomicBoolean broken = new AtomicBoolean(true);
+        AtomicInteger attempts = new AtomicInteger();
+        CaptchaUtils captchaUtils = new CaptchaUtils(1) {
+            @Override
+            RenderedCaptcha render() {
+                attempts.incrementAndGet();
+                if (broken.get()) {
+                    throw new IllegalStateException("no fonts");
+                }
+                return new RenderedCaptcha("abcd", "data:image/png;base64,");
+            }
+        };
+
+        captchaUtils.start();
+        try {
+            // 退避 1+2+...+256ms 后停止，而不是空转
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                while (Boolean.TRUE.equals(captchaUtils.getStats().get("prefillRunning"))) {
+                    Thread.sleep(10);
+                }
+            });
+            assertEquals(10, attempts.get());
+
+            // 停止预渲染后改为请求时渲染
+            broken.set(false);
+            CaptchaResponse response = captchaUtils.generateCaptcha();
+            assertTrue(captchaUtils.validateCaptcha(response.getCaptchaKey(), "ABCD"));
+            assertFalse(captchaUtils.validateCaptcha(response.getCaptchaKey(), "abcd"));
+
+            Map<String, Object> stats = captchaUtils.getStats();
+            assertEquals(0, stats.get("poolSize"));
+            assertEquals(1L, stats.get("poolMissCount"));
+            assertEquals(11, attempts.get());
+        } finally {
+            captchaUtils.stop();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.oa_system_backend.common.utils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IpUtilsTest {
+
+    private static final List<String> PROXIES = List.of("10.0.0.1", "10.0.0.2");
+
+    @Test
+    void forwardedHeadersAreIgnoredFromUntrustedPeers() {
+        MockHttpServletRequest request = request("203.0.113.7", "1.2.3.4");
+        request.addHeader("Proxy-Client-IP", "5.6.7.8");
+
+        assertEquals("203.0.113.7", IpUtils.resolveClientIp(request, PROXIES));
+        assertEquals("203.0.113.7", IpUtils.resolveClientIp(request, List.of()));
+    }
+
+    @Test
+    void rightmostUntrustedHopIsUsedBehindTrustedProxies() {
+        // 客户端伪造的 1.2.3.4 在最左侧，由代理追加的真实地址在其右侧
+        assertEquals("198.51.100.9",
+                IpUtils.resolveClientIp(request("10.0.0.1", "1.2.3.4, 198.51.100.9, 10.0.0.2"), PROXIES));
+        assertEquals("10.0.0.1", IpUtils.resolveClientIp(request("10.0.0.1", "10.0.0.2"), PROXIES));
+        assertEquals("10.0.0.1", IpUtils.resolveClientIp(request("10.0.0.1", null), PROXIES));
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddr);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        return request;
+    }
+}
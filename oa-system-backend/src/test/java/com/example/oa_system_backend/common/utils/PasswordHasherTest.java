@@ -0,0 +1,55 @@
+package com.example.oa_system_backend.common.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHasherTest {
+
+    private PasswordHasher passwordHasher;
+
+    @BeforeEach
+    void setUp() {
+        passwordHasher = new PasswordHasher();
+        ReflectionTestUtils.setField(passwordHasher, "targetMillis", 1L);
+        ReflectionTestUtils.setField(passwordHasher, "queueCapacity", 10);
+        ReflectionTestUtils.setField(passwordHasher, "timeoutMillis", 5_000L);
+        passwordHasher.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void encodedPasswordMatchesOnlyOriginal() {
+        String encoded = passwordHasher.encode("Secret123");
+
+        assertTrue(passwordHasher.matches("Secret123", encoded));
+        assertFalse(passwordHasher.matches("secret123", encoded));
+        assertFalse(passwordHasher.needsRehash(encoded));
+        assertEquals(2L, passwordHasher.getStats().get("hashCount"));
+    }
+
+    @Test
+    void legacyPlaintextMatchesAndNeedsRehash() {
+        assertTrue(passwordHasher.matches("Secret123", "Secret123"));
+        assertFalse(passwordHasher.matches("Secret124", "Secret123"));
+        assertTrue(passwordHasher.needsRehash("Secret123"));
+    }
+
+    @Test
+    void weakerStoredHashNeedsRehash() {
+        String weak = new BCryptPasswordEncoder(4).encode("Secret123");
+
+        assertTrue(passwordHasher.matches("Secret123", weak));
+        assertTrue(passwordHasher.needsRehash(weak));
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.oa_system_backend.common.utils;
+
+import com.example.oa_system_backend.config.RateLimitProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    @Test
+    void rejectsAfterBurstPerKey() {
+        RateLimiter rateLimiter = new RateLimiter(new RateLimitProperties());
+
+        for (int i = 0; i < 20; i++) {
+            assertTrue(rateLimiter.tryAcquireByIp("/api/auth/login", "10.0.0.1"));
+        }
+        assertFalse(rateLimiter.tryAcquireByIp("/api/auth/login", "10.0.0.1"));
+        assertTrue(rateLimiter.tryAcquireByIp("/api/auth/login", "10.0.0.2"));
+
+        assertTrue(rateLimiter.tryAcquireByAccount("send-code", "user@example.com"));
+        assertFalse(rateLimiter.tryAcquireByAccount("send-code", "user@example.com"));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Long> loginStats = (Map<String, Long>) rateLimiter.getStats().get("ip:/api/auth/login");
+        assertEquals(21L, loginStats.get("allowed"));
+        assertEquals(1L, loginStats.get("rejected"));
+    }
+
+    @Test
+    void unconfiguredRouteAndDisabledLimiterAlwaysAllow() {
+        RateLimitProperties properties = new RateLimitProperties();
+        RateLimiter rateLimiter = new RateLimiter(properties);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(rateLimiter.tryAcquireByIp("/api/employees", "10.0.0.1"));
+        }
+
+        properties.setEnabled(false);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(rateLimiter.tryAcquireByAccount("send-code", "user@example.com"));
+        }
+    }
+}
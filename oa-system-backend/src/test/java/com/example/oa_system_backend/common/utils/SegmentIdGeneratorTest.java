@@ -0,0 +1,129 @@
+package com.example.oa_system_backend.common.utils;
+
+import com.example.oa_system_backend.common.exception.BusinessException;
+import com.example.oa_system_backend.common.mapper.IdSegmentMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class SegmentIdGeneratorTest {
+
+    private static final int INSTANCES = 3;
+    private static final int THREADS_PER_INSTANCE = 8;
+    private static final int IDS_PER_THREAD = 2_000;
+
+    @Test
+    void idsAreUniqueAcrossThreadsAndInstances() throws Exception {
+        InMemoryIdSegmentMapper mapper = new InMemoryIdSegmentMapper();
+        List<SegmentIdGenerator> instances = new ArrayList<>();
+        for (int i = 0; i < INSTANCES; i++) {
+            instances.add(new SegmentIdGenerator(mapper, mock(PlatformTransactionManager.class)));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(INSTANCES * THREADS_PER_INSTANCE);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (SegmentIdGenerator generator : instances) {
+                for (int t = 0; t < THREADS_PER_INSTANCE; t++) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < IDS_PER_THREAD; i++) {
+                            ids.add(generator.nextId("biz_asset", "ASSET", 6, 20));
+                        }
+                        return null;
+                    }));
+                }
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int total = INSTANCES * THREADS_PER_INSTANCE * IDS_PER_THREAD;
+        assertEquals(total, ids.size());
+        // 每个号段只访问一次号段表
+        assertTrue(mapper.allocations.get() <= total / 20 + INSTANCES);
+    }
+
+    @Test
+    void firstSegmentContinuesFromExistingData() {
+        InMemoryIdSegmentMapper mapper = new InMemoryIdSegmentMapper();
+        mapper.existingMaxSequence.put("EXP20261017", 41L);
+        SegmentIdGenerator generator = new SegmentIdGenerator(mapper, mock(PlatformTransactionManager.class));
+
+        assertEquals("EXP202610170042",
+                generator.nextDailyId("approval_expense", "EXP", LocalDate.of(2026, 10, 17), 4, 20));
+        assertEquals("EXP202610180001",
+                generator.nextDailyId("approval_expense", "EXP", LocalDate.of(2026, 10, 18), 4, 20));
+    }
+
+    @Test
+    void dailySequenceIsBoundedByWidth() {
+        InMemoryIdSegmentMapper mapper = new InMemoryIdSegmentMapper();
+        mapper.existingMaxSequence.put("EMP20261017", 999L);
+        SegmentIdGenerator generator = new SegmentIdGenerator(mapper, mock(PlatformTransactionManager.class));
+
+        assertThrows(BusinessException.class,
+                () -> generator.nextDailyId("sys_employee", "EMP", LocalDate.of(2026, 10, 17), 3, 1));
+    }
+
+    /**
+     * 模拟号段表：更新持有行锁直到事务提交，事务内读取到的是本线程写入的值
+     */
+    private static final class InMemoryIdSegmentMapper implements IdSegmentMapper {
+
+        private final Map<String, Long> rows = new HashMap<>();
+        private final Map<String, Long> existingMaxSequence = new HashMap<>();
+        private final ThreadLocal<Long> lastWritten = new ThreadLocal<>();
+        private final AtomicInteger allocations = new AtomicInteger();
+
+        @Override
+        public synchronized int incrementMaxId(String bizKey, int step) {
+            Long current = rows.get(bizKey);
+            if (current == null) {
+                return 0;
+            }
+            rows.put(bizKey, current + step);
+            lastWritten.set(current + step);
+            allocations.incrementAndGet();
+            return 1;
+        }
+
+        @Override
+        public Long selectMaxId(String bizKey) {
+            return lastWritten.get();
+        }
+
+        @Override
+        public synchronized int insertIgnore(String bizKey, long maxId) {
+            return rows.putIfAbsent(bizKey, maxId) == null ? 1 : 0;
+        }
+
+        @Override
+        public Long selectMaxSequence(String table, String prefix, int width) {
+            return existingMaxSequence.get(prefix);
+        }
+    }
+}
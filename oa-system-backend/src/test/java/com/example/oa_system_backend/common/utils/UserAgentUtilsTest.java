@@ -0,0 +1,62 @@
+package com.example.oa_system_backend.common.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class UserAgentUtilsTest {
+
+    private static final int ROUNDS = 1_000;
+
+    private static final List<String> CORPUS = List.of(
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36",
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36 Edg/120.0.0.0",
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64; rv:121.0) Gecko/20100101 Firefox/121.0",
+            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.1 Safari/605.1.15",
+            "Mozilla/5.0 (iPhone; CPU iPhone OS 17_1 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.1 Mobile/15E148 Safari/604.1",
+            "Mozilla/5.0 (Linux; Android 13; SM-S9180) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/119.0.0.0 Mobile Safari/537.36",
+            "Mozilla/5.0 (iPhone; CPU iPhone OS 16_6 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Mobile/15E148 MicroMessenger/8.0.43(0x18002b2c) NetType/WIFI Language/zh_CN",
+            "Mozilla/5.0 (iPad; CPU OS 17_1 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.1 Mobile/15E148 Safari/604.1");
+
+    @Test
+    void repeatedAgentsAreParsedOnce() {
+        UserAgentUtils userAgentUtils = new UserAgentUtils();
+
+        List<DeviceInfo> first = CORPUS.stream().map(userAgentUtils::parseUserAgent).toList();
+        for (int round = 1; round < ROUNDS; round++) {
+            for (int i = 0; i < CORPUS.size(); i++) {
+                assertSame(first.get(i), userAgentUtils.parseUserAgent(CORPUS.get(i)));
+            }
+        }
+
+        Map<String, Object> stats = userAgentUtils.getStats();
+        assertEquals((long) CORPUS.size(), stats.get("missCount"));
+        assertEquals((long) CORPUS.size() * (ROUNDS - 1), stats.get("hitCount"));
+    }
+
+    @Test
+    void emptyAgentIsUnknownAndNotCached() {
+        UserAgentUtils userAgentUtils = new UserAgentUtils();
+
+        assertEquals("Unknown", userAgentUtils.parseUserAgent(null).getDeviceType());
+        assertEquals("Unknown", userAgentUtils.parseUserAgent("").getBrowser());
+        assertEquals(0L, userAgentUtils.getStats().get("missCount"));
+    }
+
+    @Test
+    void cachedResultMatchesDirectParse() {
+        UserAgentUtils cached = new UserAgentUtils();
+        for (String userAgent : CORPUS) {
+            cached.parseUserAgent(userAgent);
+            DeviceInfo expected = new UserAgentUtils().parseUserAgent(userAgent);
+            DeviceInfo actual = cached.parseUserAgent(userAgent);
+            assertEquals(expected.getBrowser(), actual.getBrowser());
+            assertEquals(expected.getOs(), actual.getOs());
+            assertEquals(expected.getDeviceType(), actual.getDeviceType());
+        }
+    }
+}
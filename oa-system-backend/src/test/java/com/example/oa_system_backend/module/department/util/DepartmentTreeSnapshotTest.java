@@ -0,0 +1,136 @@
+package com.example.oa_system_backend.module.department.util;
+
+import com.example.oa_system_backend.module.department.mapper.DepartmentMapper;
+import com.example.oa_system_backend.module.department.vo.DepartmentVO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DepartmentTreeSnapshotTest {
+
+    private static final int ROOTS = 10;
+    private static final int CHILDREN = 10;
+    private static final int GRANDCHILDREN = 10;
+
+    @Mock
+    private DepartmentMapper departmentMapper;
+
+    @InjectMocks
+    private DepartmentTreeSnapshot departmentTreeSnapshot;
+
+    /**
+     * 3层共 1110 个部门：R{i} -> R{i}-{j} -> R{i}-{j}-{k}，同级按 sort 倒序排列
+     */
+    @BeforeEach
+    void setUp() {
+        List<DepartmentVO> departments = new ArrayList<>();
+        for (int i = 0; i < ROOTS; i++) {
+            String root = "R" + i;
+            departments.add(department(root, null, 1, ROOTS - i));
+            for (int j = 0; j < CHILDREN; j++) {
+                String child = root + "-" + j;
+                departments.add(department(child, root, 2, CHILDREN - j));
+                for (int k = 0; k < GRANDCHILDREN; k++) {
+                    departments.add(department(child + "-" + k, child, 3, GRANDCHILDREN - k));
+                }
+            }
+        }
+        when(departmentMapper.selectDepartmentTree(null)).thenReturn(departments);
+        departmentTreeSnapshot.reload();
+        clearInvocations(departmentMapper);
+    }
+
+    @Test
+    void treeAndQueriesComeFromSnapshot() {
+        List<DepartmentVO> tree = departmentTreeSnapshot.getTree();
+
+        assertEquals(ROOTS, tree.size());
+        assertEquals("R" + (ROOTS - 1), tree.get(0).getId());
+        DepartmentVO firstChild = tree.get(0).getChildren().get(0);
+        assertEquals("R" + (ROOTS - 1) + "-" + (CHILDREN - 1), firstChild.getId());
+        assertEquals(GRANDCHILDREN, firstChild.getChildren().size());
+        assertTrue(firstChild.getChildren().get(0).getChildren().isEmpty());
+
+        assertEquals(CHILDREN + CHILDREN * GRANDCHILDREN, departmentTreeSnapshot.getDescendantIds("R3").size());
+        assertEquals(List.of("R3", "R3-4", "R3-4-5"),
+                departmentTreeSnapshot.getAncestorPath("R3-4-5").stream().map(DepartmentVO::getId).toList());
+        assertTrue(departmentTreeSnapshot.getAncestorPath("missing").isEmpty());
+        assertNull(departmentTreeSnapshot.getRoots().get(0).getChildren());
+        assertEquals(CHILDREN, departmentTreeSnapshot.getChildren("R3").size());
+        verifyNoMoreInteractions(departmentMapper);
+    }
+
+    @Test
+    void moveRefreshesOnlyMovedSubtreeAndRebuildsAffectedPaths() {
+        List<DepartmentVO> before = departmentTreeSnapshot.getTree();
+        DepartmentVO untouchedRoot = departmentTreeSnapshot.getSubtree("R5");
+        DepartmentVO untouchedSibling = departmentTreeSnapshot.getSubtree("R1-2");
+
+        List<String> moved = new ArrayList<>(departmentTreeSnapshot.getDescendantIds("R1-1"));
+        moved.add("R1-1");
+        List<DepartmentVO> reloaded = new ArrayList<>();
+        reloaded.add(department("R1-1", "R2-0", 3, 0));
+        for (int k = 0; k < GRANDCHILDREN; k++) {
+            reloaded.add(department("R1-1-" + k, "R1-1", 4, GRANDCHILDREN - k));
+        }
+        when(departmentMapper.selectDepartmentNodes(any())).thenReturn(reloaded);
+
+        departmentTreeSnapshot.refreshAfterCommit(moved);
+
+        verify(departmentMapper, times(1)).selectDepartmentNodes(moved);
+        verifyNoMoreInteractions(departmentMapper);
+        assertEquals(List.of("R2", "R2-0", "R1-1", "R1-1-3"),
+                departmentTreeSnapshot.getAncestorPath("R1-1-3").stream().map(DepartmentVO::getId).toList());
+        assertEquals(CHILDREN - 1, departmentTreeSnapshot.getSubtree("R1").getChildren().size());
+        List<DepartmentVO> newParentChildren = departmentTreeSnapshot.getSubtree("R2-0").getChildren();
+        assertEquals("R1-1", newParentChildren.get(0).getId());
+        assertEquals(GRANDCHILDREN + 1, newParentChildren.size());
+        assertTrue(departmentTreeSnapshot.getDescendantIds("R2").containsAll(moved));
+
+        assertSame(untouchedRoot, departmentTreeSnapshot.getSubtree("R5"));
+        assertSame(untouchedSibling, departmentTreeSnapshot.getSubtree("R1-2"));
+        assertNotSame(before, departmentTreeSnapshot.getTree());
+        assertEquals(CHILDREN, before.get(ROOTS - 2).getChildren().size());
+    }
+
+    @Test
+    void deletedDepartmentIsRemoved() {
+        when(departmentMapper.selectDepartmentNodes(any())).thenReturn(List.of());
+
+        departmentTreeSnapshot.refreshAfterCommit(List.of("R4-4-4"));
+
+        assertNull(departmentTreeSnapshot.getSubtree("R4-4-4"));
+        assertEquals(GRANDCHILDREN - 1, departmentTreeSnapshot.getSubtree("R4-4").getChildren().size());
+        assertFalse(departmentTreeSnapshot.getDescendantIds("R4").contains("R4-4-4"));
+    }
+
+    private static DepartmentVO department(String id, String parentId, int level, int sort) {
+        DepartmentVO department = new DepartmentVO();
+        department.setId(id);
+        department.setName(id);
+        department.setParentId(parentId);
+        department.setLevel(level);
+        department.setSort(sort);
+        return department;
+    }
+}
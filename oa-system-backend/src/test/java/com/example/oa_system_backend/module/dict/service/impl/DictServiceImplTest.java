@@ -0,0 +1,114 @@
+package com.example.oa_system_backend.module.dict.service.impl;
+
+import com.example.oa_system_backend.module.dict.entity.DictItem;
+import com.example.oa_system_backend.module.dict.mapper.DictItemMapper;
+import com.example.oa_system_backend.module.dict.mapper.DictTypeMapper;
+import com.example.oa_system_backend.module.dict.util.DictSnapshotCache;
+import com.example.oa_system_backend.module.dict.vo.DictItemVO;
+import com.example.oa_system_backend.module.dict.vo.DictTreeVO;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DictServiceImplTest {
+
+    private static final int DICT_TYPES = 2;
+
+    @Mock
+    private DictTypeMapper dictTypeMapper;
+
+    @Mock
+    private DictItemMapper dictItemMapper;
+
+    @Mock
+    private DictSnapshotCache dictSnapshotCache;
+
+    @InjectMocks
+    private DictServiceImpl dictService;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 100, 1000})
+    void batchDeleteDictItemsIssuesConstantStatements(int itemCount) {
+        List<Long> ids = ids(itemCount);
+        when(dictItemMapper.selectDictTypesByIds(ids)).thenReturn(affectedTypes());
+
+        dictService.batchDeleteDictItems(ids);
+
+        verify(dictItemMapper, times(1)).selectDictTypesByIds(ids);
+        verify(dictItemMapper, times(1)).batchLogicDeleteByIds(eq(ids), anyString());
+        verify(dictTypeMapper, times(1)).updateItemCounts(List.of(1L, 2L));
+        verify(dictSnapshotCache, times(DICT_TYPES)).refreshAfterCommit(anyString());
+        verifyNoMoreInteractions(dictItemMapper, dictTypeMapper, dictSnapshotCache);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 100, 1000})
+    void batchUpdateDictItemStatusIssuesConstantStatements(int itemCount) {
+        List<Long> ids = ids(itemCount);
+        when(dictItemMapper.selectDictTypesByIds(ids)).thenReturn(affectedTypes());
+
+        dictService.batchUpdateDictItemStatus(ids, "disabled");
+
+        verify(dictItemMapper, times(1)).selectDictTypesByIds(ids);
+        verify(dictItemMapper, times(1)).batchUpdateStatusByIds(eq(ids), eq("disabled"), anyString());
+        verify(dictSnapshotCache, times(DICT_TYPES)).refreshAfterCommit(anyString());
+        verifyNoMoreInteractions(dictItemMapper, dictTypeMapper, dictSnapshotCache);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 100, 1000})
+    void getDictTreeIssuesSingleQuery(int typeCount) {
+        List<DictTreeVO> tree = new ArrayList<>();
+        for (int i = 0; i < typeCount; i++) {
+            DictTreeVO treeVO = new DictTreeVO();
+            treeVO.setCode("type_" + i);
+            treeVO.setItems(i % 2 == 0 ? null : List.of(new DictItemVO(), new DictItemVO()));
+            tree.add(treeVO);
+        }
+        when(dictTypeMapper.selectTree(any(), any())).thenReturn(tree);
+
+        List<DictTreeVO> result = dictService.getDictTree(null, "enabled");
+
+        assertEquals(typeCount, result.size());
+        for (int i = 0; i < typeCount; i++) {
+            assertEquals(i % 2 == 0 ? 0 : 2, result.get(i).getItemCount());
+        }
+        verify(dictTypeMapper, times(1)).selectTree(null, "enabled");
+        verifyNoMoreInteractions(dictItemMapper, dictTypeMapper);
+    }
+
+    private static List<Long> ids(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (long i = 1; i <= count; i++) {
+            ids.add(i);
+        }
+        return ids;
+    }
+
+    private static List<DictItem> affectedTypes() {
+        List<DictItem> types = new ArrayList<>();
+        for (long i = 1; i <= DICT_TYPES; i++) {
+            DictItem type = new DictItem();
+            type.setDictTypeId(i);
+            type.setDictTypeCode("type_" + i);
+            types.add(type);
+        }
+        return types;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.oa_system_backend.module.employee.util;
+
+import com.example.oa_system_backend.module.dict.service.DictService;
+import com.example.oa_system_backend.module.dict.util.DictLabels;
+import com.example.oa_system_backend.module.employee.vo.EmployeeVO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DictLabelUtilTest {
+
+    private static final int PAGE_SIZE = 1_000;
+
+    @Mock
+    private DictService dictService;
+
+    @InjectMocks
+    private DictLabelUtil dictLabelUtil;
+
+    @Test
+    void fillDictLabelsForListLoadsLabelsOncePerPage() {
+        when(dictService.getDictLabels(any())).thenReturn(new DictLabels(Map.of(
+                "gender", Map.of("male", "男", "female", "女"),
+                "position_type", Map.of("engineer", "工程师"),
+                "employee_level", Map.of("P5", "中级"),
+                "probation_status", Map.of("probation", "试用期", "regular", "已转正"),
+                "employee_status", Map.of("active", "在职"))));
+
+        List<EmployeeVO> page = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            EmployeeVO vo = new EmployeeVO();
+            vo.setGender(i % 2 == 0 ? "male" : "female");
+            vo.setPosition("engineer");
+            vo.setLevel("P5");
+            vo.setStatus("active");
+            vo.setProbationEndDate(LocalDate.now().minusDays(1));
+            page.add(vo);
+        }
+
+        dictLabelUtil.fillDictLabelsForList(page);
+
+        verify(dictService, times(1)).getDictLabels(any());
+        verify(dictService, never()).getDictData(anyString());
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            EmployeeVO vo = page.get(i);
+            assertEquals(i % 2 == 0 ? "男" : "女", vo.getGenderLabel());
+            assertEquals("工程师", vo.getPositionLabel());
+            assertEquals("中级", vo.getLevelLabel());
+            assertEquals("regular", vo.getProbationStatus());
+            assertEquals("已转正", vo.getProbationStatusLabel());
+            assertEquals("在职", vo.getStatusLabel());
+        }
+    }
+
+    @Test
+    void unknownValueFallsBackToRawValue() {
+        when(dictService.getDictLabels(any())).thenReturn(DictLabels.empty());
+
+        EmployeeVO vo = new EmployeeVO();
+        vo.setGender("unknown");
+        vo.setStatus("resigned");
+        dictLabelUtil.fillDictLabelsForList(List.of(vo));
+
+        assertEquals("unknown", vo.getGenderLabel());
+        assertEquals("resigned", vo.getProbationStatus());
+        assertEquals("resigned", vo.getProbationStatusLabel());
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.oa_system_backend.module.employee.util;
+
+import com.example.oa_system_backend.module.department.entity.Department;
+import com.example.oa_system_backend.module.department.mapper.DepartmentMapper;
+import com.example.oa_system_backend.module.employee.entity.Employee;
+import com.example.oa_system_backend.module.employee.mapper.EmployeeMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrgRoutingIndexTest {
+
+    private static final int TEAMS = 50;
+    private static final int TEAM_SIZE = 40;
+
+    @Mock
+    private EmployeeMapper employeeMapper;
+
+    @Mock
+    private DepartmentMapper departmentMapper;
+
+    @InjectMocks
+    private OrgRoutingIndex orgRoutingIndex;
+
+    /**
+     * CEO -> 团队经理 T{t} -> 员工 T{t}-{i}，每个团队一个部门，部门负责人为团队经理，D1 为财务部
+     */
+    @BeforeEach
+    void setUp() {
+        List<Employee> employees = new ArrayList<>();
+        List<Department> departments = new ArrayList<>();
+        employees.add(employee("CEO", null, "D0", "总经理", "M9"));
+        departments.add(department("D0", "总经办", "CEO"));
+        for (int t = 0; t < TEAMS; t++) {
+            employees.add(employee("T" + t, "CEO", "D" + (t + 1), "部门经理", "M" + (t % 5)));
+            departments.add(department("D" + (t + 1), t == 0 ? "财务部" : "部门" + t, "T" + t));
+            for (int i = 0; i < TEAM_SIZE; i++) {
+                employees.add(employee("T" + t + "-" + i, "T" + t, "D" + (t + 1), "工程师", "P3"));
+            }
+        }
+        when(employeeMapper.selectRoutingInfo(null)).thenReturn(employees);
+        when(departmentMapper.selectList(any())).thenReturn(departments);
+        orgRoutingIndex.reload();
+        clearInvocations(employeeMapper, departmentMapper);
+    }
+
+    @Test
+    void approversResolveInMemory() {
+        for (int t = 0; t < TEAMS; t++) {
+            for (int i = 0; i < TEAM_SIZE; i++) {
+                String id = "T" + t + "-" + i;
+                List<OrgRoutingIndex.OrgMember> chain = orgRoutingIndex.getManagerChain(id);
+                assertEquals(List.of("T" + t, "CEO"), chain.stream().map(OrgRoutingIndex.OrgMember::getId).toList());
+                String leaderId = orgRoutingIndex.getDepartmentLeaderId(orgRoutingIndex.getMember(id).getDepartmentId());
+                assertEquals("T" + t, leaderId);
+            }
+        }
+        assertEquals("CEO", orgRoutingIndex.getHrApprover().getId());
+        assertEquals("T0", orgRoutingIndex.getFinanceApproverId());
+        assertTrue(orgRoutingIndex.getManagerChain("CEO").isEmpty());
+        assertFalse(orgRoutingIndex.containsDepartment("missing"));
+        verifyNoInteractions(employeeMapper, departmentMapper);
+    }
+
+    @Test
+    void employeeChangeReloadsOnlyThatEmployee() {
+        when(employeeMapper.selectRoutingInfo(List.of("T1-0")))
+                .thenReturn(List.of(employee("T1-0", "T2", "D3", "工程师", "P3")));
+
+        orgRoutingIndex.refreshEmployeeAfterCommit("T1-0");
+
+        assertEquals(List.of("T2", "CEO"),
+                orgRoutingIndex.getManagerChain("T1-0").stream().map(OrgRoutingIndex.OrgMember::getId).toList());
+        assertEquals("T0", orgRoutingIndex.getFinanceApproverId());
+        verify(employeeMapper, times(1)).selectRoutingInfo(List.of("T1-0"));
+        verifyNoMoreInteractions(employeeMapper);
+        verifyNoInteractions(departmentMapper);
+    }
+
+    @Test
+    void removedManagerEndsSubordinateChains() {
+        when(employeeMapper.selectRoutingInfo(List.of("T3"))).thenReturn(List.of());
+
+        orgRoutingIndex.refreshEmployeeAfterCommit("T3");
+
+        assertNull(orgRoutingIndex.getMember("T3"));
+        assertTrue(orgRoutingIndex.getManagerChain("T3-5").isEmpty());
+    }
+
+    @Test
+    void missesLoadOneRowAndRememberUnknownIds() {
+        when(employeeMapper.selectRoutingInfo(List.of("NEW"))).thenReturn(List.of(employee("NEW", "T2", "D3", "工程师", "P3")));
+        when(employeeMapper.selectRoutingInfo(List.of("GONE"))).thenReturn(List.of());
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("name-NEW", orgRoutingIndex.getOrLoadMember("NEW").getName());
+            assertNull(orgRoutingIndex.getOrLoadMember("GONE"));
+        }
+
+        assertEquals(List.of("T2", "CEO"),
+                orgRoutingIndex.getManagerChain("NEW").stream().map(OrgRoutingIndex.OrgMember::getId).toList());
+        assertEquals(TEAM_SIZE + 2, orgRoutingIndex.getDepartmentMembers("D3").size());
+        verify(employeeMapper, times(1)).selectRoutingInfo(List.of("NEW"));
+        verify(employeeMapper, times(1)).selectRoutingInfo(List.of("GONE"));
+        verifyNoMoreInteractions(employeeMapper);
+        verifyNoInteractions(departmentMapper);
+    }
+
+    @Test
+    void cyclicManagersDoNotLoop() {
+        when(employeeMapper.selectRoutingInfo(List.of("CEO")))
+                .thenReturn(List.of(employee("CEO", "T4-0", "D0", "总经理", "M9")));
+
+        orgRoutingIndex.refreshEmployeeAfterCommit("CEO");
+
+        assertEquals(List.of("T4", "CEO"),
+                orgRoutingIndex.getManagerChain("T4-0").stream().map(OrgRoutingIndex.OrgMember::getId).toList());
+    }
+
+    private static Employee employee(String id, String managerId, String departmentId, String position, String level) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setName("name-" + id);
+        employee.setManagerId(managerId);
+        employee.setDepartmentId(departmentId);
+        employee.setPosition(position);
+        employee.setLevel(level);
+        return employee;
+    }
+
+    private static Department department(String id, String name, String leaderId) {
+        Department department = new Department();
+        department.setId(id);
+        department.setName(name);
+        department.setLeaderId(leaderId);
+        return department;
+    }
+}
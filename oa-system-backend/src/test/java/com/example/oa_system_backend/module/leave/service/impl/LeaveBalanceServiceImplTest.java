@@ -0,0 +1,90 @@
+package com.example.oa_system_backend.module.leave.service.impl;
+
+import com.example.oa_system_backend.common.exception.BusinessException;
+import com.example.oa_system_backend.module.leave.entity.LeaveBalance;
+import com.example.oa_system_backend.module.leave.entity.LeaveUsageLog;
+import com.example.oa_system_backend.module.leave.mapper.LeaveBalanceMapper;
+import com.example.oa_system_backend.module.leave.mapper.LeaveUsageLogMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 只覆盖服务层对条件更新结果的处理：影响行数为0时的错误区分和使用记录写入。
+ * 并发下不超扣依赖 LeaveBalanceMapper.xml 中按剩余天数过滤的单行条件更新，
+ * 需要真实 MySQL 验证，不在本测试范围内
+ */
+@ExtendWith(MockitoExtension.class)
+class LeaveBalanceServiceImplTest {
+
+    private static final String EMPLOYEE_ID = "E001";
+    private static final int YEAR = 2026;
+    private static final BigDecimal DURATION = new BigDecimal("0.5");
+
+    @Mock
+    private LeaveBalanceMapper leaveBalanceMapper;
+
+    @Mock
+    private LeaveUsageLogMapper leaveUsageLogMapper;
+
+    @InjectMocks
+    private LeaveBalanceServiceImpl leaveBalanceService;
+
+    @Test
+    void successfulDeductWritesUsageLogWithoutReadingBalance() {
+        when(leaveBalanceMapper.deductAnnual(EMPLOYEE_ID, YEAR, DURATION)).thenReturn(1);
+
+        leaveBalanceService.deductBalance(EMPLOYEE_ID, YEAR, DURATION, "LV1");
+
+        ArgumentCaptor<LeaveUsageLog> usageLog = ArgumentCaptor.forClass(LeaveUsageLog.class);
+        verify(leaveUsageLogMapper).insert(usageLog.capture());
+        assertEquals(EMPLOYEE_ID, usageLog.getValue().getEmployeeId());
+        assertEquals("LV1", usageLog.getValue().getRequestId());
+        verify(leaveBalanceMapper, never()).selectByEmployeeIdAndYear(EMPLOYEE_ID, YEAR);
+    }
+
+    @Test
+    void rejectedDeductIsReportedAsInsufficient() {
+        when(leaveBalanceMapper.deductAnnual(EMPLOYEE_ID, YEAR, DURATION)).thenReturn(0);
+        when(leaveBalanceMapper.selectByEmployeeIdAndYear(EMPLOYEE_ID, YEAR)).thenReturn(new LeaveBalance());
+
+        BusinessException e = assertThrows(BusinessException.class,
+                () -> leaveBalanceService.deductBalance(EMPLOYEE_ID, YEAR, DURATION, "LV1"));
+        assertEquals(3002, e.getCode());
+        verify(leaveUsageLogMapper, never()).insert(any(LeaveUsageLog.class));
+    }
+
+    @Test
+    void rejectedRollbackIsReportedAsOverRestore() {
+        when(leaveBalanceMapper.restoreAnnual(EMPLOYEE_ID, YEAR, DURATION)).thenReturn(0);
+        when(leaveBalanceMapper.selectByEmployeeIdAndYear(EMPLOYEE_ID, YEAR)).thenReturn(new LeaveBalance());
+
+        BusinessException e = assertThrows(BusinessException.class,
+                () -> leaveBalanceService.rollbackBalance(EMPLOYEE_ID, YEAR, DURATION, "LV1"));
+        assertEquals(3019, e.getCode());
+        verify(leaveUsageLogMapper, never()).insert(any(LeaveUsageLog.class));
+    }
+
+    @Test
+    void missingBalanceIsReported() {
+        when(leaveBalanceMapper.deductAnnual("E404", YEAR, new BigDecimal("99"))).thenReturn(0);
+        when(leaveBalanceMapper.selectByEmployeeIdAndYear("E404", YEAR)).thenReturn(null);
+
+        BusinessException e = assertThrows(BusinessException.class,
+                () -> leaveBalanceService.deductBalance("E404", YEAR, new BigDecimal("99"), "LV2"));
+        assertEquals(3007, e.getCode());
+        verify(leaveUsageLogMapper, never()).insert(any(LeaveUsageLog.class));
+    }
+}
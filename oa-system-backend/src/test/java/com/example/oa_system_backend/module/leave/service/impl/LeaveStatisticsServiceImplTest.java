@@ -0,0 +1,123 @@
+package com.example.oa_system_backend.module.leave.service.impl;
+
+import com.example.oa_system_backend.module.leave.dto.LeaveQueryRequest;
+import com.example.oa_system_backend.module.leave.entity.LeaveRequest;
+import com.example.oa_system_backend.module.leave.entity.LeaveStatsMonthly;
+import com.example.oa_system_backend.module.leave.enums.LeaveStatus;
+import com.example.oa_system_backend.module.leave.enums.LeaveType;
+import com.example.oa_system_backend.module.leave.mapper.LeaveStatsMonthlyMapper;
+import com.example.oa_system_backend.module.leave.util.LeaveStatisticsRollup;
+import com.example.oa_system_backend.module.leave.vo.LeaveStatisticsVO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 只覆盖差量的生成和汇总行到统计结果的折叠。
+ * applyDelta 的 ON DUPLICATE KEY UPDATE 累加和 selectRollup 的 GROUP BY 在 LeaveStatsMonthlyMapper.xml 中，
+ * 需要真实 MySQL 验证，不在本测试范围内
+ */
+@ExtendWith(MockitoExtension.class)
+class LeaveStatisticsServiceImplTest {
+
+    @Mock
+    private LeaveStatsMonthlyMapper leaveStatsMonthlyMapper;
+
+    @InjectMocks
+    private LeaveStatisticsServiceImpl leaveStatisticsService;
+
+    @Test
+    void rollupMovesOneRequestBetweenCells() {
+        LeaveStatisticsRollup rollup = new LeaveStatisticsRollup(leaveStatsMonthlyMapper);
+        LeaveRequest request = new LeaveRequest();
+        request.setApplicantId("E1");
+        request.setDepartmentId("D1");
+        request.setType(LeaveType.ANNUAL.getCode());
+        request.setStartTime(LocalDateTime.of(2026, 3, 10, 9, 0));
+        request.setDuration(new BigDecimal("1.5"));
+        request.setStatus(LeaveStatus.PENDING.getCode());
+
+        rollup.apply(null, LeaveStatisticsRollup.cellOf(request));
+        // 单元未变化时不写库
+        rollup.apply(LeaveStatisticsRollup.cellOf(request), LeaveStatisticsRollup.cellOf(request));
+        LeaveStatisticsRollup.Cell before = LeaveStatisticsRollup.cellOf(request);
+        request.setStatus(LeaveStatus.APPROVED.getCode());
+        rollup.apply(before, LeaveStatisticsRollup.cellOf(request));
+        rollup.apply(LeaveStatisticsRollup.cellOf(request), null);
+
+        ArgumentCaptor<LeaveStatsMonthly> deltas = ArgumentCaptor.forClass(LeaveStatsMonthly.class);
+        verify(leaveStatsMonthlyMapper, times(4)).applyDelta(deltas.capture());
+        List<LeaveStatsMonthly> values = deltas.getAllValues();
+        assertDelta(values.get(0), LeaveStatus.PENDING, 1, "1.5");
+        assertDelta(values.get(1), LeaveStatus.PENDING, -1, "-1.5");
+        assertDelta(values.get(2), LeaveStatus.APPROVED, 1, "1.5");
+        assertDelta(values.get(3), LeaveStatus.APPROVED, -1, "-1.5");
+        assertEquals("2026-03", values.get(0).getMonth());
+        assertEquals("D1", values.get(0).getDepartmentId());
+    }
+
+    @Test
+    void rollupRowsAreFoldedIntoStatistics() {
+        when(leaveStatsMonthlyMapper.selectRollup(null, "D1", "2026-03", "2026-08")).thenReturn(List.of(
+                row("2026-03", LeaveType.ANNUAL, LeaveStatus.APPROVED, 2, "3.0"),
+                row("2026-03", LeaveType.SICK, LeaveStatus.APPROVED, 1, "0.5"),
+                row("2026-05", LeaveType.ANNUAL, LeaveStatus.APPROVED, 1, "2.0"),
+                row("2026-05", LeaveType.ANNUAL, LeaveStatus.PENDING, 4, "6.0")));
+
+        LeaveStatisticsVO statistics = leaveStatisticsService.getDepartmentStatistics(
+                "D1", LocalDate.of(2026, 3, 10), LocalDate.of(2026, 8, 20));
+
+        assertEquals(8, statistics.getTotalRequests());
+        // 时长合计、按类型和按月份只统计已通过的申请
+        assertEquals(0, new BigDecimal("5.5").compareTo(statistics.getTotalDuration()));
+        assertEquals(Map.of(LeaveType.ANNUAL.getCode(), 3, LeaveType.SICK.getCode(), 1), statistics.getByType());
+        assertEquals(Map.of(LeaveStatus.APPROVED.getCode(), 4, LeaveStatus.PENDING.getCode(), 4), statistics.getByStatus());
+        assertEquals(2, statistics.getMonthlyData().size());
+        assertEquals("2026-03", statistics.getMonthlyData().get(0).getMonth());
+        assertEquals(3, statistics.getMonthlyData().get(0).getCount());
+        assertEquals(0, new BigDecimal("3.5").compareTo(statistics.getMonthlyData().get(0).getDuration()));
+    }
+
+    @Test
+    void queryWithoutDatesCoversTheWholeYear() {
+        LeaveQueryRequest query = new LeaveQueryRequest();
+        query.setYear(2025);
+        query.setApplicantId("E1");
+
+        LeaveStatisticsVO statistics = leaveStatisticsService.getStatistics(query);
+
+        verify(leaveStatsMonthlyMapper).selectRollup("E1", null, "2025-01", "2025-12");
+        assertEquals(0, statistics.getTotalRequests());
+        assertEquals(0, BigDecimal.ZERO.compareTo(statistics.getTotalDuration()));
+    }
+
+    private static void assertDelta(LeaveStatsMonthly delta, LeaveStatus status, int count, String duration) {
+        assertEquals(status.getCode(), delta.getStatus());
+        assertEquals(count, delta.getRequestCount());
+        assertEquals(0, new BigDecimal(duration).compareTo(delta.getTotalDuration()));
+    }
+
+    private static LeaveStatsMonthly row(String month, LeaveType type, LeaveStatus status, int count, String duration) {
+        LeaveStatsMonthly row = new LeaveStatsMonthly();
+        row.setMonth(month);
+        row.setType(type.getCode());
+        row.setStatus(status.getCode());
+        row.setRequestCount(count);
+        row.setTotalDuration(new BigDecimal(duration));
+        return row;
+    }
+}
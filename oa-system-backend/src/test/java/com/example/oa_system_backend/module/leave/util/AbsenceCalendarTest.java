@@ -0,0 +1,145 @@
+package com.example.oa_system_backend.module.leave.util;
+
+import com.example.oa_system_backend.module.leave.entity.LeaveRequest;
+import com.example.oa_system_backend.module.leave.mapper.LeaveRequestMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AbsenceCalendarTest {
+
+    /**
+     * 加载窗口为上一年至下一年，合成数据放在当年
+     */
+    private static final int YEAR = LocalDate.now().getYear();
+
+    @Mock
+    private LeaveRequestMapper leaveRequestMapper;
+
+    @InjectMocks
+    private AbsenceCalendar absenceCalendar;
+
+    /**
+     * E1：3月2日至4日全天已通过，3月6日下午待审批
+     */
+    private static final List<LeaveRequest> E1 = List.of(
+            absence("L1", "E1", time(0, "03-02T09:00"), time(0, "03-04T18:00"), "approved"),
+            absence("L2", "E1", time(0, "03-06T14:00"), time(0, "03-06T18:00"), "pending"));
+
+    /**
+     * E2：12月30日至次年1月2日上午已通过；E3：3月3日上午审批中
+     */
+    private void loadSnapshot() {
+        when(leaveRequestMapper.selectActiveAbsences(isNull(), any(), any())).thenReturn(List.of(
+                E1.get(0), E1.get(1),
+                absence("L3", "E2", time(0, "12-30T09:00"), time(1, "01-02T12:00"), "approved"),
+                absence("L4", "E3", time(0, "03-03T09:00"), time(0, "03-03T12:00"), "approving")));
+        absenceCalendar.reload();
+        verify(leaveRequestMapper).selectActiveAbsences(null,
+                LocalDate.of(YEAR - 1, 1, 1).atStartOfDay(), LocalDate.of(YEAR + 2, 1, 1).atStartOfDay());
+        clearInvocations(leaveRequestMapper);
+    }
+
+    @Test
+    void conflictsAreCheckedByHalfDayAgainstTheDatabase() {
+        // 未加载快照（如启动加载失败）也按数据库校验
+        when(leaveRequestMapper.selectActiveAbsences(eq("E1"), any(), any())).thenReturn(E1);
+
+        assertTrue(absenceCalendar.hasConflict("E1", time(0, "03-04T14:00"), time(0, "03-04T18:00"), null));
+        assertFalse(absenceCalendar.hasConflict("E1", time(0, "03-06T09:00"), time(0, "03-06T12:00"), null));
+        assertTrue(absenceCalendar.hasConflict("E1", time(0, "03-06T13:00"), time(0, "03-06T15:00"), null));
+        assertFalse(absenceCalendar.hasConflict("E1", time(0, "03-06T13:00"), time(0, "03-06T15:00"), "L2"));
+        assertFalse(absenceCalendar.hasConflict("E1", time(0, "03-05T09:00"), time(0, "03-06T00:00"), null));
+
+        // 只查询所涉日期
+        verify(leaveRequestMapper).selectActiveAbsences("E1",
+                time(0, "03-04T00:00"), time(0, "03-05T00:00"));
+    }
+
+    @Test
+    void approvedSlotsInsideTheWindowUseTheSnapshot() {
+        loadSnapshot();
+
+        BitSet week = absenceCalendar.getApprovedSlots("E1", LocalDate.of(YEAR, 3, 1), LocalDate.of(YEAR, 3, 7));
+        assertEquals(6, week.cardinality());
+        assertEquals(2, week.nextSetBit(0));
+        assertEquals(7, week.previousSetBit(13));
+
+        BitSet newYear = absenceCalendar.getApprovedSlots("E2", LocalDate.of(YEAR, 12, 31), LocalDate.of(YEAR + 1, 1, 5));
+        assertEquals(5, newYear.cardinality());
+        assertEquals(0, newYear.nextSetBit(0));
+        assertEquals(4, newYear.previousSetBit(11));
+
+        assertTrue(absenceCalendar.getApprovedSlots("E3", LocalDate.of(YEAR, 3, 1), LocalDate.of(YEAR, 3, 7)).isEmpty());
+        verifyNoInteractions(leaveRequestMapper);
+    }
+
+    @Test
+    void approvedSlotsOutsideTheWindowQueryTheDatabase() {
+        loadSnapshot();
+        when(leaveRequestMapper.selectActiveAbsences(eq("E1"), any(), any())).thenReturn(List.of(
+                absence("L0", "E1", time(-2, "12-31T09:00"), time(-2, "12-31T18:00"), "approved")));
+
+        BitSet slots = absenceCalendar.getApprovedSlots("E1", LocalDate.of(YEAR - 2, 12, 30), LocalDate.of(YEAR - 1, 1, 2));
+
+        assertEquals(2, slots.cardinality());
+        assertEquals(2, slots.nextSetBit(0));
+        verify(leaveRequestMapper).selectActiveAbsences("E1",
+                time(-2, "12-30T00:00"), time(-1, "01-03T00:00"));
+    }
+
+    @Test
+    void refreshReloadsOnlyThatEmployee() {
+        loadSnapshot();
+        when(leaveRequestMapper.selectActiveAbsences(eq("E1"), any(), any())).thenReturn(List.of(
+                absence("L2", "E1", time(0, "03-06T14:00"), time(0, "03-06T18:00"), "approved")));
+
+        absenceCalendar.refreshEmployeeAfterCommit("E1");
+
+        assertEquals(1, absenceCalendar.getApprovedSlots("E1", LocalDate.of(YEAR, 3, 1), LocalDate.of(YEAR, 3, 7))
+                .cardinality());
+        assertEquals(5, absenceCalendar.getApprovedSlots("E2", LocalDate.of(YEAR, 12, 31), LocalDate.of(YEAR + 1, 1, 5))
+                .cardinality());
+        verify(leaveRequestMapper).selectActiveAbsences("E1",
+                LocalDate.of(YEAR - 1, 1, 1).atStartOfDay(), LocalDate.of(YEAR + 2, 1, 1).atStartOfDay());
+        verifyNoMoreInteractions(leaveRequestMapper);
+    }
+
+    private static LeaveRequest absence(String id, String applicantId, LocalDateTime startTime, LocalDateTime endTime,
+                                        String status) {
+        LeaveRequest request = new LeaveRequest();
+        request.setId(id);
+        request.setApplicantId(applicantId);
+        request.setStartTime(startTime);
+        request.setEndTime(endTime);
+        request.setStatus(status);
+        return request;
+    }
+
+    /**
+     * 相对当年的时间，如 time(1, "01-02T12:00") 为次年1月2日中午
+     */
+    private static LocalDateTime time(int yearOffset, String value) {
+        return LocalDateTime.parse((YEAR + yearOffset) + "-" + value);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.oa_system_backend.module.meeting.service.impl;
+
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.example.oa_system_backend.module.department.entity.Department;
+import com.example.oa_system_backend.module.department.mapper.DepartmentMapper;
+import com.example.oa_system_backend.module.employee.entity.Employee;
+import com.example.oa_system_backend.module.employee.mapper.EmployeeMapper;
+import com.example.oa_system_backend.module.meeting.dto.BookingQueryRequest;
+import com.example.oa_system_backend.module.meeting.entity.MeetingBooking;
+import com.example.oa_system_backend.module.meeting.mapper.MeetingBookingMapper;
+import com.example.oa_system_backend.module.meeting.vo.AttendeeVO;
+import com.example.oa_system_backend.module.meeting.vo.BookingVO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MeetingBookingServiceImplTest {
+
+    private static final int ATTENDEES_PER_BOOKING = 15;
+
+    @Mock
+    private MeetingBookingMapper bookingMapper;
+
+    @Mock
+    private EmployeeMapper employeeMapper;
+
+    @Mock
+    private DepartmentMapper departmentMapper;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private MeetingBookingServiceImpl bookingService;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20, 100})
+    void getBookingListIssuesConstantQueriesPerPage(int pageSize) throws Exception {
+        List<MeetingBooking> bookings = new ArrayList<>();
+        List<Employee> employees = new ArrayList<>();
+        List<Department> departments = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            List<String> participantIds = new ArrayList<>();
+            for (int j = 0; j < ATTENDEES_PER_BOOKING; j++) {
+                String userId = "EMP" + i + "_" + j;
+                participantIds.add(userId);
+
+                Employee employee = new Employee();
+                employee.setId(userId);
+                employee.setName("员工" + userId);
+                employee.setDepartmentId("DEPT" + j);
+                employees.add(employee);
+            }
+            bookings.add(booking("MTG" + i, objectMapper.writeValueAsString(participantIds)));
+        }
+        for (int j = 0; j < ATTENDEES_PER_BOOKING; j++) {
+            Department department = new Department();
+            department.setId("DEPT" + j);
+            department.setName("部门" + j);
+            departments.add(department);
+        }
+
+        Page<MeetingBooking> page = new Page<>(1, pageSize, pageSize);
+        page.setRecords(bookings);
+        when(bookingMapper.selectPageByCondition(any(), any())).thenReturn(page);
+        when(employeeMapper.selectBatchIds(any())).thenReturn(employees);
+        when(departmentMapper.selectBatchIds(any())).thenReturn(departments);
+
+        BookingQueryRequest query = new BookingQueryRequest();
+        query.setPageSize(pageSize);
+        IPage<BookingVO> result = bookingService.getBookingList(query);
+
+        verify(employeeMapper, times(1)).selectBatchIds(any());
+        verify(employeeMapper, never()).selectById(any());
+        verify(departmentMapper, times(1)).selectBatchIds(any());
+        verify(departmentMapper, never()).selectById(any());
+
+        assertEquals(pageSize, result.getRecords().size());
+        for (BookingVO vo : result.getRecords()) {
+            assertEquals(ATTENDEES_PER_BOOKING, vo.getAttendees().size());
+            AttendeeVO last = vo.getAttendees().get(ATTENDEES_PER_BOOKING - 1);
+            assertEquals("员工" + last.getUserId(), last.getUserName());
+            assertEquals("部门" + (ATTENDEES_PER_BOOKING - 1), last.getDepartmentName());
+        }
+    }
+
+    private MeetingBooking booking(String id, String participantIds) {
+        MeetingBooking booking = new MeetingBooking();
+        booking.setId(id);
+        booking.setTitle("会议" + id);
+        booking.setStartTime(LocalDateTime.of(2026, 1, 5, 9, 0));
+        booking.setEndTime(LocalDateTime.of(2026, 1, 5, 10, 0));
+        booking.setParticipantIds(participantIds);
+        booking.setLevel("normal");
+        booking.setStatus("approved");
+        return booking;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.oa_system_backend.module.permission.util;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.example.oa_system_backend.module.permission.entity.Permission;
+import com.example.oa_system_backend.module.permission.entity.Role;
+import com.example.oa_system_backend.module.permission.entity.RolePermission;
+import com.example.oa_system_backend.module.permission.entity.UserRole;
+import com.example.oa_system_backend.module.permission.mapper.PermissionMapper;
+import com.example.oa_system_backend.module.permission.mapper.RoleMapper;
+import com.example.oa_system_backend.module.permission.mapper.RolePermissionMapper;
+import com.example.oa_system_backend.module.permission.mapper.UserRoleMapper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PermissionSnapshotCacheTest {
+
+    private static final int PERMISSIONS = 500;
+    private static final int ROLES = 20;
+    private static final int PERMISSIONS_PER_ROLE = PERMISSIONS / ROLES;
+    private static final int USERS = 10_000;
+
+    @Mock
+    private PermissionMapper permissionMapper;
+
+    @Mock
+    private RoleMapper roleMapper;
+
+    @Mock
+    private RolePermissionMapper rolePermissionMapper;
+
+    @Mock
+    private UserRoleMapper userRoleMapper;
+
+    @InjectMocks
+    private PermissionSnapshotCache permissionSnapshotCache;
+
+    @BeforeAll
+    static void initTableInfo() {
+        MapperBuilderAssistant assistant = new MapperBuilderAssistant(new MybatisConfiguration(), "");
+        TableInfoHelper.initTableInfo(assistant, Permission.class);
+        TableInfoHelper.initTableInfo(assistant, Role.class);
+        TableInfoHelper.initTableInfo(assistant, UserRole.class);
+    }
+
+    @Test
+    void permissionChecksUseSnapshotOnly() {
+        List<UserRole> userRoles = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            userRoles.add(userRole("U" + u, "R" + (u % ROLES)));
+            userRoles.add(userRole("U" + u, "R" + ((u + 7) % ROLES)));
+        }
+        stubMappers(userRoles);
+
+        permissionSnapshotCache.reload();
+        verify(permissionMapper, times(1)).selectList(any());
+        verify(roleMapper, times(1)).selectList(any());
+        verify(rolePermissionMapper, times(1)).selectList(any());
+        verify(userRoleMapper, times(1)).selectList(any());
+
+        for (int u = 0; u < USERS; u++) {
+            int first = u % ROLES;
+            int second = (u + 7) % ROLES;
+            for (int p = 0; p < PERMISSIONS; p++) {
+                int role = p / PERMISSIONS_PER_ROLE;
+                assertEquals(role == first || role == second,
+                        permissionSnapshotCache.hasPermission("U" + u, "perm:" + p));
+            }
+        }
+        assertFalse(permissionSnapshotCache.hasPermission("U0", "perm:unknown"));
+        assertFalse(permissionSnapshotCache.hasPermission("nobody", "perm:0"));
+        assertEquals(2 * PERMISSIONS_PER_ROLE, permissionSnapshotCache.getPermissionCodes("U0").size());
+        verifyNoMoreInteractions(permissionMapper, roleMapper, rolePermissionMapper, userRoleMapper);
+    }
+
+    @Test
+    void superAdminHasEveryPermission() {
+        stubMappers(List.of(userRole("ADMIN", "R_ADMIN"), userRole("U1", "R1")));
+
+        permissionSnapshotCache.reload();
+
+        for (int p = 0; p < PERMISSIONS; p++) {
+            assertTrue(permissionSnapshotCache.hasPermission("ADMIN", "perm:" + p));
+        }
+        assertEquals(List.of(PermissionSnapshotCache.SUPER_ADMIN_ROLE), permissionSnapshotCache.getRoleCodes("ADMIN"));
+    }
+
+    @Test
+    void userRoleChangeRefreshesOnlyThatUser() {
+        stubMappers(List.of(userRole("U1", "R1"), userRole("U2", "R2")));
+        permissionSnapshotCache.reload();
+        clearInvocations(permissionMapper, roleMapper, rolePermissionMapper, userRoleMapper);
+
+        when(userRoleMapper.selectList(any())).thenReturn(List.of(userRole("U1", "R3")));
+        permissionSnapshotCache.refreshUserAfterCommit("U1");
+
+        assertFalse(permissionSnapshotCache.hasPermission("U1", "perm:" + PERMISSIONS_PER_ROLE));
+        assertTrue(permissionSnapshotCache.hasPermission("U1", "perm:" + 3 * PERMISSIONS_PER_ROLE));
+        assertTrue(permissionSnapshotCache.hasPermission("U2", "perm:" + 2 * PERMISSIONS_PER_ROLE));
+        verify(userRoleMapper, times(1)).selectList(any());
+        verifyNoInteractions(permissionMapper, roleMapper, rolePermissionMapper);
+    }
+
+    private void stubMappers(List<UserRole> userRoles) {
+        List<Permission> permissions = new ArrayList<>();
+        for (int p = 0; p < PERMISSIONS; p++) {
+            Permission permission = new Permission();
+            permission.setId("P" + p);
+            permission.setCode("perm:" + p);
+            permissions.add(permission);
+        }
+        List<Role> roles = new ArrayList<>();
+        List<RolePermission> rolePermissions = new ArrayList<>();
+        for (int r = 0; r < ROLES; r++) {
+            roles.add(role("R" + r, "role_" + r));
+            for (int p = r * PERMISSIONS_PER_ROLE; p < (r + 1) * PERMISSIONS_PER_ROLE; p++) {
+                RolePermission rolePermission = new RolePermission();
+                rolePermission.setRoleId("R" + r);
+                rolePermission.setPermissionId("P" + p);
+                rolePermissions.add(rolePermission);
+            }
+        }
+        roles.add(role("R_ADMIN", PermissionSnapshotCache.SUPER_ADMIN_ROLE));
+
+        when(permissionMapper.selectList(any())).thenReturn(permissions);
+        when(roleMapper.selectList(any())).thenReturn(roles);
+        when(rolePermissionMapper.selectList(any())).thenReturn(rolePermissions);
+        when(userRoleMapper.selectList(any())).thenReturn(userRoles);
+    }
+
+    private static Role role(String id, String code) {
+        Role role = new Role();
+        role.setId(id);
+        role.setCode(code);
+        return role;
+    }
+
+    private static UserRole userRole(String userId, String roleId) {
+        UserRole userRole = new UserRole();
+        userRole.setUserId(userId);
+        userRole.setRoleId(roleId);
+        return userRole;
+    }
+}